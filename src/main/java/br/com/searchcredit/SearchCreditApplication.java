@@ -2,9 +2,11 @@ package br.com.searchcredit;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-@SpringBootApplication
+// R2DBC é usado apenas pela consulta reativa (SearchCreditLookupApplication)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableJpaRepositories(basePackages = "br.com.searchcredit.infrastructure.repository.jpa")
 public class SearchCreditApplication {
 
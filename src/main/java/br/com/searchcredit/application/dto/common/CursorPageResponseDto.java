@@ -0,0 +1,22 @@
+package br.com.searchcredit.application.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Fatia de resultados da paginação por cursor (sem total de elementos).
+ *
+ * O valor de {@code nextCursor} deve ser repassado como parâmetro {@code cursor}
+ * para obter a fatia seguinte; é nulo quando não há mais resultados.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageResponseDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
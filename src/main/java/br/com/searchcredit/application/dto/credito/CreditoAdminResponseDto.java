@@ -1,5 +1,6 @@
 package br.com.searchcredit.application.dto.credito;
 
+import br.com.searchcredit.domain.enums.StatusComprovante;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import lombok.Builder;
 import lombok.Data;
@@ -30,4 +31,7 @@ public class CreditoAdminResponseDto {
     private String aprovadoPor;
     private String comentarioAnalise;
     private LocalDateTime dataAnalise;
+
+    private String comprovanteUrl;
+    private StatusComprovante comprovanteStatus;
 }
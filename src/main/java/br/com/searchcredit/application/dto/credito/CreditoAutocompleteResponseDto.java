@@ -0,0 +1,20 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Sugestões de números para o prefixo informado, em ordem crescente.
+ *
+ * {@code parcial} indica que a busca excedeu o tempo limite e as sugestões
+ * foram omitidas; o cliente pode simplesmente aguardar a próxima tecla.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoAutocompleteResponseDto {
+
+    private List<String> sugestoes;
+    private boolean parcial;
+}
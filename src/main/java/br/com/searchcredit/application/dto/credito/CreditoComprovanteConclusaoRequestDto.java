@@ -0,0 +1,12 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.Data;
+
+/**
+ * DTO de conclusão do envio direto: o {@code objectName} recebido junto com a URL de upload.
+ */
+@Data
+public class CreditoComprovanteConclusaoRequestDto {
+
+    private String objectName;
+}
@@ -0,0 +1,14 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.Data;
+
+/**
+ * DTO de requisição de URL para envio direto do comprovante ao MinIO.
+ *
+ * Apenas a extensão de {@code nomeArquivo} é usada (.pdf, .png ou .jpg).
+ */
+@Data
+public class CreditoComprovanteUploadRequestDto {
+
+    private String nomeArquivo;
+}
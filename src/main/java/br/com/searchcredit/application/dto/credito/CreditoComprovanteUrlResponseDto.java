@@ -0,0 +1,26 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Envio ({@code POST} de formulário) ou download ({@code GET}) do comprovante direto no
+ * MinIO, válido até {@code expiraEm}.
+ *
+ * No envio, o cliente faz um POST multipart em {@code url} com todos os {@code campos}
+ * e o arquivo por último, no campo {@code file}; depois informa {@code objectName} na
+ * conclusão do upload. No download, {@code campos} é nulo.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoComprovanteUrlResponseDto {
+
+    private String objectName;
+    private String metodo;
+    private String url;
+    private Map<String, String> campos;
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,30 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Distribuição de uma coluna numérica por mês de constituição ("yyyy-MM"). Créditos
+ * sem data de constituição aparecem com mês {@code NAO_INFORMADO} no início da lista.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoDistribuicaoMensalResponseDto {
+
+    private String coluna;
+    private List<Mes> meses;
+
+    @Data
+    @AllArgsConstructor
+    public static class Mes {
+        private String mes;
+        private long quantidade;
+        private BigDecimal soma;
+        private BigDecimal minimo;
+        private BigDecimal maximo;
+        private BigDecimal media;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estatísticas agregadas de créditos: total geral, totais por status, por tipo de
+ * crédito e por mês de constituição, além dos grupos combinados (status, tipo, mês).
+ *
+ * Nos mapas, créditos sem tipo ou sem data de constituição aparecem sob a chave
+ * {@link #NAO_INFORMADO}; nos grupos, o campo correspondente vem nulo.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoEstatisticaResponseDto {
+
+    public static final String NAO_INFORMADO = "NAO_INFORMADO";
+
+    private Resumo total;
+    private Map<String, Resumo> porStatus;
+    private Map<String, Resumo> porTipoCredito;
+    private Map<String, Resumo> porMes;
+    private List<Grupo> grupos;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Resumo {
+        private long quantidade;
+        private BigDecimal somaValorIssqn = BigDecimal.ZERO;
+        private BigDecimal somaValorFaturado = BigDecimal.ZERO;
+        private BigDecimal somaBaseCalculo = BigDecimal.ZERO;
+
+        public void somar(Resumo outro) {
+            quantidade += outro.quantidade;
+            somaValorIssqn = somaValorIssqn.add(outro.somaValorIssqn);
+            somaValorFaturado = somaValorFaturado.add(outro.somaValorFaturado);
+            somaBaseCalculo = somaBaseCalculo.add(outro.somaBaseCalculo);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Grupo {
+        private String status;
+        private String tipoCredito;
+        private LocalDate mes;
+        private Resumo resumo;
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.searchcredit.application.dto.credito;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Filtros opcionais da exportação de créditos.
+ *
+ * O intervalo de datas é inclusivo e aplicado sobre dataConstituicao.
+ * Campos nulos não filtram.
+ */
+public record CreditoExportFilter(StatusCredito status, LocalDate dataInicio, LocalDate dataFim) {
+
+    public CreditoExportFilter {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException(
+                    String.format("dataInicio (%s) não pode ser posterior a dataFim (%s)", dataInicio, dataFim));
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException se o status não existir ou o intervalo for inválido
+     */
+    public static CreditoExportFilter of(String status, LocalDate dataInicio, LocalDate dataFim) {
+        return new CreditoExportFilter(parseStatus(status), dataInicio, dataFim);
+    }
+
+    private static StatusCredito parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return StatusCredito.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    String.format("Status inválido: '%s'. Valores aceitos: %s",
+                            status, Arrays.toString(StatusCredito.values())));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.searchcredit.application.dto.credito;
+
+import java.util.Arrays;
+
+/**
+ * Formatos suportados pela exportação de créditos.
+ */
+public enum CreditoExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    CreditoExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+    public static CreditoExportFormat fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("Formato de exportação não suportado: '%s'. Formatos aceitos: %s",
+                                value, Arrays.stream(values()).map(CreditoExportFormat::getExtension).toList())));
+    }
+}
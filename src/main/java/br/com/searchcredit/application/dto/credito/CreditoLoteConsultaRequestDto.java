@@ -0,0 +1,14 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO de requisição para consulta em lote por número de crédito.
+ */
+@Data
+public class CreditoLoteConsultaRequestDto {
+
+    private List<String> numerosCredito;
+}
@@ -0,0 +1,18 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado da consulta em lote: créditos encontrados e números sem crédito
+ * correspondente, ambos na ordem em que foram informados (sem repetições).
+ */
+@Data
+@AllArgsConstructor
+public class CreditoLoteConsultaResponseDto {
+
+    private List<CreditoQueryResponseDto> encontrados;
+    private List<String> naoEncontrados;
+}
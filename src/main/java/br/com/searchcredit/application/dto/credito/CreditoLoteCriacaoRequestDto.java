@@ -0,0 +1,14 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO de requisição para criação de créditos em lote (sem comprovante).
+ */
+@Data
+public class CreditoLoteCriacaoRequestDto {
+
+    private List<CreditoCreateRequestDto> creditos;
+}
@@ -0,0 +1,38 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado da criação em lote. Cada item é identificado pela sua posição (base 0)
+ * na lista enviada; itens com erro não impedem a criação dos demais.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoLoteCriacaoResponseDto {
+
+    private int recebidos;
+    private List<Criado> criados;
+    private List<Erro> erros;
+
+    @Data
+    @AllArgsConstructor
+    public static class Criado {
+
+        private int indice;
+        private Long id;
+        private String numeroCredito;
+        private String numeroNfse;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Erro {
+
+        private int indice;
+        private String numeroCredito;
+        private String mensagem;
+    }
+}
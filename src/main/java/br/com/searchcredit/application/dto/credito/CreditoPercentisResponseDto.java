@@ -0,0 +1,20 @@
+package br.com.searchcredit.application.dto.credito;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Percentis (nearest-rank) de uma coluna numérica, indexados por "p50", "p90" etc.
+ * {@code quantidade} é o número de créditos com valor presente considerados.
+ */
+@Data
+@AllArgsConstructor
+public class CreditoPercentisResponseDto {
+
+    private String coluna;
+    private long quantidade;
+    private Map<String, BigDecimal> percentis;
+}
@@ -0,0 +1,40 @@
+package br.com.searchcredit.application.dto.credito;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filtros da busca de créditos, recebidos como parâmetros de query.
+ * Todos são opcionais; intervalos são inclusivos.
+ */
+@Data
+public class CreditoSearchRequestDto {
+
+    private StatusCredito status;
+
+    private String tipoCredito;
+
+    private Boolean simplesNacional;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataConstituicaoInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataConstituicaoFim;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataSolicitacaoInicio;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dataSolicitacaoFim;
+
+    private BigDecimal valorIssqnMin;
+
+    private BigDecimal valorIssqnMax;
+
+    private String solicitadoPor;
+}
@@ -0,0 +1,89 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoDistribuicaoMensalResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoPercentisResponseDto;
+import br.com.searchcredit.domain.enums.CreditoColunaNumerica;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.analytics.FiltroColunar;
+import br.com.searchcredit.infrastructure.analytics.ResumoMensal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas analíticas ad hoc (percentis, distribuição mensal) atendidas pelo
+ * {@link CreditoColumnarSnapshot}, sem acesso ao banco.
+ */
+@Service
+@RequiredArgsConstructor
+public class CreditoAnalyticsService {
+
+    static final int MAX_PERCENTIS = 20;
+
+    private final CreditoColumnarSnapshot snapshot;
+
+    public CreditoPercentisResponseDto percentis(String coluna, List<Double> percentis,
+                                                 String status, String tipoCredito, Boolean simplesNacional) {
+        CreditoColunaNumerica campo = CreditoColunaNumerica.fromAttribute(coluna);
+        List<Double> pedidos = percentis == null || percentis.isEmpty() ? List.of(50.0, 90.0, 99.0) : percentis;
+        if (pedidos.size() > MAX_PERCENTIS) {
+            throw new IllegalArgumentException("Máximo de " + MAX_PERCENTIS + " percentis por consulta");
+        }
+        for (Double p : pedidos) {
+            if (p == null || !(p > 0 && p <= 100)) {
+                throw new IllegalArgumentException("Percentil deve estar no intervalo (0, 100]: " + p);
+            }
+        }
+
+        long[] valores = snapshot.valoresOrdenados(campo, filtro(status, tipoCredito, simplesNacional));
+
+        Map<String, BigDecimal> resultado = new LinkedHashMap<>();
+        for (Double p : pedidos) {
+            BigDecimal valor = null;
+            if (valores.length > 0) {
+                int posicao = (int) Math.ceil(p / 100.0 * valores.length) - 1;
+                valor = BigDecimal.valueOf(valores[Math.max(posicao, 0)], 2);
+            }
+            resultado.put("p" + BigDecimal.valueOf(p).stripTrailingZeros().toPlainString(), valor);
+        }
+        return new CreditoPercentisResponseDto(campo.getAttribute(), valores.length, resultado);
+    }
+
+    public CreditoDistribuicaoMensalResponseDto distribuicaoMensal(String coluna, String status,
+                                                                   String tipoCredito, Boolean simplesNacional) {
+        CreditoColunaNumerica campo = CreditoColunaNumerica.fromAttribute(coluna);
+        List<CreditoDistribuicaoMensalResponseDto.Mes> meses = snapshot
+                .distribuicaoMensal(campo, filtro(status, tipoCredito, simplesNacional))
+                .stream()
+                .map(CreditoAnalyticsService::toMes)
+                .toList();
+        return new CreditoDistribuicaoMensalResponseDto(campo.getAttribute(), meses);
+    }
+
+    private static FiltroColunar filtro(String status, String tipoCredito, Boolean simplesNacional) {
+        StatusCredito statusCredito = status != null && !status.isBlank() ? StatusCredito.valueOf(status.trim().toUpperCase()) : null;
+        String tipo = tipoCredito != null && !tipoCredito.isBlank() ? tipoCredito : null;
+        return new FiltroColunar(statusCredito, tipo, simplesNacional);
+    }
+
+    private static CreditoDistribuicaoMensalResponseDto.Mes toMes(ResumoMensal resumo) {
+        String mes = resumo.mes() < 0
+                ? CreditoEstatisticaResponseDto.NAO_INFORMADO
+                : String.format("%04d-%02d", resumo.mes() / 12, resumo.mes() % 12 + 1);
+        BigDecimal soma = BigDecimal.valueOf(resumo.soma(), 2);
+        return new CreditoDistribuicaoMensalResponseDto.Mes(
+                mes,
+                resumo.quantidade(),
+                soma,
+                BigDecimal.valueOf(resumo.minimo(), 2),
+                BigDecimal.valueOf(resumo.maximo(), 2),
+                soma.divide(BigDecimal.valueOf(resumo.quantidade()), 2, RoundingMode.HALF_UP));
+    }
+}
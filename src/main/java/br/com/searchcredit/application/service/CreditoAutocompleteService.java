@@ -0,0 +1,73 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoAutocompleteResponseDto;
+import br.com.searchcredit.domain.enums.CreditoPrefixField;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Autocomplete de números de crédito e de NFS-e por prefixo.
+ *
+ * Pensado para ser chamado a cada tecla: o número de sugestões é limitado a
+ * {@code max-limit} e cada consulta tem um orçamento de tempo ({@code timeout-ms});
+ * se excedido, a resposta volta vazia e marcada como parcial em vez de segurar a
+ * requisição. Latência publicada no timer {@code credito.autocomplete}.
+ */
+@Slf4j
+@Service
+public class CreditoAutocompleteService {
+
+    static final int MAX_PREFIX_LENGTH = 50;
+
+    private final CreditoRepository creditoRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxLimit;
+    private final long timeoutMillis;
+
+    public CreditoAutocompleteService(
+            CreditoRepository creditoRepository,
+            MeterRegistry meterRegistry,
+            @Value("${credito.autocomplete.max-limit:50}") int maxLimit,
+            @Value("${credito.autocomplete.timeout-ms:100}") long timeoutMillis) {
+        this.creditoRepository = creditoRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxLimit = maxLimit;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o campo, o prefixo ou o limite forem inválidos
+     */
+    public CreditoAutocompleteResponseDto sugerir(String campo, String prefixo, int limite) {
+        CreditoPrefixField field = CreditoPrefixField.fromAttribute(campo);
+        String prefix = prefixo != null ? prefixo.trim() : "";
+        if (prefix.isEmpty() || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format("Prefixo deve ter entre 1 e %d caracteres", MAX_PREFIX_LENGTH));
+        }
+        if (limite < 1 || limite > maxLimit) {
+            throw new IllegalArgumentException(String.format("Limite deve estar entre 1 e %d", maxLimit));
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultado = "ok";
+        try {
+            List<String> sugestoes = creditoRepository.findNumerosByPrefix(field, prefix, limite, timeoutMillis);
+            return new CreditoAutocompleteResponseDto(sugestoes, false);
+        } catch (QueryTimeoutException e) {
+            resultado = "timeout";
+            log.debug("Autocomplete excedeu {} ms. campo={}, prefixo={}", timeoutMillis, campo, prefix);
+            return new CreditoAutocompleteResponseDto(List.of(), true);
+        } finally {
+            sample.stop(meterRegistry.timer("credito.autocomplete",
+                    "campo", field.getAttribute(), "resultado", resultado));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoComprovanteUrlResponseDto;
+import br.com.searchcredit.application.exception.CreditoNotFoundException;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.StatusComprovante;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService.FormularioUpload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Envio e download de comprovantes direto entre o cliente e o MinIO, por URLs assinadas
+ * de curta duração, sem que o arquivo passe pela API.
+ *
+ * Fluxo de envio: {@link #gerarUrlUpload} devolve um formulário de {@code POST} assinado
+ * para um objeto sob o prefixo de pendentes do crédito, com o tamanho limitado a 2 MB
+ * pela própria política; o cliente envia o arquivo e chama {@link #concluirUpload}, que
+ * confere o objeto no bucket (magic bytes, lendo só os primeiros bytes), o copia para o
+ * nome definitivo e o associa ao crédito. Pendentes nunca concluídos expiram pela regra
+ * de ciclo de vida do bucket, e o comprovante direto substituído é removido. Um
+ * comprovante da criação que falhou (FALHOU) e ainda está em disco é descartado.
+ *
+ * A validade das URLs vem de {@code credito.comprovante.presigned.expiry-seconds}.
+ */
+@Slf4j
+@Service
+public class CreditoComprovanteService {
+
+    private final CreditoRepository repository;
+    private final MinioStorageService minioStorageService;
+    private final ComprovanteUploadService comprovanteUploadService;
+    private final CreditoQueryCache creditoQueryCache;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration validade;
+
+    public CreditoComprovanteService(
+            CreditoRepository repository,
+            MinioStorageService minioStorageService,
+            ComprovanteUploadService comprovanteUploadService,
+            CreditoQueryCache creditoQueryCache,
+            ReadYourWritesGuard readYourWritesGuard,
+            TransactionTemplate transactionTemplate,
+            @Value("${credito.comprovante.presigned.expiry-seconds:300}") long expirySeconds) {
+        if (expirySeconds <= 0 || expirySeconds > Duration.ofDays(7).toSeconds()) {
+            throw new IllegalArgumentException(
+                    "credito.comprovante.presigned.expiry-seconds deve estar entre 1 e 604800 (7 dias)");
+        }
+        this.repository = repository;
+        this.minioStorageService = minioStorageService;
+        this.comprovanteUploadService = comprovanteUploadService;
+        this.creditoQueryCache = creditoQueryCache;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.transactionTemplate = transactionTemplate;
+        this.validade = Duration.ofSeconds(expirySeconds);
+    }
+
+    /**
+     * Emite a URL de envio direto para o comprovante do crédito.
+     *
+     * @param nomeArquivo nome original do arquivo; define a extensão do objeto
+     */
+    public CreditoComprovanteUrlResponseDto gerarUrlUpload(Long id, String nomeArquivo) {
+        Credito credito = buscar(id);
+        if (credito.getComprovanteStatus() == StatusComprovante.PENDENTE) {
+            throw new IllegalStateException("O comprovante do crédito ainda está sendo enviado");
+        }
+
+        String objectName = minioStorageService.gerarNomeObjetoPendente(id, nomeArquivo);
+        LocalDateTime expiraEm = LocalDateTime.now().plus(validade);
+        FormularioUpload formulario = minioStorageService.gerarFormularioUpload(objectName, validade);
+        log.debug("Formulário de envio direto emitido. creditoId={}, objeto={}", id, objectName);
+        return new CreditoComprovanteUrlResponseDto(objectName, "POST", formulario.url(), formulario.campos(), expiraEm);
+    }
+
+    /**
+     * Confere o objeto enviado pelo cliente e o associa ao crédito (comprovante ENVIADO).
+     * Repetir a conclusão com o mesmo objeto não tem efeito.
+     */
+    public CreditoAdminResponseDto concluirUpload(Long id, String objectName) {
+        if (objectName == null || !objectName.startsWith(MinioStorageService.prefixoPendente(id))
+                || objectName.contains("..")) {
+            throw new IllegalArgumentException("objectName não foi emitido para este crédito");
+        }
+
+        Credito atual = buscar(id);
+        if (atual.getComprovanteStatus() == StatusComprovante.PENDENTE) {
+            throw new IllegalStateException("O comprovante do crédito ainda está sendo enviado");
+        }
+        String definitivo = MinioStorageService.nomeObjetoConcluido(objectName);
+        if (minioStorageService.objetoDaUrl(atual.getComprovanteUrl()).filter(definitivo::equals).isPresent()) {
+            return CreditoService.toAdminDto(atual);
+        }
+
+        // Acesso ao MinIO fora da transação; só a associação ao crédito é transacional
+        String url = minioStorageService.concluirObjetoEnviado(objectName);
+        AtomicReference<String> substituido = new AtomicReference<>();
+        AtomicReference<StatusComprovante> statusAnterior = new AtomicReference<>();
+        Credito salvo = transactionTemplate.execute(status -> {
+            Credito credito = buscar(id);
+            if (credito.getComprovanteStatus() == StatusComprovante.PENDENTE) {
+                throw new IllegalStateException("O comprovante do crédito ainda está sendo enviado");
+            }
+            statusAnterior.set(credito.getComprovanteStatus());
+            substituido.set(minioStorageService.objetoDaUrl(credito.getComprovanteUrl()).orElse(null));
+            credito.setComprovanteUrl(url);
+            credito.setComprovanteStatus(StatusComprovante.ENVIADO);
+            Credito atualizado = repository.save(credito);
+            creditoQueryCache.invalidate(atualizado);
+            readYourWritesGuard.registrarEscrita();
+            return atualizado;
+        });
+        log.info("Comprovante enviado direto ao MinIO associado ao crédito {}: {}", id, definitivo);
+        if (statusAnterior.get() == StatusComprovante.FALHOU) {
+            comprovanteUploadService.cancelar(id);
+        }
+        if (!definitivo.equals(substituido.get())) {
+            minioStorageService.removerComprovanteSubstituido(substituido.get());
+        }
+        return CreditoService.toAdminDto(salvo);
+    }
+
+    /**
+     * Emite a URL de download direto do comprovante do crédito.
+     */
+    public CreditoComprovanteUrlResponseDto gerarUrlDownload(Long id) {
+        Credito credito = buscar(id);
+        String objectName = minioStorageService.objetoDaUrl(credito.getComprovanteUrl())
+                .orElseThrow(() -> new CreditoNotFoundException("Comprovante não encontrado"));
+
+        LocalDateTime expiraEm = LocalDateTime.now().plus(validade);
+        String url = minioStorageService.gerarUrlDownload(objectName, validade);
+        return new CreditoComprovanteUrlResponseDto(objectName, "GET", url, null, expiraEm);
+    }
+
+    private Credito buscar(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new CreditoNotFoundException("Crédito não encontrado"));
+    }
+}
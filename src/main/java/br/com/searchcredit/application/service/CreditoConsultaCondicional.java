@@ -0,0 +1,14 @@
+package br.com.searchcredit.application.service;
+
+/**
+ * Resultado de uma consulta condicional (If-None-Match).
+ *
+ * {@code corpo} é nulo quando o cliente já possui a versão atual ({@link #naoModificado()});
+ * {@code versao} é nula quando não há créditos (lista vazia de NFS-e), caso em que não há ETag.
+ */
+public record CreditoConsultaCondicional<T>(T corpo, CreditoVersao versao) {
+
+    public boolean naoModificado() {
+        return corpo == null;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.domain.enums.CreditoSortField;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Token opaco da paginação por cursor da listagem de créditos.
+ *
+ * Codifica a ordenação usada e a última posição lida (valor da chave de ordenação e id)
+ * em Base64 URL-safe. O token só é aceito com a mesma ordenação que o gerou.
+ */
+record CreditoCursor(CreditoSortField sortField, Sort.Direction direction, String lastValue, long lastId) {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "N";
+    private static final String PRESENT_VALUE = "V";
+
+    String encode() {
+        String raw = String.join(SEPARATOR,
+                VERSION,
+                sortField.name(),
+                direction.name(),
+                Long.toString(lastId),
+                lastValue == null ? NULL_VALUE : PRESENT_VALUE + lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Comparable<?> parsedLastValue() {
+        return lastValue == null ? null : sortField.parseValue(lastValue);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token for inválido ou gerado com outra ordenação
+     */
+    static CreditoCursor decode(String token, CreditoSortField expectedField, Sort.Direction expectedDirection) {
+        CreditoCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("versão ou formato desconhecido");
+            }
+
+            String lastValue = NULL_VALUE.equals(parts[4]) ? null : parts[4].substring(PRESENT_VALUE.length());
+            cursor = new CreditoCursor(
+                    CreditoSortField.valueOf(parts[1]),
+                    Sort.Direction.valueOf(parts[2]),
+                    lastValue,
+                    Long.parseLong(parts[3]));
+            cursor.parsedLastValue();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+
+        if (cursor.sortField() != expectedField || cursor.direction() != expectedDirection) {
+            throw new IllegalArgumentException("Cursor não corresponde à ordenação informada");
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,180 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto.Grupo;
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto.Resumo;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.entity.CreditoEstatistica;
+import br.com.searchcredit.domain.entity.CreditoEstatisticaId;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.infrastructure.repository.jpa.CreditoEstatisticaJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantém e consulta as estatísticas pré-agregadas de créditos (tabela credito_estatistica).
+ *
+ * Os fluxos de escrita chamam {@link #registrarCriacao} e {@link #registrarMudancaStatus}
+ * dentro da mesma transação que persiste o crédito, aplicando um delta por grupo
+ * afetado. A consulta custa O(grupos), independente do número de créditos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CreditoEstatisticaService {
+
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final CreditoEstatisticaJpaRepository estatisticaRepository;
+
+    @Transactional
+    public void registrarCriacao(Credito credito) {
+        aplicarDelta(CreditoEstatisticaId.of(credito), credito, 1);
+    }
+
+    /**
+     * Versão em lote de {@link #registrarCriacao}: soma os créditos por grupo e aplica
+     * um único delta por grupo afetado.
+     */
+    @Transactional
+    public void registrarCriacoes(Collection<Credito> creditos) {
+        Map<CreditoEstatisticaId, Delta> porGrupo = new HashMap<>();
+        for (Credito credito : creditos) {
+            porGrupo.computeIfAbsent(CreditoEstatisticaId.of(credito), id -> new Delta()).somar(credito);
+        }
+        porGrupo.forEach((id, delta) -> estatisticaRepository.aplicarDelta(
+                id.getStatus(),
+                id.getTipoCredito(),
+                id.getMes(),
+                delta.quantidade,
+                delta.valorIssqn,
+                delta.valorFaturado,
+                delta.baseCalculo));
+    }
+
+    /**
+     * Move o crédito do grupo do status anterior para o grupo do status atual.
+     * Não faz nada se o status não mudou.
+     */
+    @Transactional
+    public void registrarMudancaStatus(Credito credito, StatusCredito statusAnterior) {
+        if (credito.getStatus() == statusAnterior) {
+            return;
+        }
+        CreditoEstatisticaId atual = CreditoEstatisticaId.of(credito);
+        CreditoEstatisticaId anterior = new CreditoEstatisticaId(
+                statusAnterior != null ? statusAnterior.name() : CreditoEstatisticaId.NAO_INFORMADO,
+                atual.getTipoCredito(),
+                atual.getMes());
+        aplicarDelta(anterior, credito, -1);
+        aplicarDelta(atual, credito, 1);
+    }
+
+    /**
+     * Descarta e reconstrói todos os grupos a partir da tabela credito. Custa O(linhas);
+     * serve para a carga inicial e para corrigir eventuais divergências.
+     */
+    @Transactional
+    public int recalcular() {
+        estatisticaRepository.apagarTudo();
+        int grupos = estatisticaRepository.reconstruir();
+        log.info("Estatísticas de crédito recalculadas: {} grupos", grupos);
+        return grupos;
+    }
+
+    @Transactional(readOnly = true)
+    public CreditoEstatisticaResponseDto consultar() {
+        List<CreditoEstatistica> linhas = estatisticaRepository.findByQuantidadeGreaterThan(0);
+
+        Resumo total = new Resumo();
+        Map<String, Resumo> porStatus = new TreeMap<>();
+        Map<String, Resumo> porTipoCredito = new TreeMap<>();
+        Map<String, Resumo> porMes = new TreeMap<>();
+        List<Grupo> grupos = new ArrayList<>(linhas.size());
+
+        for (CreditoEstatistica linha : linhas) {
+            CreditoEstatisticaId id = linha.getId();
+            Resumo resumo = new Resumo(
+                    linha.getQuantidade(),
+                    linha.getSomaValorIssqn(),
+                    linha.getSomaValorFaturado(),
+                    linha.getSomaBaseCalculo());
+
+            total.somar(resumo);
+            porStatus.computeIfAbsent(chave(id.getStatus()), k -> new Resumo()).somar(resumo);
+            porTipoCredito.computeIfAbsent(chave(id.getTipoCredito()), k -> new Resumo()).somar(resumo);
+            porMes.computeIfAbsent(chave(id.getMes()), k -> new Resumo()).somar(resumo);
+            grupos.add(new Grupo(valor(id.getStatus()), valor(id.getTipoCredito()), valor(id.getMes()), resumo));
+        }
+
+        grupos.sort(Comparator.comparing(Grupo::getStatus, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Grupo::getTipoCredito, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Grupo::getMes, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder())));
+
+        return new CreditoEstatisticaResponseDto(total, porStatus, porTipoCredito, porMes, grupos);
+    }
+
+    private void aplicarDelta(CreditoEstatisticaId id, Credito credito, int sinal) {
+        estatisticaRepository.aplicarDelta(
+                id.getStatus(),
+                id.getTipoCredito(),
+                id.getMes(),
+                sinal,
+                comSinal(credito.getValorIssqn(), sinal),
+                comSinal(credito.getValorFaturado(), sinal),
+                comSinal(credito.getBaseCalculo(), sinal));
+    }
+
+    private static final class Delta {
+
+        private long quantidade;
+        private BigDecimal valorIssqn = BigDecimal.ZERO;
+        private BigDecimal valorFaturado = BigDecimal.ZERO;
+        private BigDecimal baseCalculo = BigDecimal.ZERO;
+
+        private void somar(Credito credito) {
+            quantidade++;
+            valorIssqn = valorIssqn.add(comSinal(credito.getValorIssqn(), 1));
+            valorFaturado = valorFaturado.add(comSinal(credito.getValorFaturado(), 1));
+            baseCalculo = baseCalculo.add(comSinal(credito.getBaseCalculo(), 1));
+        }
+    }
+
+    private static BigDecimal comSinal(BigDecimal valor, int sinal) {
+        if (valor == null) {
+            return BigDecimal.ZERO;
+        }
+        return sinal < 0 ? valor.negate() : valor;
+    }
+
+    private static String chave(String valor) {
+        return CreditoEstatisticaId.NAO_INFORMADO.equals(valor) ? CreditoEstatisticaResponseDto.NAO_INFORMADO : valor;
+    }
+
+    private static String chave(LocalDate mes) {
+        return CreditoEstatisticaId.MES_NAO_INFORMADO.equals(mes)
+                ? CreditoEstatisticaResponseDto.NAO_INFORMADO
+                : mes.format(FORMATO_MES);
+    }
+
+    private static String valor(String valor) {
+        return CreditoEstatisticaId.NAO_INFORMADO.equals(valor) ? null : valor;
+    }
+
+    private static LocalDate valor(LocalDate mes) {
+        return CreditoEstatisticaId.MES_NAO_INFORMADO.equals(mes) ? null : mes;
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoExportFilter;
+import br.com.searchcredit.application.dto.credito.CreditoExportFormat;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Exportação completa de créditos em NDJSON ou CSV.
+ *
+ * As linhas são lidas do banco por cursor (fetch size configurável) e escritas
+ * uma a uma no OutputStream, de modo que o consumo de memória não depende do
+ * tamanho da tabela. Substitui a montagem de listas com todos os créditos para
+ * jobs de conciliação.
+ */
+@Slf4j
+@Service
+public class CreditoExportService {
+
+    static final String CSV_HEADER = "id,numeroCredito,numeroNfse,dataConstituicao,valorIssqn,tipoCredito,"
+            + "simplesNacional,aliquota,valorFaturado,valorDeducao,baseCalculo,status,dataSolicitacao,"
+            + "solicitadoPor,aprovadoPor,comentarioAnalise,dataAnalise";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CreditoRepository creditoRepository;
+    private final ObjectWriter jsonWriter;
+    private final int fetchSize;
+
+    public CreditoExportService(
+            CreditoRepository creditoRepository,
+            ObjectMapper objectMapper,
+            @Value("${credito.export.fetch-size:1000}") int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("credito.export.fetch-size deve ser maior que zero");
+        }
+        this.creditoRepository = creditoRepository;
+        this.jsonWriter = objectMapper.writerFor(CreditoAdminResponseDto.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escreve no OutputStream todos os créditos que atendem ao filtro, ordenados por id.
+     * O stream não é fechado.
+     */
+    public void exportar(CreditoExportFormat formato, CreditoExportFilter filtro, OutputStream out) throws IOException {
+        long inicio = System.currentTimeMillis();
+        AtomicLong linhas = new AtomicLong();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        Consumer<CreditoExportView> linhaWriter = formato == CreditoExportFormat.CSV
+                ? credito -> escreverCsv(writer, credito)
+                : credito -> escreverNdjson(writer, credito);
+
+        try {
+            if (formato == CreditoExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            creditoRepository.streamForExport(filtro.status(), filtro.dataInicio(), filtro.dataFim(), fetchSize,
+                    credito -> {
+                        linhaWriter.accept(credito);
+                        linhas.incrementAndGet();
+                    });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            log.warn("Exportação de créditos interrompida após {} linhas: {}", linhas.get(), e.getMessage());
+            throw e.getCause();
+        }
+
+        log.info("Exportação de créditos concluída. formato={}, filtro={}, linhas={}, tempoMs={}",
+                formato, filtro, linhas.get(), System.currentTimeMillis() - inicio);
+    }
+
+    private void escreverNdjson(Writer writer, CreditoExportView credito) {
+        try {
+            writer.write(jsonWriter.writeValueAsString(toAdminDto(credito)));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverCsv(Writer writer, CreditoExportView credito) {
+        try {
+            Object[] valores = {
+                    credito.id(),
+                    credito.numeroCredito(),
+                    credito.numeroNfse(),
+                    credito.dataConstituicao(),
+                    credito.valorIssqn(),
+                    credito.tipoCredito(),
+                    credito.isSimplesNacional() ? "Sim" : "Não",
+                    credito.aliquota(),
+                    credito.valorFaturado(),
+                    credito.valorDeducao(),
+                    credito.baseCalculo(),
+                    credito.status(),
+                    credito.dataSolicitacao(),
+                    credito.solicitadoPor(),
+                    credito.aprovadoPor(),
+                    credito.comentarioAnalise(),
+                    credito.dataAnalise()
+            };
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(valores[i]));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Formata um valor como campo CSV (RFC 4180): nulos viram campo vazio e campos com
+     * vírgula, aspas ou quebra de linha são envolvidos por aspas.
+     */
+    static String csvValue(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor instanceof BigDecimal decimal ? decimal.toPlainString() : valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+    private CreditoAdminResponseDto toAdminDto(CreditoExportView credito) {
+        return CreditoAdminResponseDto.builder()
+                .id(credito.id())
+                .numeroCredito(credito.numeroCredito())
+                .numeroNfse(credito.numeroNfse())
+                .dataConstituicao(credito.dataConstituicao())
+                .valorIssqn(credito.valorIssqn())
+                .tipoCredito(credito.tipoCredito())
+                .simplesNacional(credito.isSimplesNacional() ? "Sim" : "Não")
+                .aliquota(credito.aliquota())
+                .valorFaturado(credito.valorFaturado())
+                .valorDeducao(credito.valorDeducao())
+                .baseCalculo(credito.baseCalculo())
+                .status(credito.status())
+                .dataSolicitacao(credito.dataSolicitacao())
+                .solicitadoPor(credito.solicitadoPor())
+                .aprovadoPor(credito.aprovadoPor())
+                .comentarioAnalise(credito.comentarioAnalise())
+                .dataAnalise(credito.dataAnalise())
+                .build();
+    }
+}
@@ -0,0 +1,232 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoCreateRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoResponseDto.Criado;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoResponseDto.Erro;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
+import br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Criação de créditos em lote, para cargas de bases municipais.
+ *
+ * Em relação a {@link CreditoService#create}: os números que faltam são reservados
+ * numa única consulta por sequence, os créditos são gravados em blocos de
+ * {@code credito.bulk.chunk-size} (uma transação e um JDBC batch por bloco, com ids
+ * da sequence pooled), as estatísticas recebem um delta por grupo e os eventos de
+ * solicitação vão para o outbox no mesmo bloco, num único JDBC batch.
+ *
+ * Erros são reportados por item: números repetidos no lote ou já cadastrados são
+ * recusados antes da gravação; se um bloco falhar no banco, os itens dele são
+ * regravados um a um para isolar os que falham.
+ */
+@Slf4j
+@Service
+public class CreditoLoteService {
+
+    static final int MAX_LOTE_CRIACAO_SIZE = 50_000;
+
+    private final CreditoRepository repository;
+    private final CreditoNumeroGeneratorService creditoNumeroGeneratorService;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final CreditoQueryCache creditoQueryCache;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CreditoLoteService(
+            CreditoRepository repository,
+            CreditoNumeroGeneratorService creditoNumeroGeneratorService,
+            OutboxEventPublisher outboxEventPublisher,
+            CreditoQueryCache creditoQueryCache,
+            CreditoEstatisticaService estatisticaService,
+            CreditoColumnarSnapshot analyticsSnapshot,
+            ReadYourWritesGuard readYourWritesGuard,
+            TransactionTemplate transactionTemplate,
+            @Value("${credito.bulk.chunk-size:500}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("credito.bulk.chunk-size deve ser maior que zero");
+        }
+        this.repository = repository;
+        this.creditoNumeroGeneratorService = creditoNumeroGeneratorService;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.creditoQueryCache = creditoQueryCache;
+        this.estatisticaService = estatisticaService;
+        this.analyticsSnapshot = analyticsSnapshot;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a lista estiver vazia ou exceder {@link #MAX_LOTE_CRIACAO_SIZE}
+     */
+    public CreditoLoteCriacaoResponseDto criar(List<CreditoCreateRequestDto> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um crédito");
+        }
+        if (itens.size() > MAX_LOTE_CRIACAO_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Quantidade de créditos deve ser no máximo %d", MAX_LOTE_CRIACAO_SIZE));
+        }
+
+        List<Erro> erros = new ArrayList<>();
+        List<Pendente> pendentes = validar(itens, erros);
+        atribuirNumeros(pendentes);
+
+        List<Criado> criados = new ArrayList<>(pendentes.size());
+        for (int inicio = 0; inicio < pendentes.size(); inicio += chunkSize) {
+            List<Pendente> bloco = pendentes.subList(inicio, Math.min(inicio + chunkSize, pendentes.size()));
+            gravarBloco(bloco, criados, erros);
+        }
+
+        if (!criados.isEmpty()) {
+            readYourWritesGuard.registrarEscrita();
+        }
+
+        erros.sort(Comparator.comparingInt(Erro::getIndice));
+        log.info("Criação em lote concluída. recebidos={}, criados={}, erros={}",
+                itens.size(), criados.size(), erros.size());
+        return new CreditoLoteCriacaoResponseDto(itens.size(), criados, erros);
+    }
+
+    /**
+     * Recusa itens nulos e números de crédito repetidos no lote ou já cadastrados.
+     */
+    private List<Pendente> validar(List<CreditoCreateRequestDto> itens, List<Erro> erros) {
+        List<Pendente> pendentes = new ArrayList<>(itens.size());
+        Set<String> informados = new HashSet<>();
+        for (int indice = 0; indice < itens.size(); indice++) {
+            CreditoCreateRequestDto item = itens.get(indice);
+            if (item == null) {
+                erros.add(new Erro(indice, null, "Crédito não informado"));
+                continue;
+            }
+            String numeroCredito = normalizar(item.getNumeroCredito());
+            if (numeroCredito != null && !informados.add(numeroCredito)) {
+                erros.add(new Erro(indice, numeroCredito, "numeroCredito repetido no lote"));
+                continue;
+            }
+            pendentes.add(new Pendente(indice, item, numeroCredito));
+        }
+
+        if (!informados.isEmpty()) {
+            Set<String> existentes = repository.findNumerosCreditoExistentes(informados);
+            for (Iterator<Pendente> it = pendentes.iterator(); it.hasNext(); ) {
+                Pendente pendente = it.next();
+                if (pendente.numeroCredito != null && existentes.contains(pendente.numeroCredito)) {
+                    erros.add(new Erro(pendente.indice, pendente.numeroCredito, "numeroCredito já cadastrado"));
+                    it.remove();
+                }
+            }
+        }
+        return pendentes;
+    }
+
+    /**
+     * Preenche os números ausentes com valores reservados em lote nas sequences.
+     */
+    private void atribuirNumeros(List<Pendente> pendentes) {
+        int semNumeroCredito = 0;
+        int semNumeroNfse = 0;
+        for (Pendente pendente : pendentes) {
+            if (pendente.numeroCredito == null) {
+                semNumeroCredito++;
+            }
+            if (normalizar(pendente.request.getNumeroNfse()) == null) {
+                semNumeroNfse++;
+            }
+        }
+        Iterator<String> numerosCredito = creditoNumeroGeneratorService.nextNumerosCredito(semNumeroCredito).iterator();
+        Iterator<String> numerosNfse = creditoNumeroGeneratorService.nextNumerosNfse(semNumeroNfse).iterator();
+
+        for (Pendente pendente : pendentes) {
+            String numeroCredito = pendente.numeroCredito != null ? pendente.numeroCredito : numerosCredito.next();
+            String numeroNfse = normalizar(pendente.request.getNumeroNfse());
+            pendente.credito = CreditoService.novoCredito(pendente.request, numeroCredito,
+                    numeroNfse != null ? numeroNfse : numerosNfse.next());
+        }
+    }
+
+    private void gravarBloco(List<Pendente> bloco, List<Criado> criados, List<Erro> erros) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistir(bloco.stream().map(p -> p.credito).toList()));
+            bloco.forEach(pendente -> registrarCriado(pendente, criados));
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar bloco da criação em lote; regravando {} itens individualmente. erro={}",
+                    bloco.size(), mensagem(e));
+            for (Pendente pendente : bloco) {
+                pendente.credito.setId(null);
+                pendente.credito.setVersao(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistir(List.of(pendente.credito)));
+                    registrarCriado(pendente, criados);
+                } catch (RuntimeException erroItem) {
+                    erros.add(new Erro(pendente.indice, pendente.credito.getNumeroCredito(), mensagem(erroItem)));
+                }
+            }
+        }
+    }
+
+    private void persistir(List<Credito> creditos) {
+        List<Credito> salvos = repository.saveAll(creditos);
+        estatisticaService.registrarCriacoes(salvos);
+        List<SolicitacaoCreditoEvent> eventos = new ArrayList<>(salvos.size());
+        for (Credito salvo : salvos) {
+            creditoQueryCache.invalidate(salvo);
+            analyticsSnapshot.registrar(salvo);
+            eventos.add(new SolicitacaoCreditoEvent(
+                    salvo.getNumeroCredito(),
+                    salvo.getNumeroNfse(),
+                    salvo.getSolicitadoPor()));
+        }
+        outboxEventPublisher.publishSolicitacaoCreditoBatch(eventos);
+    }
+
+    private static void registrarCriado(Pendente pendente, List<Criado> criados) {
+        Credito credito = pendente.credito;
+        criados.add(new Criado(pendente.indice, credito.getId(), credito.getNumeroCredito(), credito.getNumeroNfse()));
+    }
+
+    private static String normalizar(String numero) {
+        return numero == null || numero.isBlank() ? null : numero.trim();
+    }
+
+    private static String mensagem(RuntimeException e) {
+        Throwable causa = NestedExceptionUtils.getMostSpecificCause(e);
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+
+    private static final class Pendente {
+
+        private final int indice;
+        private final CreditoCreateRequestDto request;
+        private final String numeroCredito;
+        private Credito credito;
+
+        private Pendente(int indice, CreditoCreateRequestDto request, String numeroCredito) {
+            this.indice = indice;
+            this.request = request;
+            this.numeroCredito = numeroCredito;
+        }
+    }
+}
@@ -1,24 +1,176 @@
 package br.com.searchcredit.application.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gerador único dos números de crédito e de NFS-e (endpoints next-numero-*, criação
+ * simples, criação em lote e os formatos legados CRED/NFSE).
+ *
+ * Cada nó reserva blocos das sequences {@code credito_numero_credito_seq} e
+ * {@code credito_numero_nfse_seq} (hi/lo): a sequence incrementa pelo tamanho do bloco
+ * ({@code credito.numero.block-size}, aplicado pelo Liquibase) e um nextval devolve o
+ * fim do bloco {@code (v - incremento, v]}. Os números do bloco saem de um
+ * {@link AtomicLong} sem lock e sem ida ao banco; só a troca de bloco é serializada.
+ *
+ * Política de lacunas: os números são únicos e crescentes dentro de um nó, mas não são
+ * contíguos nem ordenados entre nós. O restante do bloco em uso é descartado quando a
+ * aplicação para, e números reservados para créditos que falham ao gravar não são
+ * reaproveitados. A numeração nunca deve ser usada para contar créditos.
+ */
+@Slf4j
 @Service
 public class CreditoNumeroGeneratorService {
 
+    static final String SEQUENCE_NUMERO_CREDITO = "credito_numero_credito_seq";
+    static final String SEQUENCE_NUMERO_NFSE = "credito_numero_nfse_seq";
+
     private final JdbcTemplate jdbcTemplate;
+    private final BlocoNumerico numerosCredito;
+    private final BlocoNumerico numerosNfse;
 
     public CreditoNumeroGeneratorService(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
+        this.numerosCredito = new BlocoNumerico(SEQUENCE_NUMERO_CREDITO);
+        this.numerosNfse = new BlocoNumerico(SEQUENCE_NUMERO_NFSE);
     }
 
     public String nextNumeroCredito() {
-        Long value = jdbcTemplate.queryForObject("select nextval('credito_numero_credito_seq')", Long.class);
-        return value != null ? value.toString() : null;
+        return String.valueOf(numerosCredito.proximo());
     }
 
     public String nextNumeroNfse() {
-        Long value = jdbcTemplate.queryForObject("select nextval('credito_numero_nfse_seq')", Long.class);
-        return value != null ? value.toString() : null;
+        return String.valueOf(numerosNfse.proximo());
+    }
+
+    /**
+     * Número de crédito no formato legado ({@code CRED000001}).
+     */
+    public String nextNumeroCreditoLegado() {
+        return String.format("CRED%06d", numerosCredito.proximo());
+    }
+
+    /**
+     * Número de NFS-e no formato legado ({@code NFSE1000001}).
+     */
+    public String nextNumeroNfseLegado() {
+        return String.format("NFSE%07d", numerosNfse.proximo());
+    }
+
+    /**
+     * Reserva {@code quantidade} números de crédito em blocos próprios, com uma consulta por chamada.
+     */
+    public List<String> nextNumerosCredito(int quantidade) {
+        return numerosCredito.reservar(quantidade);
+    }
+
+    /**
+     * Reserva {@code quantidade} números de NFS-e em blocos próprios, com uma consulta por chamada.
+     */
+    public List<String> nextNumerosNfse(int quantidade) {
+        return numerosNfse.reservar(quantidade);
+    }
+
+    /**
+     * Reserva {@code blocos} blocos da sequence numa única consulta. O incremento é lido
+     * na mesma consulta, para que uma troca de {@code credito.numero.block-size} nunca
+     * produza faixas sobrepostas.
+     */
+    private List<Faixa> reservarBlocos(String sequence, int blocos) {
+        return jdbcTemplate.query(
+                "select nextval('" + sequence + "'), "
+                        + "(select increment_by from pg_sequences where sequencename = '" + sequence + "') "
+                        + "from generate_series(1, ?)",
+                (rs, rowNum) -> {
+                    long fim = rs.getLong(1);
+                    return new Faixa(fim - rs.getLong(2) + 1, fim);
+                },
+                blocos);
+    }
+
+    private record Faixa(long inicio, long fim) {
+
+        long tamanho() {
+            return fim - inicio + 1;
+        }
+    }
+
+    /**
+     * Bloco em uso de uma sequence. {@link #proximo()} só entra no lock quando o bloco
+     * se esgota; threads que chegam durante a troca esperam pelo bloco novo. A troca faz
+     * uma consulta JDBC, por isso o lock é um {@link ReentrantLock} e não
+     * {@code synchronized}: uma virtual thread bloqueada no banco libera a carrier thread.
+     */
+    private final class BlocoNumerico {
+
+        private final String sequence;
+        private final ReentrantLock troca = new ReentrantLock();
+        private volatile Bloco atual = new Bloco(0, -1);
+        private volatile long incremento;
+
+        private BlocoNumerico(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long proximo() {
+            while (true) {
+                Bloco bloco = atual;
+                long numero = bloco.cursor.getAndIncrement();
+                if (numero <= bloco.fim) {
+                    return numero;
+                }
+                troca.lock();
+                try {
+                    if (atual == bloco) {
+                        Faixa faixa = reservarBlocos(sequence, 1).get(0);
+                        atual = new Bloco(faixa.inicio(), faixa.fim());
+                        incremento = faixa.tamanho();
+                        log.debug("Bloco de números reservado. sequence={}, inicio={}, fim={}",
+                                sequence, faixa.inicio(), faixa.fim());
+                    }
+                } finally {
+                    troca.unlock();
+                }
+            }
+        }
+
+        /**
+         * Atende reservas em lote com blocos próprios, sem consumir o bloco em uso; o que
+         * sobra do último bloco reservado vira lacuna.
+         */
+        List<String> reservar(int quantidade) {
+            if (quantidade <= 0) {
+                return List.of();
+            }
+            List<String> numeros = new ArrayList<>(quantidade);
+            while (numeros.size() < quantidade) {
+                long restantes = quantidade - numeros.size();
+                int blocos = incremento > 0 ? (int) ((restantes + incremento - 1) / incremento) : 1;
+                for (Faixa faixa : reservarBlocos(sequence, blocos)) {
+                    incremento = faixa.tamanho();
+                    for (long numero = faixa.inicio(); numero <= faixa.fim() && numeros.size() < quantidade; numero++) {
+                        numeros.add(String.valueOf(numero));
+                    }
+                }
+            }
+            return numeros;
+        }
+    }
+
+    private static final class Bloco {
+
+        private final AtomicLong cursor;
+        private final long fim;
+
+        private Bloco(long inicio, long fim) {
+            this.cursor = new AtomicLong(inicio);
+            this.fim = fim;
+        }
     }
 }
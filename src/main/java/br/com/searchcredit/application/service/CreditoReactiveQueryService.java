@@ -0,0 +1,39 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoAggregator;
+import br.com.searchcredit.infrastructure.repository.r2dbc.CreditoReactiveQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão não bloqueante das consultas públicas de {@link CreditoService}, usada por
+ * {@code SearchCreditLookupApplication}. Devolve os mesmos DTOs e registra as
+ * consultas na mesma agregação de eventos.
+ *
+ * Não usa o cache local: as invalidações acontecem no processo que grava (a API
+ * servlet), então um cache aqui serviria dados antigos até o TTL.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class CreditoReactiveQueryService {
+
+    private final CreditoReactiveQueryRepository repository;
+    private final ConsultaCreditoAggregator consultaAggregator;
+
+    public Mono<CreditoQueryResponseDto> findByNumeroCredito(String numeroCredito) {
+        return repository.findQueryViewByNumeroCredito(numeroCredito)
+                .map(CreditoService::toQueryDto)
+                .doOnSubscribe(subscription -> consultaAggregator.record("numeroCredito", numeroCredito));
+    }
+
+    public Flux<CreditoQueryResponseDto> findAllByNumeroNfse(String numeroNfse) {
+        return repository.findQueryViewsByNumeroNfse(numeroNfse)
+                .map(CreditoService::toQueryDto)
+                .doOnSubscribe(subscription -> consultaAggregator.record("numeroNfse", numeroNfse));
+    }
+}
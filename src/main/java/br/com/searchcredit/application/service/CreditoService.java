@@ -1,31 +1,53 @@
 package br.com.searchcredit.application.service;
 
+import br.com.searchcredit.application.dto.common.CursorPageResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoAnaliseRequestDto;
 import br.com.searchcredit.application.dto.credito.CreditoCreateRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteConsultaResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoSearchRequestDto;
 import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoSortField;
+import br.com.searchcredit.domain.enums.StatusComprovante;
 import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
 import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.domain.repository.CreditoSearchCriteria;
 import br.com.searchcredit.application.exception.CreditoAnaliseBadRequestException;
 import br.com.searchcredit.application.exception.CreditoNotFoundException;
-import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
-import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoAggregator;
 import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
-import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService.ComprovantePreparado;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -33,54 +55,214 @@ import org.springframework.web.multipart.MultipartFile;
 @Service
 public class CreditoService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    static final int MAX_LOTE_CONSULTA_SIZE = 1000;
+    static final int MAX_SEARCH_PAGE_SIZE = 200;
+
     private final CreditoRepository repository;
-    private final KafkaEventPublisher kafkaEventPublisher;
-    private final MinioStorageService minioStorageService;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final ComprovanteUploadService comprovanteUploadService;
     private final CreditoNumeroGeneratorService creditoNumeroGeneratorService;
+    private final CreditoQueryCache creditoQueryCache;
+    private final ConsultaCreditoAggregator consultaAggregator;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final ObjectMapper objectMapper;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final TransactionTemplate transactionTemplate;
 
     public CreditoService(
             CreditoRepository repository,
-            KafkaEventPublisher kafkaEventPublisher,
-            MinioStorageService minioStorageService,
-            CreditoNumeroGeneratorService creditoNumeroGeneratorService) {
+            OutboxEventPublisher outboxEventPublisher,
+            ComprovanteUploadService comprovanteUploadService,
+            CreditoNumeroGeneratorService creditoNumeroGeneratorService,
+            CreditoQueryCache creditoQueryCache,
+            ConsultaCreditoAggregator consultaAggregator,
+            CreditoEstatisticaService estatisticaService,
+            CreditoColumnarSnapshot analyticsSnapshot,
+            ObjectMapper objectMapper,
+            ReadYourWritesGuard readYourWritesGuard,
+            TransactionTemplate transactionTemplate) {
         this.repository = repository;
-        this.kafkaEventPublisher = kafkaEventPublisher;
-        this.minioStorageService = minioStorageService;
+        this.outboxEventPublisher = outboxEventPublisher;
+        this.comprovanteUploadService = comprovanteUploadService;
         this.creditoNumeroGeneratorService = creditoNumeroGeneratorService;
+        this.creditoQueryCache = creditoQueryCache;
+        this.consultaAggregator = consultaAggregator;
+        this.estatisticaService = estatisticaService;
+        this.analyticsSnapshot = analyticsSnapshot;
+        this.objectMapper = objectMapper;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    public Optional<CreditoQueryResponseDto> findByNumeroCredito(String numeroCredito){
-        Optional<CreditoQueryResponseDto> result = repository.findByNumeroCredito(numeroCredito)
-                .map(this::toQueryDto);
-        try {
-            kafkaEventPublisher.publishConsultaCredito(new ConsultaCreditoEvent("numeroCredito", numeroCredito));
-        } catch (Exception e) {
-            log.warn("Falha ao publicar evento Kafka para consulta por número de crédito: {}", numeroCredito, e);
+    /**
+     * Consulta por número de crédito já serializada em JSON (UTF-8), com suporte a
+     * If-None-Match. Quando o ETag informado ainda corresponde, a resposta sai só de
+     * id/versão/status; caso contrário os bytes vêm do cache, sem montar DTO nem serializar.
+     */
+    public Optional<CreditoConsultaCondicional<byte[]>> findJsonByNumeroCredito(
+            String numeroCredito, String ifNoneMatch) {
+        consultaAggregator.record("numeroCredito", numeroCredito);
+        if (ifNoneMatch != null) {
+            Optional<CreditoVersao> atual = repository.findVersionViewByNumeroCredito(numeroCredito)
+                    .map(versao -> CreditoVersao.of(List.of(versao)));
+            if (atual.isPresent() && atual.get().corresponde(ifNoneMatch)) {
+                return Optional.of(new CreditoConsultaCondicional<>(null, atual.get()));
+            }
+        }
+        return creditoQueryCache.getJsonByNumeroCredito(numeroCredito,
+                numero -> repository.findQueryViewByNumeroCredito(numero)
+                        .map(credito -> serializar(toQueryDto(credito), List.of(credito))));
+    }
+
+    /**
+     * Consulta em lote por número de crédito.
+     *
+     * Números repetidos ou em branco são descartados. Os que não estão no cache são
+     * resolvidos com consultas IN (em blocos). Cada número é contabilizado na
+     * agregação de consultas, sem gerar um evento por número.
+     *
+     * @throws IllegalArgumentException se a lista estiver vazia ou exceder {@link #MAX_LOTE_CONSULTA_SIZE}
+     */
+    public CreditoLoteConsultaResponseDto findAllByNumeroCredito(List<String> numerosCredito) {
+        Set<String> numeros = new LinkedHashSet<>();
+        if (numerosCredito != null) {
+            numerosCredito.stream()
+                    .filter(numero -> numero != null && !numero.isBlank())
+                    .map(String::trim)
+                    .forEach(numeros::add);
+        }
+        if (numeros.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um número de crédito");
         }
-        return result;
+        if (numeros.size() > MAX_LOTE_CONSULTA_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Quantidade de números de crédito deve ser no máximo %d", MAX_LOTE_CONSULTA_SIZE));
+        }
+
+        Map<String, CreditoQueryResponseDto> porNumero = creditoQueryCache.getAllByNumeroCredito(numeros,
+                faltantes -> repository.findQueryViewsByNumeroCreditoIn(List.copyOf(faltantes))
+                        .stream()
+                        .map(CreditoService::toQueryDto)
+                        .collect(Collectors.toMap(CreditoQueryResponseDto::getNumeroCredito,
+                                Function.identity(), (primeiro, repetido) -> primeiro)));
+
+        List<CreditoQueryResponseDto> encontrados = numeros.stream()
+                .map(porNumero::get)
+                .filter(dto -> dto != null)
+                .collect(Collectors.toList());
+        List<String> naoEncontrados = numeros.stream()
+                .filter(numero -> !porNumero.containsKey(numero))
+                .collect(Collectors.toList());
+
+        consultaAggregator.recordAll("numeroCredito", numeros);
+        return new CreditoLoteConsultaResponseDto(encontrados, naoEncontrados);
     }
 
+    /**
+     * @throws IllegalArgumentException se sortBy não for um campo ordenável ({@link CreditoSortField})
+     */
     public Page<CreditoResponseDto> listAll(int page, int size, String sortBy, String sortDir) {
-        Sort sort = "desc".equalsIgnoreCase(sortDir)
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        CreditoSortField sortField = CreditoSortField.fromAttribute(sortBy);
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        // Desempate por id, na mesma ordem do índice (campo, id)
+        Sort sort = Sort.by(direction, sortField.getAttribute(), "id");
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        return repository.findAll(pageable)
+        return repository.findListViews(pageable)
                 .map(this::toListDto);
     }
 
-    public List<CreditoQueryResponseDto> findAllByNumeroNfse(String numeroNfse){
-        List<CreditoQueryResponseDto> result = repository.findAllByNumeroNfse(numeroNfse)
-                .stream()
-                .map(this::toQueryDto)
+    /**
+     * Busca paginada por múltiplos critérios. Filtros em branco são ignorados.
+     *
+     * @throws IllegalArgumentException se algum intervalo, o tamanho da página ou a ordenação forem inválidos
+     */
+    public Page<CreditoResponseDto> search(CreditoSearchRequestDto filtro, int page, int size, String sortBy, String sortDir) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Página deve ser >= 0 e tamanho entre 1 e %d", MAX_SEARCH_PAGE_SIZE));
+        }
+        CreditoSortField sortField = CreditoSortField.fromAttribute(sortBy);
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        CreditoSearchCriteria criteria = new CreditoSearchCriteria(
+                filtro.getStatus(),
+                blankToNull(filtro.getTipoCredito()),
+                filtro.getSimplesNacional(),
+                filtro.getDataConstituicaoInicio(),
+                filtro.getDataConstituicaoFim(),
+                filtro.getDataSolicitacaoInicio(),
+                filtro.getDataSolicitacaoFim(),
+                filtro.getValorIssqnMin(),
+                filtro.getValorIssqnMax(),
+                blankToNull(filtro.getSolicitadoPor()));
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField.getAttribute(), "id"));
+        return repository.search(criteria, pageable)
+                .map(this::toListDto);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Listagem paginada por cursor (keyset), sem contagem total.
+     *
+     * @param cursor token retornado em {@code nextCursor} da fatia anterior, ou nulo para a primeira fatia
+     * @throws IllegalArgumentException se o cursor, o tamanho ou o campo de ordenação forem inválidos
+     */
+    public CursorPageResponseDto<CreditoResponseDto> listAllByCursor(String cursor, int size, String sortBy, String sortDir) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("Tamanho de página deve estar entre 1 e %d", MAX_CURSOR_PAGE_SIZE));
+        }
+
+        CreditoSortField sortField = CreditoSortField.fromAttribute(sortBy);
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Slice<CreditoListView> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = repository.findSliceAfter(sortField, direction, null, null, size);
+        } else {
+            CreditoCursor after = CreditoCursor.decode(cursor, sortField, direction);
+            slice = repository.findSliceAfter(sortField, direction, after.parsedLastValue(), after.lastId(), size);
+        }
+
+        String nextCursor = null;
+        if (slice.hasNext() && slice.hasContent()) {
+            CreditoListView last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            Comparable<?> lastValue = sortField.extractValue(last);
+            nextCursor = new CreditoCursor(sortField, direction,
+                    lastValue != null ? lastValue.toString() : null, last.id()).encode();
+        }
+
+        List<CreditoResponseDto> content = slice.getContent().stream()
+                .map(this::toListDto)
                 .collect(Collectors.toList());
-        try {
-            kafkaEventPublisher.publishConsultaCredito(new ConsultaCreditoEvent("numeroNfse", numeroNfse));
-        } catch (Exception e) {
-            log.warn("Falha ao publicar evento Kafka para consulta por número NFS-e: {}", numeroNfse, e);
+        return new CursorPageResponseDto<>(content, size, slice.hasNext(), nextCursor);
+    }
+
+    /**
+     * Consulta por NFS-e já serializada em JSON (UTF-8), com suporte a If-None-Match;
+     * o ETag cobre todos os créditos da nota. Lista vazia não tem versão (sem ETag).
+     */
+    public CreditoConsultaCondicional<byte[]> findJsonByNumeroNfse(String numeroNfse, String ifNoneMatch) {
+        consultaAggregator.record("numeroNfse", numeroNfse);
+        if (ifNoneMatch != null) {
+            List<CreditoVersionView> atuais = repository.findVersionViewsByNumeroNfse(numeroNfse);
+            CreditoVersao atual = CreditoVersao.of(atuais);
+            if (!atuais.isEmpty() && atual.corresponde(ifNoneMatch)) {
+                return new CreditoConsultaCondicional<>(null, atual);
+            }
         }
-        return result;
+        return creditoQueryCache.getJsonByNumeroNfse(numeroNfse, numero -> {
+            List<CreditoQueryView> creditos = repository.findQueryViewsByNumeroNfse(numero);
+            return serializar(creditos.stream().map(CreditoService::toQueryDto).toList(), creditos);
+        });
     }
 
     public CreditoAdminResponseDto create(CreditoCreateRequestDto requestDto) {
@@ -88,8 +270,6 @@ public class CreditoService {
     }
 
     public CreditoAdminResponseDto create(CreditoCreateRequestDto requestDto, MultipartFile comprovante) {
-        Credito credito = new Credito();
-
         String numeroCredito = requestDto.getNumeroCredito();
         if (numeroCredito == null || numeroCredito.isBlank()) {
             numeroCredito = creditoNumeroGeneratorService.nextNumeroCredito();
@@ -100,42 +280,51 @@ public class CreditoService {
             numeroNfse = creditoNumeroGeneratorService.nextNumeroNfse();
         }
 
-        credito.setNumeroCredito(numeroCredito);
-        credito.setNumeroNfse(numeroNfse);
-        credito.setDataConstituicao(requestDto.getDataConstituicao());
-        credito.setValorIssqn(requestDto.getValorIssqn());
-        credito.setTipoCredito(requestDto.getTipoCredito());
-        credito.setSimplesNacional(requestDto.getSimplesNacional());
-        credito.setAliquota(requestDto.getAliquota());
-        credito.setValorFaturado(requestDto.getValorFaturado());
-        credito.setValorDeducao(requestDto.getValorDeducao());
-        credito.setBaseCalculo(requestDto.getBaseCalculo());
-
-        credito.setStatus(StatusCredito.EM_ANALISE);
-        credito.setDataSolicitacao(LocalDateTime.now());
-        credito.setSolicitadoPor(requestDto.getSolicitadoPor());
+        Credito credito = novoCredito(requestDto, numeroCredito, numeroNfse);
 
+        // O comprovante só é gravado em disco aqui; o envio ao MinIO acontece após o commit,
+        // a menos que um comprovante idêntico já esteja no bucket
+        ComprovantePreparado preparado = null;
         if (comprovante != null && !comprovante.isEmpty()) {
-            String comprovanteUrl = minioStorageService.uploadComprovante(comprovante);
-            credito.setComprovanteUrl(comprovanteUrl);
+            preparado = comprovanteUploadService.preparar(comprovante);
+            credito.setComprovanteUrl(preparado.url());
+            credito.setComprovanteStatus(preparado.enviado() ? StatusComprovante.ENVIADO : StatusComprovante.PENDENTE);
         }
 
-        Credito saved = repository.save(credito);
-
+        // O crédito e o evento de solicitação são gravados juntos
+        ComprovantePreparado comprovantePreparado = preparado;
+        Credito saved;
         try {
-            kafkaEventPublisher.publishSolicitacaoCredito(
-                    new SolicitacaoCreditoEvent(
-                            saved.getNumeroCredito(),
-                            saved.getNumeroNfse(),
-                            saved.getSolicitadoPor()
-                    )
-            );
-        } catch (Exception e) {
-            log.warn("Falha ao publicar evento Kafka de solicitação de crédito", e);
+            saved = transactionTemplate.execute(status -> {
+                Credito salvo = repository.save(credito);
+                creditoQueryCache.invalidate(salvo);
+                estatisticaService.registrarCriacao(salvo);
+                analyticsSnapshot.registrar(salvo);
+                readYourWritesGuard.registrarEscrita();
+                outboxEventPublisher.publishSolicitacaoCredito(
+                        new SolicitacaoCreditoEvent(
+                                salvo.getNumeroCredito(),
+                                salvo.getNumeroNfse(),
+                                salvo.getSolicitadoPor()
+                        )
+                );
+                if (comprovantePreparado != null) {
+                    comprovanteUploadService.agendar(salvo.getId(), comprovantePreparado);
+                }
+                return salvo;
+            });
+        } catch (RuntimeException e) {
+            comprovanteUploadService.descartar(comprovantePreparado);
+            throw e;
         }
         return toAdminDto(saved);
     }
 
+    /**
+     * A transação fica no método público: a leitura do crédito e a gravação da análise
+     * precisam acontecer na mesma transação de escrita (e, com réplicas, na primária).
+     */
+    @Transactional
     public void analisar(Long id, CreditoAnaliseRequestDto requestDto) {
         analisarTransacional(id, requestDto);
     }
@@ -161,48 +350,92 @@ public class CreditoService {
             throw new CreditoAnaliseBadRequestException("Crédito não está em análise");
         }
 
+        StatusCredito statusAnterior = credito.getStatus();
         credito.setStatus(requestDto.getStatus());
         credito.setAprovadoPor(requestDto.getAprovadoPor());
         credito.setComentarioAnalise(requestDto.getComentarioAnalise());
         credito.setDataAnalise(LocalDateTime.now());
 
         repository.save(credito);
+        creditoQueryCache.invalidate(credito);
+        estatisticaService.registrarMudancaStatus(credito, statusAnterior);
+        analyticsSnapshot.registrar(credito);
+        readYourWritesGuard.registrarEscrita();
+    }
+
+    /**
+     * Monta um crédito novo (EM_ANALISE) a partir da requisição, com os números já definidos.
+     * Compartilhado com a criação em lote ({@link CreditoLoteService}).
+     */
+    static Credito novoCredito(CreditoCreateRequestDto requestDto, String numeroCredito, String numeroNfse) {
+        Credito credito = new Credito();
+        credito.setNumeroCredito(numeroCredito);
+        credito.setNumeroNfse(numeroNfse);
+        credito.setDataConstituicao(requestDto.getDataConstituicao());
+        credito.setValorIssqn(requestDto.getValorIssqn());
+        credito.setTipoCredito(requestDto.getTipoCredito());
+        credito.setSimplesNacional(requestDto.getSimplesNacional());
+        credito.setAliquota(requestDto.getAliquota());
+        credito.setValorFaturado(requestDto.getValorFaturado());
+        credito.setValorDeducao(requestDto.getValorDeducao());
+        credito.setBaseCalculo(requestDto.getBaseCalculo());
+
+        credito.setStatus(StatusCredito.EM_ANALISE);
+        credito.setDataSolicitacao(LocalDateTime.now());
+        credito.setSolicitadoPor(requestDto.getSolicitadoPor());
+        return credito;
     }
 
-    private CreditoQueryResponseDto toQueryDto(Credito credito){
-        String situacao = credito.getStatus() != null ? credito.getStatus().name() : null;
+    private CreditoConsultaCondicional<byte[]> serializar(Object corpo, List<CreditoQueryView> creditos) {
+        CreditoVersao versao = creditos.isEmpty()
+                ? null
+                : CreditoVersao.of(creditos.stream()
+                        .map(credito -> new CreditoVersionView(credito.id(), credito.versao(), credito.status()))
+                        .toList());
+        try {
+            return new CreditoConsultaCondicional<>(objectMapper.writeValueAsBytes(corpo), versao);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Também usado pela consulta reativa ({@link CreditoReactiveQueryService}), para manter o mesmo JSON.
+     */
+    static CreditoQueryResponseDto toQueryDto(CreditoQueryView credito){
+        String situacao = credito.status() != null ? credito.status().name() : null;
         return CreditoQueryResponseDto.builder()
-                .numeroCredito(credito.getNumeroCredito())
-                .numeroNfse(credito.getNumeroNfse())
-                .dataConstituicao(credito.getDataConstituicao())
-                .valorIssqn(credito.getValorIssqn())
-                .tipoCredito(credito.getTipoCredito())
+                .numeroCredito(credito.numeroCredito())
+                .numeroNfse(credito.numeroNfse())
+                .dataConstituicao(credito.dataConstituicao())
+                .valorIssqn(credito.valorIssqn())
+                .tipoCredito(credito.tipoCredito())
                 .simplesNacional(credito.isSimplesNacional() ? "Sim" : "Não")
-                .aliquota(credito.getAliquota())
-                .valorFaturado(credito.getValorFaturado())
-                .valorDeducao(credito.getValorDeducao())
-                .baseCalculo(credito.getBaseCalculo())
+                .aliquota(credito.aliquota())
+                .valorFaturado(credito.valorFaturado())
+                .valorDeducao(credito.valorDeducao())
+                .baseCalculo(credito.baseCalculo())
                 .situacao(situacao)
                 .status(situacao)
                 .build();
     }
 
-    private CreditoResponseDto toListDto(Credito credito) {
+    private CreditoResponseDto toListDto(CreditoListView credito) {
         return CreditoResponseDto.builder()
-                .id(credito.getId())
-                .numeroCredito(credito.getNumeroCredito())
-                .numeroNfse(credito.getNumeroNfse())
-                .dataConstituicao(credito.getDataConstituicao())
-                .valorIssqn(credito.getValorIssqn())
+                .id(credito.id())
+                .numeroCredito(credito.numeroCredito())
+                .numeroNfse(credito.numeroNfse())
+                .dataConstituicao(credito.dataConstituicao())
+                .valorIssqn(credito.valorIssqn())
                 .simplesNacional(credito.isSimplesNacional() ? "Sim" : "Não")
-                .valorFaturado(credito.getValorFaturado())
-                .status(credito.getStatus())
-                .dataSolicitacao(credito.getDataSolicitacao())
-                .dataAnalise(credito.getDataAnalise())
+                .valorFaturado(credito.valorFaturado())
+                .status(credito.status())
+                .dataSolicitacao(credito.dataSolicitacao())
+                .dataAnalise(credito.dataAnalise())
                 .build();
     }
 
-    private CreditoAdminResponseDto toAdminDto(Credito credito){
+    static CreditoAdminResponseDto toAdminDto(Credito credito){
         return CreditoAdminResponseDto.builder()
                 .id(credito.getId())
                 .numeroCredito(credito.getNumeroCredito())
@@ -221,6 +454,8 @@ public class CreditoService {
                 .dataAnalise(credito.getDataAnalise())
                 .solicitadoPor(credito.getSolicitadoPor())
                 .aprovadoPor(credito.getAprovadoPor())
+                .comprovanteUrl(credito.getComprovanteUrl())
+                .comprovanteStatus(credito.getComprovanteStatus())
                 .build();
     }
 
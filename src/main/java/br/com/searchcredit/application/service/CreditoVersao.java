@@ -0,0 +1,66 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+
+/**
+ * Versão de um recurso de consulta (um crédito ou todos os créditos de uma NFS-e).
+ *
+ * O ETag forte é um hash dos pares (id, versao) ordenados por id, então muda sempre
+ * que algum crédito do recurso for alterado, incluído ou removido. {@code finalizado}
+ * indica que todos os créditos já foram analisados (APROVADO ou REPROVADO).
+ */
+public record CreditoVersao(String etag, boolean finalizado) {
+
+    public static CreditoVersao of(Collection<CreditoVersionView> creditos) {
+        MessageDigest digest = sha256();
+        creditos.stream()
+                .sorted(Comparator.comparing(CreditoVersionView::id, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(credito -> digest.update((credito.id() + ":" + credito.versao() + ";")
+                        .getBytes(StandardCharsets.UTF_8)));
+        String hash = HexFormat.of().formatHex(digest.digest(), 0, 16);
+
+        boolean finalizado = !creditos.isEmpty() && creditos.stream()
+                .allMatch(credito -> credito.status() == StatusCredito.APROVADO
+                        || credito.status() == StatusCredito.REPROVADO);
+        return new CreditoVersao("\"" + hash + "\"", finalizado);
+    }
+
+    /**
+     * Avalia o cabeçalho If-None-Match (lista de ETags ou "*"), com a comparação fraca
+     * exigida pela RFC 9110 para requisições GET.
+     */
+    public boolean corresponde(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*")) {
+                return true;
+            }
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package br.com.searchcredit.application.service;
 
 import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.StatusComprovante;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
-import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService.ComprovantePreparado;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,7 +27,11 @@ import java.time.LocalDateTime;
 public class CreditoWorkflowService {
 
     private final CreditoRepository creditoRepository;
-    private final MinioStorageService minioStorageService;
+    private final ComprovanteUploadService comprovanteUploadService;
+    private final CreditoQueryCache creditoQueryCache;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final ReadYourWritesGuard readYourWritesGuard;
 
     /**
      * Cria um novo crédito com status inicial EM_ANALISE.
@@ -37,7 +46,7 @@ public class CreditoWorkflowService {
      * @param valorFaturado Valor faturado
      * @param valorDeducao Valor de dedução
      * @param baseCalculo Base de cálculo
-     * @param comprovante Arquivo de comprovante (opcional)
+     * @param comprovante Arquivo de comprovante (opcional); enviado ao MinIO após o commit
      * @return Credito criado e persistido
      */
     @Transactional
@@ -54,9 +63,9 @@ public class CreditoWorkflowService {
             java.math.BigDecimal baseCalculo,
             MultipartFile comprovante) {
 
-        String comprovanteUrl = null;
+        ComprovantePreparado preparado = null;
         if (comprovante != null && !comprovante.isEmpty()) {
-            comprovanteUrl = minioStorageService.uploadComprovante(comprovante);
+            preparado = comprovanteUploadService.preparar(comprovante);
         }
 
         Credito credito = Credito.builder()
@@ -71,11 +80,27 @@ public class CreditoWorkflowService {
                 .valorDeducao(valorDeducao)
                 .baseCalculo(baseCalculo)
                 .status(StatusCredito.EM_ANALISE)
-                .comprovanteUrl(comprovanteUrl)
+                .comprovanteUrl(preparado != null ? preparado.url() : null)
+                .comprovanteStatus(statusComprovante(preparado))
                 .dataSolicitacao(LocalDateTime.now())
                 .build();
 
-        return creditoRepository.save(credito);
+        Credito saved = creditoRepository.save(credito);
+        creditoQueryCache.invalidate(saved);
+        estatisticaService.registrarCriacao(saved);
+        analyticsSnapshot.registrar(saved);
+        readYourWritesGuard.registrarEscrita();
+        if (preparado != null) {
+            comprovanteUploadService.agendar(saved.getId(), preparado);
+        }
+        return saved;
+    }
+
+    private static StatusComprovante statusComprovante(ComprovantePreparado preparado) {
+        if (preparado == null) {
+            return null;
+        }
+        return preparado.enviado() ? StatusComprovante.ENVIADO : StatusComprovante.PENDENTE;
     }
 }
 
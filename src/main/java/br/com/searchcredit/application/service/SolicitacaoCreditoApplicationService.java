@@ -4,8 +4,11 @@ import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
 import br.com.searchcredit.domain.service.AnaliseSolicitacaoCreditoService;
-import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
 import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoAnalisadaEvent;
+import br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,7 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
  * - Buscar crédito
  * - Delegar regras de negócio para o Domain Service
  * - Persistir alterações
- * - Publicar eventos Kafka
+ * - Publicar eventos Kafka (via outbox, na mesma transação)
  */
 @Slf4j
 @Service
@@ -27,7 +30,11 @@ public class SolicitacaoCreditoApplicationService {
 
     private final CreditoRepository creditoRepository;
     private final AnaliseSolicitacaoCreditoService analiseService;
-    private final KafkaEventPublisher kafkaEventPublisher;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final CreditoQueryCache creditoQueryCache;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final ReadYourWritesGuard readYourWritesGuard;
 
     /**
      * Responde à análise de um crédito.
@@ -49,13 +56,18 @@ public class SolicitacaoCreditoApplicationService {
                 ));
 
         // 2. Delegar regra de negócio para o Domain Service
+        StatusCredito statusAnterior = credito.getStatus();
         analiseService.analisarCredito(credito, status, comentario);
 
         // 3. Salvar no repositório
         Credito creditoAtualizado = creditoRepository.save(credito);
+        creditoQueryCache.invalidate(creditoAtualizado);
+        estatisticaService.registrarMudancaStatus(creditoAtualizado, statusAnterior);
+        analyticsSnapshot.registrar(creditoAtualizado);
+        readYourWritesGuard.registrarEscrita();
         log.info("Crédito ID: {} atualizado com status: {}", creditoId, status);
 
-        // 4. Publicar eventos Kafka (mantém compatibilidade com evento legado + novo evento de domínio)
+        // 4. Gravar eventos no outbox (mantém compatibilidade com evento legado + novo evento de domínio)
         
         // 4.1. Publicar evento legado (compatibilidade com consumidores existentes)
         // Converter StatusCredito para StatusSolicitacao apenas para o evento legado
@@ -67,12 +79,12 @@ public class SolicitacaoCreditoApplicationService {
                 creditoAtualizado.getDataAnalise(),
                 creditoAtualizado.getComentarioAnalise()
         );
-        kafkaEventPublisher.publishSolicitacaoAnalisada(eventLegado);
-        log.info("SolicitacaoCreditoAnalisadaEvent (legado) publicado para crédito ID: {}", creditoId);
+        outboxEventPublisher.publishSolicitacaoAnalisada(eventLegado);
+        log.info("SolicitacaoCreditoAnalisadaEvent (legado) gravado no outbox para crédito ID: {}", creditoId);
 
         // 4.2. Publicar novo evento de domínio CreditoAnalisadoEvent
-        kafkaEventPublisher.publishCreditoAnalisado(creditoAtualizado);
-        log.info("CreditoAnalisadoEvent (novo) publicado para crédito ID: {}", creditoId);
+        outboxEventPublisher.publishCreditoAnalisado(creditoAtualizado);
+        log.info("CreditoAnalisadoEvent (novo) gravado no outbox para crédito ID: {}", creditoId);
     }
 
     /**
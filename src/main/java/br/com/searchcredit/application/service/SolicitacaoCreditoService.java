@@ -6,6 +6,9 @@ import br.com.searchcredit.application.dto.credito.CreditoAnaliseRequestDto;
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
@@ -22,6 +25,11 @@ public class SolicitacaoCreditoService {
 
     private final CreditoWorkflowService creditoWorkflowService;
     private final CreditoRepository creditoRepository;
+    private final CreditoQueryCache creditoQueryCache;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final CreditoNumeroGeneratorService creditoNumeroGeneratorService;
+    private final ReadYourWritesGuard readYourWritesGuard;
 
     @Transactional
     public CreditoAdminResponseDto criarSolicitacao(
@@ -73,15 +81,29 @@ public class SolicitacaoCreditoService {
                 .dataAnalise(credito.getDataAnalise())
                 .solicitadoPor(credito.getSolicitadoPor())
                 .aprovadoPor(credito.getAprovadoPor())
+                .comprovanteUrl(credito.getComprovanteUrl())
+                .comprovanteStatus(credito.getComprovanteStatus())
                 .build();
     }
 
+    /**
+     * Carrega todos os créditos em memória.
+     *
+     * @deprecated use {@link CreditoExportService} para percorrer a tabela inteira
+     */
+    @Deprecated
     public List<CreditoAdminResponseDto> listarTodas() {
         return creditoRepository.findAll().stream()
                 .map(this::toResponseDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Carrega todos os créditos em memória.
+     *
+     * @deprecated use {@link CreditoExportService} para percorrer a tabela inteira
+     */
+    @Deprecated
     public List<CreditoAdminResponseDto> buscarTodas() {
         return creditoRepository.findAll().stream()
                 .map(this::toResponseDto)
@@ -94,41 +116,11 @@ public class SolicitacaoCreditoService {
     }
 
     public String gerarProximoNumeroCredito() {
-        List<Credito> creditos = creditoRepository.findAllOrderByNumeroCreditoDesc();
-        if (creditos.isEmpty()) {
-            return "CRED000001";
-        }
-        
-        String ultimoNumero = creditos.get(0).getNumeroCredito();
-        if (ultimoNumero != null && ultimoNumero.startsWith("CRED")) {
-            try {
-                String numeroStr = ultimoNumero.substring(4);
-                long numero = Long.parseLong(numeroStr);
-                return String.format("CRED%06d", numero + 1);
-            } catch (NumberFormatException e) {
-                return "CRED000001";
-            }
-        }
-        return "CRED000001";
+        return creditoNumeroGeneratorService.nextNumeroCreditoLegado();
     }
 
     public String gerarProximoNumeroNfse() {
-        List<Credito> creditos = creditoRepository.findAllOrderByNumeroNfseDesc();
-        if (creditos.isEmpty()) {
-            return "NFSE1000001";
-        }
-        
-        String ultimoNumero = creditos.get(0).getNumeroNfse();
-        if (ultimoNumero != null && ultimoNumero.startsWith("NFSE")) {
-            try {
-                String numeroStr = ultimoNumero.substring(4);
-                long numero = Long.parseLong(numeroStr);
-                return String.format("NFSE%07d", numero + 1);
-            } catch (NumberFormatException e) {
-                return "NFSE1000001";
-            }
-        }
-        return "NFSE1000001";
+        return creditoNumeroGeneratorService.nextNumeroNfseLegado();
     }
 
     public List<CreditoAdminResponseDto> listarPorNumeroCredito(String numeroCredito) {
@@ -166,8 +158,13 @@ public class SolicitacaoCreditoService {
                         );
                     }
                     
+                    StatusCredito statusAnterior = credito.getStatus();
                     credito.setStatus(requestDto.getStatus());
                     Credito updated = creditoRepository.save(credito);
+                    creditoQueryCache.invalidate(updated);
+                    estatisticaService.registrarMudancaStatus(updated, statusAnterior);
+                    analyticsSnapshot.registrar(updated);
+                    readYourWritesGuard.registrarEscrita();
                     return toResponseDto(updated);
                 });
     }
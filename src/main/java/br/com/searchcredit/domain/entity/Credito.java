@@ -1,5 +1,6 @@
 package br.com.searchcredit.domain.entity;
 
+import br.com.searchcredit.domain.enums.StatusComprovante;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,8 +18,13 @@ import java.time.LocalDateTime;
 @Builder
 public class Credito {
 
+    /**
+     * Sequence com incremento 50 (otimizador pooled do Hibernate): um nextval reserva
+     * 50 ids, e com IDENTITY o Hibernate não consegue agrupar inserts em lote.
+     */
     @Id
-    @GeneratedValue( strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credito_seq")
+    @SequenceGenerator(name = "credito_seq", sequenceName = "credito_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "numero_credito", nullable = true, length = 50)
@@ -58,6 +64,10 @@ public class Credito {
     @Column(name = "comprovante_url", nullable = true, length = 512)
     private String comprovanteUrl;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "comprovante_status", nullable = true, length = 20)
+    private StatusComprovante comprovanteStatus;
+
     @Column(name = "data_solicitacao", nullable = true)
     private LocalDateTime dataSolicitacao;
 
@@ -73,6 +83,10 @@ public class Credito {
     @Column(name = "data_analise", nullable = true)
     private LocalDateTime dataAnalise;
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     public boolean isSimplesNacional() {
         return Boolean.TRUE.equals(simplesNacional);
     }
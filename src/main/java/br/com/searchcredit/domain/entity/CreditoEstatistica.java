@@ -0,0 +1,42 @@
+package br.com.searchcredit.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais pré-agregados de créditos por (status, tipo de crédito, mês).
+ *
+ * Mantidos incrementalmente pelos fluxos de escrita, na mesma transação que
+ * altera o crédito; a consulta de estatísticas lê apenas esta tabela.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "credito_estatistica")
+public class CreditoEstatistica {
+
+    @EmbeddedId
+    private CreditoEstatisticaId id;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "soma_valor_issqn", nullable = false, precision = 19, scale = 2)
+    private BigDecimal somaValorIssqn;
+
+    @Column(name = "soma_valor_faturado", nullable = false, precision = 19, scale = 2)
+    private BigDecimal somaValorFaturado;
+
+    @Column(name = "soma_base_calculo", nullable = false, precision = 19, scale = 2)
+    private BigDecimal somaBaseCalculo;
+}
@@ -0,0 +1,42 @@
+package br.com.searchcredit.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Chave do grupo de estatísticas: status, tipo de crédito e mês de constituição.
+ *
+ * As colunas fazem parte da chave primária e por isso não aceitam nulo; valores
+ * ausentes no crédito são gravados como {@link #NAO_INFORMADO} / {@link #MES_NAO_INFORMADO}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class CreditoEstatisticaId implements Serializable {
+
+    public static final String NAO_INFORMADO = "";
+    public static final LocalDate MES_NAO_INFORMADO = LocalDate.of(1, 1, 1);
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "tipo_credito", nullable = false, length = 50)
+    private String tipoCredito;
+
+    @Column(name = "mes", nullable = false)
+    private LocalDate mes;
+
+    public static CreditoEstatisticaId of(Credito credito) {
+        return new CreditoEstatisticaId(
+                credito.getStatus() != null ? credito.getStatus().name() : NAO_INFORMADO,
+                credito.getTipoCredito() != null ? credito.getTipoCredito() : NAO_INFORMADO,
+                credito.getDataConstituicao() != null ? credito.getDataConstituicao().withDayOfMonth(1) : MES_NAO_INFORMADO);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.searchcredit.domain.enums;
+
+import java.util.Arrays;
+
+/**
+ * Colunas numéricas de Credito disponíveis nas consultas analíticas.
+ *
+ * Todas têm escala 2 no banco e são mantidas no snapshot colunar como
+ * centésimos em {@code long}.
+ */
+public enum CreditoColunaNumerica {
+    VALOR_ISSQN("valorIssqn"),
+    VALOR_FATURADO("valorFaturado"),
+    VALOR_DEDUCAO("valorDeducao"),
+    BASE_CALCULO("baseCalculo"),
+    ALIQUOTA("aliquota");
+
+    private final String attribute;
+
+    CreditoColunaNumerica(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a coluna não for numérica
+     */
+    public static CreditoColunaNumerica fromAttribute(String attribute) {
+        return Arrays.stream(values())
+                .filter(coluna -> coluna.attribute.equals(attribute))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("Coluna não permitida para análise: '%s'. Colunas aceitas: %s",
+                                attribute, Arrays.stream(values()).map(CreditoColunaNumerica::getAttribute).toList())));
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.searchcredit.domain.enums;
+
+import java.util.Arrays;
+
+/**
+ * Campos de Credito que aceitam busca por prefixo (autocomplete).
+ *
+ * Cada campo possui um índice {@code (coluna COLLATE "C")} criado via Liquibase,
+ * que atende tanto o filtro LIKE 'prefixo%' quanto a ordenação do resultado.
+ */
+public enum CreditoPrefixField {
+    NUMERO_CREDITO("numeroCredito", "numero_credito"),
+    NUMERO_NFSE("numeroNfse", "numero_nfse");
+
+    private final String attribute;
+    private final String column;
+
+    CreditoPrefixField(String attribute, String column) {
+        this.attribute = attribute;
+        this.column = column;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o campo não aceitar busca por prefixo
+     */
+    public static CreditoPrefixField fromAttribute(String attribute) {
+        return Arrays.stream(values())
+                .filter(field -> field.attribute.equals(attribute))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("Campo não permitido para busca por prefixo: '%s'. Campos aceitos: %s",
+                                attribute, Arrays.stream(values()).map(CreditoPrefixField::getAttribute).toList())));
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.searchcredit.domain.enums;
+
+import br.com.searchcredit.domain.projection.CreditoListView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de Credito que podem ser usados como chave de ordenação na listagem.
+ *
+ * Cada campo possui um índice composto (campo, id) criado via Liquibase, o que
+ * permite paginar (por offset ou por cursor) sem ordenar a tabela inteira.
+ * Qualquer outro valor de sortBy é rejeitado antes de chegar ao banco.
+ */
+public enum CreditoSortField {
+    DATA_CONSTITUICAO("dataConstituicao", CreditoListView::dataConstituicao, LocalDate::parse),
+    DATA_SOLICITACAO("dataSolicitacao", CreditoListView::dataSolicitacao, LocalDateTime::parse),
+    DATA_ANALISE("dataAnalise", CreditoListView::dataAnalise, LocalDateTime::parse),
+    VALOR_ISSQN("valorIssqn", CreditoListView::valorIssqn, BigDecimal::new),
+    VALOR_FATURADO("valorFaturado", CreditoListView::valorFaturado, BigDecimal::new),
+    TIPO_CREDITO("tipoCredito", CreditoListView::tipoCredito, value -> value),
+    NUMERO_CREDITO("numeroCredito", CreditoListView::numeroCredito, value -> value),
+    NUMERO_NFSE("numeroNfse", CreditoListView::numeroNfse, value -> value);
+
+    private static final Map<String, CreditoSortField> BY_ATTRIBUTE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(CreditoSortField::getAttribute, Function.identity()));
+
+    private final String attribute;
+    private final Function<CreditoListView, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    CreditoSortField(String attribute,
+                     Function<CreditoListView, Comparable<?>> extractor,
+                     Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * Nome do atributo na entidade Credito (também usado como valor de sortBy na API).
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Valor da chave de ordenação no crédito informado (pode ser nulo).
+     */
+    public Comparable<?> extractValue(CreditoListView credito) {
+        return extractor.apply(credito);
+    }
+
+    /**
+     * Converte o valor serializado (toString) de volta para o tipo do atributo.
+     */
+    public Comparable<?> parseValue(String value) {
+        return parser.apply(value);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o campo não for ordenável
+     */
+    public static CreditoSortField fromAttribute(String attribute) {
+        CreditoSortField field = attribute != null ? BY_ATTRIBUTE.get(attribute) : null;
+        if (field == null) {
+            throw new IllegalArgumentException(
+                    String.format("Campo de ordenação não permitido: '%s'. Campos aceitos: %s",
+                            attribute, Arrays.stream(values()).map(CreditoSortField::getAttribute).toList()));
+        }
+        return field;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.searchcredit.domain.enums;
+
+/**
+ * Situação do envio do comprovante ao armazenamento de objetos.
+ *
+ * Estados:
+ * - PENDENTE: Recebido e guardado em disco local, aguardando envio
+ * - ENVIADO: Enviado; comprovanteUrl preenchido
+ * - FALHOU: Tentativas esgotadas; o arquivo continua em disco e será reenviado
+ */
+public enum StatusComprovante {
+    PENDENTE,
+    ENVIADO,
+    FALHOU
+}
@@ -0,0 +1,37 @@
+package br.com.searchcredit.domain.projection;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de Credito usada na exportação completa (NDJSON/CSV).
+ *
+ * Lida diretamente do ResultSet, linha a linha, sem passar pelo contexto de
+ * persistência; contém todas as colunas exibidas no retorno administrativo.
+ */
+public record CreditoExportView(
+        Long id,
+        String numeroCredito,
+        String numeroNfse,
+        LocalDate dataConstituicao,
+        BigDecimal valorIssqn,
+        String tipoCredito,
+        Boolean simplesNacional,
+        BigDecimal aliquota,
+        BigDecimal valorFaturado,
+        BigDecimal valorDeducao,
+        BigDecimal baseCalculo,
+        StatusCredito status,
+        LocalDateTime dataSolicitacao,
+        String solicitadoPor,
+        String aprovadoPor,
+        String comentarioAnalise,
+        LocalDateTime dataAnalise) {
+
+    public boolean isSimplesNacional() {
+        return Boolean.TRUE.equals(simplesNacional);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.searchcredit.domain.projection;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção somente leitura de Credito com as colunas exibidas na listagem.
+ *
+ * Construída diretamente na query (constructor expression), sem carregar a
+ * entidade no contexto de persistência.
+ */
+public record CreditoListView(
+        Long id,
+        String numeroCredito,
+        String numeroNfse,
+        LocalDate dataConstituicao,
+        BigDecimal valorIssqn,
+        String tipoCredito,
+        Boolean simplesNacional,
+        BigDecimal valorFaturado,
+        StatusCredito status,
+        LocalDateTime dataSolicitacao,
+        LocalDateTime dataAnalise) {
+
+    public boolean isSimplesNacional() {
+        return Boolean.TRUE.equals(simplesNacional);
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.searchcredit.domain.projection;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Projeção somente leitura de Credito com as colunas da consulta pública
+ * (por número de crédito ou por NFS-e), mais id e versão para o ETag.
+ */
+public record CreditoQueryView(
+        String numeroCredito,
+        String numeroNfse,
+        LocalDate dataConstituicao,
+        BigDecimal valorIssqn,
+        String tipoCredito,
+        Boolean simplesNacional,
+        BigDecimal aliquota,
+        BigDecimal valorFaturado,
+        BigDecimal valorDeducao,
+        BigDecimal baseCalculo,
+        StatusCredito status,
+        Long id,
+        Long versao) {
+
+    public boolean isSimplesNacional() {
+        return Boolean.TRUE.equals(simplesNacional);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.searchcredit.domain.projection;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+/**
+ * Identificação mínima de uma versão de Credito, usada para responder requisições
+ * condicionais (If-None-Match) sem carregar as demais colunas.
+ */
+public record CreditoVersionView(Long id, Long versao, StatusCredito status) {
+}
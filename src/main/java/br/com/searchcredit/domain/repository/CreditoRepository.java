@@ -1,23 +1,75 @@
 package br.com.searchcredit.domain.repository;
 
 import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoPrefixField;
+import br.com.searchcredit.domain.enums.CreditoSortField;
 import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CreditoRepository {
 
     Credito save(Credito credito);
 
+    /**
+     * Persiste os créditos numa única transação, com inserts em lote (JDBC batch).
+     */
+    List<Credito> saveAll(List<Credito> creditos);
+
+    /**
+     * Números de crédito da coleção que já existem, consultados em blocos IN.
+     */
+    Set<String> findNumerosCreditoExistentes(Collection<String> numerosCredito);
+
     Optional<Credito> findByNumeroCredito(String numeroCredito);
 
     List<Credito> findAllByNumeroNfse(String numeroNfse);
 
+    Optional<CreditoQueryView> findQueryViewByNumeroCredito(String numeroCredito);
+
+    List<CreditoQueryView> findQueryViewsByNumeroNfse(String numeroNfse);
+
+    /**
+     * Busca os créditos cujos números estão na coleção informada, usando consultas
+     * IN divididas em blocos para respeitar o limite de parâmetros do banco.
+     * Números sem crédito correspondente são simplesmente omitidos.
+     */
+    List<CreditoQueryView> findQueryViewsByNumeroCreditoIn(Collection<String> numerosCredito);
+
+    /**
+     * Apenas id, versão e status do crédito, para validar ETags sem montar a consulta completa.
+     */
+    Optional<CreditoVersionView> findVersionViewByNumeroCredito(String numeroCredito);
+
+    List<CreditoVersionView> findVersionViewsByNumeroNfse(String numeroNfse);
+
+    Page<CreditoListView> findListViews(Pageable pageable);
+
     Page<Credito> findAll(Pageable pageable);
 
+    /**
+     * Busca paginada pelos filtros informados. A ordenação do Pageable deve usar
+     * apenas campos de {@link CreditoSortField}.
+     */
+    Page<CreditoListView> search(CreditoSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * @deprecated retorna todos os créditos do status sem limite; use {@link #search}
+     */
+    @Deprecated
     List<Credito> findByStatus(StatusCredito status);
 
     Optional<Credito> findById(Long id);
@@ -30,7 +82,28 @@ public interface CreditoRepository {
 
     Page<Credito> findAll(int page, int size, String sortBy, String sortDir);
 
-    List<Credito> findAllOrderByNumeroCreditoDesc();
+    /**
+     * Paginação por cursor (keyset): retorna até {@code size} créditos posicionados
+     * após (lastValue, lastId) na ordenação (sortField, id), sem consulta de contagem.
+     * Com lastId nulo, retorna a primeira fatia.
+     */
+    Slice<CreditoListView> findSliceAfter(CreditoSortField sortField, Sort.Direction direction,
+                                          Comparable<?> lastValue, Long lastId, int size);
+
+    /**
+     * Percorre, em ordem de id, todos os créditos que atendem aos filtros opcionais
+     * (status e intervalo inclusivo de dataConstituicao), entregando uma linha por vez
+     * ao consumer. As linhas são lidas por cursor no banco, em lotes de
+     * {@code fetchSize}, e não ficam retidas em memória.
+     */
+    void streamForExport(StatusCredito status, LocalDate dataInicio, LocalDate dataFim,
+                         int fetchSize, Consumer<CreditoExportView> consumer);
 
-    List<Credito> findAllOrderByNumeroNfseDesc();
+    /**
+     * Retorna até {@code limit} valores distintos do campo que começam com o prefixo,
+     * em ordem crescente (collation "C").
+     *
+     * @throws org.springframework.dao.QueryTimeoutException se a consulta exceder {@code timeoutMillis}
+     */
+    List<String> findNumerosByPrefix(CreditoPrefixField field, String prefix, int limit, long timeoutMillis);
 }
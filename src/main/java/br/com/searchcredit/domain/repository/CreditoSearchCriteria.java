@@ -0,0 +1,36 @@
+package br.com.searchcredit.domain.repository;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filtros da busca de créditos. Todos são opcionais (nulo = não filtra) e
+ * combinados com AND; os intervalos são inclusivos nas duas pontas.
+ */
+public record CreditoSearchCriteria(
+        StatusCredito status,
+        String tipoCredito,
+        Boolean simplesNacional,
+        LocalDate dataConstituicaoInicio,
+        LocalDate dataConstituicaoFim,
+        LocalDate dataSolicitacaoInicio,
+        LocalDate dataSolicitacaoFim,
+        BigDecimal valorIssqnMin,
+        BigDecimal valorIssqnMax,
+        String solicitadoPor) {
+
+    public CreditoSearchCriteria {
+        requireOrdered("dataConstituicao", dataConstituicaoInicio, dataConstituicaoFim);
+        requireOrdered("dataSolicitacao", dataSolicitacaoInicio, dataSolicitacaoFim);
+        requireOrdered("valorIssqn", valorIssqnMin, valorIssqnMax);
+    }
+
+    private static <T extends Comparable<? super T>> void requireOrdered(String campo, T inicio, T fim) {
+        if (inicio != null && fim != null && inicio.compareTo(fim) > 0) {
+            throw new IllegalArgumentException(
+                    String.format("Intervalo inválido para %s: início (%s) maior que fim (%s)", campo, inicio, fim));
+        }
+    }
+}
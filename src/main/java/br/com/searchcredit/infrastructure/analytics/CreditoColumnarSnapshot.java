@@ -0,0 +1,426 @@
+package br.com.searchcredit.infrastructure.analytics;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoColunaNumerica;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Cópia em memória, em formato colunar, da tabela credito para consultas analíticas
+ * (percentis, distribuições por mês) sem carregar o Postgres nem instanciar BigDecimal
+ * por linha.
+ *
+ * Layout: colunas monetárias como {@code long[]} em centésimos, com bitmap de presença
+ * (valores nulos); status e tipo de crédito codificados por dicionário; simplesNacional
+ * como bitmap. As varreduras dividem as linhas em blocos de {@link #CHUNK_SIZE} e os
+ * processam em paralelo no ForkJoinPool comum, apenas com laços sobre arrays primitivos.
+ *
+ * Desabilitado por padrão ({@code credito.analytics.snapshot.enabled}). Quando habilitado,
+ * é carregado ao final da inicialização e mantido pelos fluxos de escrita via
+ * {@link #registrar(Credito)}, aplicado após o commit. Custo aproximado: 60 bytes por crédito.
+ */
+@Slf4j
+@Component
+public class CreditoColumnarSnapshot {
+
+    static final int CHUNK_SIZE = 16_384;
+    static final int MES_AUSENTE = -1;
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final int QUALQUER = -1;
+    private static final CreditoColunaNumerica[] COLUNAS = CreditoColunaNumerica.values();
+
+    private final CreditoRepository repository;
+    private final boolean enabled;
+    private final int fetchSize;
+    private final Object lock = new Object();
+
+    private volatile Estado estado;
+
+    // Alterações recebidas durante uma reconstrução; reaplicadas antes da troca do estado.
+    private List<LinhaColunar> pendentes;
+
+    public CreditoColumnarSnapshot(
+            CreditoRepository repository,
+            @Value("${credito.analytics.snapshot.enabled:false}") boolean enabled,
+            @Value("${credito.analytics.snapshot.fetch-size:5000}") int fetchSize,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.fetchSize = fetchSize;
+
+        Gauge.builder("credito.analytics.snapshot.rows", this, CreditoColumnarSnapshot::tamanho)
+                .description("Créditos carregados no snapshot analítico")
+                .register(meterRegistry);
+    }
+
+    public boolean isHabilitado() {
+        return enabled;
+    }
+
+    public boolean isDisponivel() {
+        return estado != null;
+    }
+
+    public int tamanho() {
+        Estado atual = estado;
+        return atual != null ? atual.colunas.tamanho : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (enabled) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Recarrega todas as linhas a partir do banco (streaming) e troca o estado atual.
+     * Consultas continuam sendo atendidas pelo estado anterior durante a carga.
+     */
+    public void reconstruir() {
+        synchronized (lock) {
+            pendentes = new ArrayList<>();
+        }
+        long inicio = System.nanoTime();
+        Estado novo = new Estado(CAPACIDADE_INICIAL);
+        try {
+            repository.streamForExport(null, null, null, fetchSize, view -> novo.registrar(LinhaColunar.of(view)));
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                pendentes = null;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            pendentes.forEach(novo::registrar);
+            pendentes = null;
+            estado = novo;
+        }
+        log.info("Snapshot analítico carregado: {} créditos em {} ms",
+                novo.colunas.tamanho, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Inclui ou atualiza o crédito no snapshot. Dentro de uma transação, a alteração só
+     * é aplicada após o commit, para que um rollback não deixe a linha no snapshot.
+     */
+    public void registrar(Credito credito) {
+        if (!enabled || credito == null || credito.getId() == null) {
+            return;
+        }
+        LinhaColunar linha = LinhaColunar.of(credito);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar(linha);
+                }
+            });
+        } else {
+            aplicar(linha);
+        }
+    }
+
+    /**
+     * Valores presentes (não nulos) da coluna que atendem ao filtro, em ordem crescente
+     * e em centésimos.
+     */
+    public long[] valoresOrdenados(CreditoColunaNumerica coluna, FiltroColunar filtro) {
+        Varredura varredura = varredura(filtro);
+        if (varredura == null) {
+            return new long[0];
+        }
+        long[][] partes = IntStream.range(0, varredura.blocos())
+                .parallel()
+                .mapToObj(bloco -> varredura.coletar(coluna.ordinal(), bloco))
+                .toArray(long[][]::new);
+
+        long[] valores = new long[Arrays.stream(partes).mapToInt(parte -> parte.length).sum()];
+        int posicao = 0;
+        for (long[] parte : partes) {
+            System.arraycopy(parte, 0, valores, posicao, parte.length);
+            posicao += parte.length;
+        }
+        Arrays.parallelSort(valores);
+        return valores;
+    }
+
+    /**
+     * Quantidade, soma, mínimo e máximo da coluna por mês de constituição, em ordem de mês.
+     * Créditos sem data de constituição aparecem com {@code mes == MES_AUSENTE}.
+     */
+    public List<ResumoMensal> distribuicaoMensal(CreditoColunaNumerica coluna, FiltroColunar filtro) {
+        Varredura varredura = varredura(filtro);
+        if (varredura == null) {
+            return List.of();
+        }
+        List<List<ResumoMensal>> parciais = IntStream.range(0, varredura.blocos())
+                .parallel()
+                .mapToObj(bloco -> varredura.agregarPorMes(coluna.ordinal(), bloco))
+                .toList();
+
+        Map<Integer, ResumoMensal> porMes = new HashMap<>();
+        for (List<ResumoMensal> parcial : parciais) {
+            for (ResumoMensal resumo : parcial) {
+                porMes.merge(resumo.mes(), resumo, ResumoMensal::combinar);
+            }
+        }
+        return porMes.values().stream()
+                .sorted(Comparator.comparingInt(ResumoMensal::mes))
+                .toList();
+    }
+
+    private void aplicar(LinhaColunar linha) {
+        synchronized (lock) {
+            if (pendentes != null) {
+                pendentes.add(linha);
+            }
+            if (estado != null) {
+                estado.registrar(linha);
+            }
+        }
+    }
+
+    /**
+     * Traduz o filtro para códigos do dicionário; retorna nulo quando nenhuma linha
+     * pode atender (tipo de crédito inexistente).
+     */
+    private Varredura varredura(FiltroColunar filtro) {
+        Estado atual = estado;
+        if (atual == null) {
+            throw new IllegalStateException(enabled
+                    ? "Snapshot analítico ainda em carregamento"
+                    : "Snapshot analítico desabilitado (credito.analytics.snapshot.enabled)");
+        }
+        FiltroColunar efetivo = filtro != null ? filtro : FiltroColunar.TODOS;
+
+        int tipo = QUALQUER;
+        if (efetivo.tipoCredito() != null) {
+            Integer codigo = atual.codigoTipo.get(efetivo.tipoCredito());
+            if (codigo == null) {
+                return null;
+            }
+            tipo = codigo;
+        }
+        int status = efetivo.status() != null ? efetivo.status().ordinal() + 1 : QUALQUER;
+        int simples = efetivo.simplesNacional() == null ? QUALQUER : (efetivo.simplesNacional() ? 1 : 0);
+
+        Colunas colunas = atual.colunas;
+        return new Varredura(colunas, colunas.tamanho, status, tipo, simples);
+    }
+
+    private static boolean bit(long[] bitmap, int linha) {
+        return (bitmap[linha >>> 6] & (1L << linha)) != 0;
+    }
+
+    private static void bit(long[] bitmap, int linha, boolean valor) {
+        if (valor) {
+            bitmap[linha >>> 6] |= 1L << linha;
+        } else {
+            bitmap[linha >>> 6] &= ~(1L << linha);
+        }
+    }
+
+    private static int mes(LocalDate data) {
+        return data != null ? data.getYear() * 12 + data.getMonthValue() - 1 : MES_AUSENTE;
+    }
+
+    private static long centesimos(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Uma varredura sobre as primeiras {@code tamanho} linhas de um conjunto de colunas.
+     */
+    private record Varredura(Colunas colunas, int tamanho, int status, int tipo, int simples) {
+
+        int blocos() {
+            return (tamanho + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        }
+
+        boolean aceita(int linha) {
+            return (status == QUALQUER || colunas.status[linha] == status)
+                    && (tipo == QUALQUER || colunas.tipo[linha] == tipo)
+                    && (simples == QUALQUER || bit(colunas.simples, linha) == (simples == 1));
+        }
+
+        long[] coletar(int coluna, int bloco) {
+            int inicio = bloco * CHUNK_SIZE;
+            int fim = Math.min(inicio + CHUNK_SIZE, tamanho);
+            long[] valores = colunas.valores[coluna];
+            long[] presentes = colunas.presentes[coluna];
+
+            long[] resultado = new long[fim - inicio];
+            int quantidade = 0;
+            for (int i = inicio; i < fim; i++) {
+                if (bit(presentes, i) && aceita(i)) {
+                    resultado[quantidade++] = valores[i];
+                }
+            }
+            return Arrays.copyOf(resultado, quantidade);
+        }
+
+        List<ResumoMensal> agregarPorMes(int coluna, int bloco) {
+            int inicio = bloco * CHUNK_SIZE;
+            int fim = Math.min(inicio + CHUNK_SIZE, tamanho);
+            int[] meses = colunas.mes;
+            long[] valores = colunas.valores[coluna];
+            long[] presentes = colunas.presentes[coluna];
+
+            // Primeira passada: faixa de meses do bloco, para acumular em arrays indexados.
+            int menor = Integer.MAX_VALUE;
+            int maior = MES_AUSENTE;
+            for (int i = inicio; i < fim; i++) {
+                int mes = meses[i];
+                if (mes != MES_AUSENTE) {
+                    menor = Math.min(menor, mes);
+                    maior = Math.max(maior, mes);
+                }
+            }
+            int deslocamento = menor == Integer.MAX_VALUE ? 0 : menor - 1;
+            int faixa = maior == MES_AUSENTE ? 1 : maior - deslocamento + 1;
+
+            // Posição 0 acumula os créditos sem data de constituição.
+            long[] quantidade = new long[faixa];
+            long[] soma = new long[faixa];
+            long[] minimo = new long[faixa];
+            long[] maximo = new long[faixa];
+            Arrays.fill(minimo, Long.MAX_VALUE);
+            Arrays.fill(maximo, Long.MIN_VALUE);
+
+            for (int i = inicio; i < fim; i++) {
+                if (bit(presentes, i) && aceita(i)) {
+                    int posicao = meses[i] == MES_AUSENTE ? 0 : meses[i] - deslocamento;
+                    long valor = valores[i];
+                    quantidade[posicao]++;
+                    soma[posicao] += valor;
+                    minimo[posicao] = Math.min(minimo[posicao], valor);
+                    maximo[posicao] = Math.max(maximo[posicao], valor);
+                }
+            }
+
+            List<ResumoMensal> resultado = new ArrayList<>();
+            for (int posicao = 0; posicao < faixa; posicao++) {
+                if (quantidade[posicao] > 0) {
+                    int mes = posicao == 0 ? MES_AUSENTE : posicao + deslocamento;
+                    resultado.add(new ResumoMensal(mes, quantidade[posicao], soma[posicao],
+                            minimo[posicao], maximo[posicao]));
+                }
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Arrays do snapshot. Apenas o escritor (sob {@code lock} ou durante a carga) altera;
+     * leitores enxergam as linhas até {@link #tamanho}, publicado por último.
+     */
+    private static final class Colunas {
+
+        final int capacidade;
+        final long[] id;
+        final int[] mes;
+        final byte[] status;
+        final int[] tipo;
+        final long[] simples;
+        final long[][] valores;
+        final long[][] presentes;
+        volatile int tamanho;
+
+        Colunas(int capacidade) {
+            int palavras = (capacidade + 63) >>> 6;
+            this.capacidade = capacidade;
+            this.id = new long[capacidade];
+            this.mes = new int[capacidade];
+            this.status = new byte[capacidade];
+            this.tipo = new int[capacidade];
+            this.simples = new long[palavras];
+            this.valores = new long[COLUNAS.length][capacidade];
+            this.presentes = new long[COLUNAS.length][palavras];
+        }
+
+        Colunas crescer() {
+            Colunas maior = new Colunas(capacidade * 2);
+            int n = tamanho;
+            System.arraycopy(id, 0, maior.id, 0, n);
+            System.arraycopy(mes, 0, maior.mes, 0, n);
+            System.arraycopy(status, 0, maior.status, 0, n);
+            System.arraycopy(tipo, 0, maior.tipo, 0, n);
+            System.arraycopy(simples, 0, maior.simples, 0, simples.length);
+            for (int coluna = 0; coluna < COLUNAS.length; coluna++) {
+                System.arraycopy(valores[coluna], 0, maior.valores[coluna], 0, n);
+                System.arraycopy(presentes[coluna], 0, maior.presentes[coluna], 0, presentes[coluna].length);
+            }
+            maior.tamanho = n;
+            return maior;
+        }
+    }
+
+    /**
+     * Colunas atuais, índice id → linha e dicionário de tipos de crédito (código 0 = sem tipo).
+     */
+    private static final class Estado {
+
+        volatile Colunas colunas;
+        final Map<Long, Integer> linhaPorId = new HashMap<>();
+        final Map<String, Integer> codigoTipo = new ConcurrentHashMap<>();
+
+        Estado(int capacidade) {
+            this.colunas = new Colunas(capacidade);
+        }
+
+        void registrar(LinhaColunar credito) {
+            Colunas atual = colunas;
+            Integer existente = linhaPorId.get(credito.id());
+            int linha;
+            if (existente != null) {
+                linha = existente;
+            } else {
+                linha = atual.tamanho;
+                if (linha == atual.capacidade) {
+                    atual = atual.crescer();
+                    colunas = atual;
+                }
+                linhaPorId.put(credito.id(), linha);
+            }
+
+            atual.id[linha] = credito.id();
+            atual.mes[linha] = mes(credito.dataConstituicao());
+            atual.status[linha] = (byte) (credito.status() != null ? credito.status().ordinal() + 1 : 0);
+            atual.tipo[linha] = credito.tipoCredito() != null
+                    ? codigoTipo.computeIfAbsent(credito.tipoCredito(), tipo -> codigoTipo.size() + 1)
+                    : 0;
+            bit(atual.simples, linha, credito.simplesNacional());
+            for (CreditoColunaNumerica coluna : COLUNAS) {
+                BigDecimal valor = credito.valor(coluna);
+                atual.valores[coluna.ordinal()][linha] = valor != null ? centesimos(valor) : 0L;
+                bit(atual.presentes[coluna.ordinal()], linha, valor != null);
+            }
+
+            if (existente == null) {
+                atual.tamanho = linha + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.searchcredit.infrastructure.analytics;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+
+/**
+ * Filtro aplicado durante a varredura do snapshot. Campos nulos não filtram.
+ */
+public record FiltroColunar(StatusCredito status, String tipoCredito, Boolean simplesNacional) {
+
+    public static final FiltroColunar TODOS = new FiltroColunar(null, null, null);
+}
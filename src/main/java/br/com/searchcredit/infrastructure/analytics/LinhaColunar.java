@@ -0,0 +1,47 @@
+package br.com.searchcredit.infrastructure.analytics;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoColunaNumerica;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Campos de um crédito que entram no snapshot colunar.
+ */
+record LinhaColunar(
+        long id,
+        LocalDate dataConstituicao,
+        StatusCredito status,
+        String tipoCredito,
+        boolean simplesNacional,
+        BigDecimal valorIssqn,
+        BigDecimal valorFaturado,
+        BigDecimal valorDeducao,
+        BigDecimal baseCalculo,
+        BigDecimal aliquota) {
+
+    static LinhaColunar of(Credito credito) {
+        return new LinhaColunar(credito.getId(), credito.getDataConstituicao(), credito.getStatus(),
+                credito.getTipoCredito(), credito.isSimplesNacional(), credito.getValorIssqn(),
+                credito.getValorFaturado(), credito.getValorDeducao(), credito.getBaseCalculo(), credito.getAliquota());
+    }
+
+    static LinhaColunar of(CreditoExportView credito) {
+        return new LinhaColunar(credito.id(), credito.dataConstituicao(), credito.status(),
+                credito.tipoCredito(), credito.isSimplesNacional(), credito.valorIssqn(),
+                credito.valorFaturado(), credito.valorDeducao(), credito.baseCalculo(), credito.aliquota());
+    }
+
+    BigDecimal valor(CreditoColunaNumerica coluna) {
+        return switch (coluna) {
+            case VALOR_ISSQN -> valorIssqn;
+            case VALOR_FATURADO -> valorFaturado;
+            case VALOR_DEDUCAO -> valorDeducao;
+            case BASE_CALCULO -> baseCalculo;
+            case ALIQUOTA -> aliquota;
+        };
+    }
+}
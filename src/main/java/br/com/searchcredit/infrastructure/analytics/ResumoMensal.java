@@ -0,0 +1,13 @@
+package br.com.searchcredit.infrastructure.analytics;
+
+/**
+ * Agregado de uma coluna num mês de constituição; valores em centésimos.
+ * {@code mes} é o número de meses desde o ano zero ({@code ano * 12 + mes - 1}).
+ */
+public record ResumoMensal(int mes, long quantidade, long soma, long minimo, long maximo) {
+
+    ResumoMensal combinar(ResumoMensal outro) {
+        return new ResumoMensal(mes, quantidade + outro.quantidade, soma + outro.soma,
+                Math.min(minimo, outro.minimo), Math.max(maximo, outro.maximo));
+    }
+}
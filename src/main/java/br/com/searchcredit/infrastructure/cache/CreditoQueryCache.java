@@ -0,0 +1,237 @@
+package br.com.searchcredit.infrastructure.cache;
+
+import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.application.service.CreditoConsultaCondicional;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache local (in-process) das consultas públicas de crédito.
+ *
+ * Guarda a resposta já serializada (bytes UTF-8 do JSON, com o ETag) das consultas
+ * por número de crédito e por NFS-e, para que leituras repetidas sejam escritas
+ * direto na saída sem montar DTO nem serializar. Esses caches são limitados pelo
+ * total de bytes e por TTL. Listas vazias de NFS-e também são armazenadas (cache
+ * negativo), com TTL mais curto, para absorver o polling de notas que ainda não existem.
+ *
+ * A consulta em lote usa um cache à parte com o {@link CreditoQueryResponseDto} já
+ * montado por número de crédito, limitado por tamanho e por TTL.
+ *
+ * Os fluxos que criam ou alteram um crédito devem chamar {@link #invalidate(Credito)}
+ * para que a próxima leitura volte ao banco.
+ *
+ * Enquanto a janela do {@link ReadYourWritesGuard} está aberta, o que os loaders
+ * carregam é devolvido sem ser guardado: uma leitura iniciada numa réplica ainda
+ * atrasada não pode fixar no cache o estado anterior à escrita.
+ *
+ * Métricas (hits, misses, evictions) publicadas via Micrometer com os nomes
+ * de cache "credito.numeroCredito", "credito.json.numeroCredito" e "credito.json.numeroNfse".
+ */
+@Slf4j
+@Component
+public class CreditoQueryCache {
+
+    static final String CACHE_NUMERO_CREDITO = "credito.numeroCredito";
+    static final String CACHE_JSON_NUMERO_CREDITO = "credito.json.numeroCredito";
+    static final String CACHE_JSON_NUMERO_NFSE = "credito.json.numeroNfse";
+
+    private final Cache<String, CreditoQueryResponseDto> porNumeroCredito;
+    private final Cache<String, CreditoConsultaCondicional<byte[]>> jsonPorNumeroCredito;
+    private final Cache<String, CreditoConsultaCondicional<byte[]>> jsonPorNumeroNfse;
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public CreditoQueryCache(
+            @Value("${credito.cache.numero-credito.maximum-size:10000}") long maximumSize,
+            @Value("${credito.cache.numero-credito.ttl-seconds:300}") long ttlSeconds,
+            @Value("${credito.cache.numero-nfse.ttl-seconds:300}") long nfseTtlSeconds,
+            @Value("${credito.cache.numero-nfse.empty-ttl-seconds:10}") long nfseEmptyTtlSeconds,
+            @Value("${credito.cache.json.maximum-weight-bytes:33554432}") long jsonMaximumWeightBytes,
+            ReadYourWritesGuard readYourWritesGuard,
+            MeterRegistry meterRegistry) {
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.porNumeroCredito = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        this.jsonPorNumeroCredito = Caffeine.newBuilder()
+                .maximumWeight(jsonMaximumWeightBytes)
+                .weigher(CreditoQueryCache::pesoJson)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        this.jsonPorNumeroNfse = Caffeine.newBuilder()
+                .maximumWeight(jsonMaximumWeightBytes)
+                .weigher(CreditoQueryCache::pesoJson)
+                .expireAfter(new JsonNfseExpiry(
+                        Duration.ofSeconds(nfseTtlSeconds).toNanos(),
+                        Duration.ofSeconds(nfseEmptyTtlSeconds).toNanos()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, porNumeroCredito, CACHE_NUMERO_CREDITO);
+        CaffeineCacheMetrics.monitor(meterRegistry, jsonPorNumeroCredito, CACHE_JSON_NUMERO_CREDITO);
+        CaffeineCacheMetrics.monitor(meterRegistry, jsonPorNumeroNfse, CACHE_JSON_NUMERO_NFSE);
+    }
+
+    /**
+     * Retorna os créditos do cache, carregando os números ausentes numa única chamada
+     * ao loader. O mapa retornado contém apenas os números encontrados, e somente eles
+     * são armazenados.
+     */
+    public Map<String, CreditoQueryResponseDto> getAllByNumeroCredito(
+            Collection<String> numerosCredito,
+            Function<Set<? extends String>, Map<String, CreditoQueryResponseDto>> loader) {
+        if (readYourWritesGuard.exigePrimaria()) {
+            Map<String, CreditoQueryResponseDto> encontrados = new HashMap<>(porNumeroCredito.getAllPresent(numerosCredito));
+            Set<String> ausentes = new HashSet<>(numerosCredito);
+            ausentes.removeAll(encontrados.keySet());
+            if (!ausentes.isEmpty()) {
+                encontrados.putAll(loader.apply(ausentes));
+            }
+            return encontrados;
+        }
+        Map<String, CreditoQueryResponseDto> resultado = porNumeroCredito.getAll(numerosCredito, loader);
+        descartarSeJanelaAbriu(porNumeroCredito, resultado.keySet());
+        return resultado;
+    }
+
+    /**
+     * Retorna o JSON serializado do crédito (com sua versão) do cache ou o carrega através
+     * do loader informado. Apenas créditos encontrados são armazenados. O array retornado
+     * é compartilhado entre leituras e não deve ser alterado.
+     */
+    public Optional<CreditoConsultaCondicional<byte[]>> getJsonByNumeroCredito(
+            String numeroCredito,
+            Function<String, Optional<CreditoConsultaCondicional<byte[]>>> loader) {
+        if (numeroCredito == null) {
+            return loader.apply(null);
+        }
+        if (readYourWritesGuard.exigePrimaria()) {
+            CreditoConsultaCondicional<byte[]> emCache = jsonPorNumeroCredito.getIfPresent(numeroCredito);
+            return emCache != null ? Optional.of(emCache) : loader.apply(numeroCredito);
+        }
+        CreditoConsultaCondicional<byte[]> resposta =
+                jsonPorNumeroCredito.get(numeroCredito, key -> loader.apply(key).orElse(null));
+        descartarSeJanelaAbriu(jsonPorNumeroCredito, Set.of(numeroCredito));
+        return Optional.ofNullable(resposta);
+    }
+
+    /**
+     * Retorna o JSON serializado da lista de créditos da NFS-e do cache ou o carrega através
+     * do loader informado. Listas vazias (sem versão) ficam armazenadas com TTL reduzido.
+     */
+    public CreditoConsultaCondicional<byte[]> getJsonByNumeroNfse(
+            String numeroNfse,
+            Function<String, CreditoConsultaCondicional<byte[]>> loader) {
+        if (numeroNfse == null) {
+            return loader.apply(null);
+        }
+        if (readYourWritesGuard.exigePrimaria()) {
+            CreditoConsultaCondicional<byte[]> emCache = jsonPorNumeroNfse.getIfPresent(numeroNfse);
+            return emCache != null ? emCache : loader.apply(numeroNfse);
+        }
+        CreditoConsultaCondicional<byte[]> resposta = jsonPorNumeroNfse.get(numeroNfse, loader);
+        descartarSeJanelaAbriu(jsonPorNumeroNfse, Set.of(numeroNfse));
+        return resposta;
+    }
+
+    /**
+     * Remove as entradas relacionadas ao crédito (por número de crédito e por NFS-e).
+     * Quando chamado dentro de uma transação, a remoção é repetida após o commit para
+     * evitar que uma leitura concorrente recoloque no cache o estado anterior.
+     */
+    public void invalidate(Credito credito) {
+        if (credito == null) {
+            return;
+        }
+        String numeroCredito = credito.getNumeroCredito();
+        String numeroNfse = credito.getNumeroNfse();
+        evict(numeroCredito, numeroNfse);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(numeroCredito, numeroNfse);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        porNumeroCredito.invalidateAll();
+        jsonPorNumeroCredito.invalidateAll();
+        jsonPorNumeroNfse.invalidateAll();
+    }
+
+    /**
+     * Uma escrita confirmada durante a carga pode ter sido lida antes na réplica; o valor
+     * já devolvido ao chamador não é mantido no cache.
+     */
+    private <V> void descartarSeJanelaAbriu(Cache<String, V> cache, Set<String> chaves) {
+        if (!chaves.isEmpty() && readYourWritesGuard.exigePrimaria()) {
+            cache.invalidateAll(chaves);
+        }
+    }
+
+    private void evict(String numeroCredito, String numeroNfse) {
+        if (numeroCredito != null) {
+            porNumeroCredito.invalidate(numeroCredito);
+            jsonPorNumeroCredito.invalidate(numeroCredito);
+        }
+        if (numeroNfse != null) {
+            jsonPorNumeroNfse.invalidate(numeroNfse);
+        }
+        log.debug("Cache de consulta invalidado. numeroCredito={}, numeroNfse={}", numeroCredito, numeroNfse);
+    }
+
+    private static int pesoJson(String chave, CreditoConsultaCondicional<byte[]> resposta) {
+        return chave.length() + resposta.corpo().length;
+    }
+
+    /**
+     * TTL por entrada: listas vazias (NFS-e ainda inexistente, sem versão) expiram antes.
+     */
+    private record JsonNfseExpiry(long ttlNanos, long emptyTtlNanos)
+            implements Expiry<String, CreditoConsultaCondicional<byte[]>> {
+
+        @Override
+        public long expireAfterCreate(String numeroNfse, CreditoConsultaCondicional<byte[]> resposta, long currentTime) {
+            return resposta.versao() == null ? emptyTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String numeroNfse, CreditoConsultaCondicional<byte[]> resposta,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(numeroNfse, resposta, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String numeroNfse, CreditoConsultaCondicional<byte[]> resposta,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.searchcredit.infrastructure.config;
 
+import br.com.searchcredit.application.service.CreditoEstatisticaService;
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
@@ -22,6 +23,7 @@ import java.util.Random;
 public class DataSeederConfig implements CommandLineRunner {
 
     private final CreditoRepository repository;
+    private final CreditoEstatisticaService estatisticaService;
     private final Random random = new Random();
 
     @Override
@@ -33,6 +35,7 @@ public class DataSeederConfig implements CommandLineRunner {
                 repository.save(credito);
             }
             log.info("Seed concluído: {} créditos inseridos", creditos.size());
+            estatisticaService.recalcular();
         } else {
             log.info("Banco de dados já contém dados. Seed não será executado.");
         }
@@ -0,0 +1,177 @@
+package br.com.searchcredit.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource das leituras read-only: distribui as conexões entre as réplicas em
+ * round-robin, pulando as marcadas como indisponíveis, e cai para a primária quando
+ * nenhuma réplica atende ou quando o {@link ReadYourWritesGuard} exige a primária.
+ *
+ * Uma réplica é marcada indisponível quando falha ao entregar conexão e volta ao
+ * rodízio quando a verificação periódica ({@link #verificarSaude()}) a encontra válida.
+ *
+ * Métricas: gauge "credito.datasource.replica.available" (1/0, por réplica) e contador
+ * "credito.datasource.read.connections" com a tag destino (replica/primaria).
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final int HEALTH_CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primaria;
+    private final List<Replica> replicas;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Counter conexoesReplica;
+    private final Counter conexoesPrimaria;
+
+    private ScheduledExecutorService verificador;
+
+    public ReadReplicaDataSource(
+            DataSource primaria,
+            List<Replica> replicas,
+            ReadYourWritesGuard readYourWritesGuard,
+            MeterRegistry meterRegistry) {
+        this.primaria = primaria;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.conexoesReplica = Counter.builder("credito.datasource.read.connections")
+                .tag("destino", "replica")
+                .register(meterRegistry);
+        this.conexoesPrimaria = Counter.builder("credito.datasource.read.connections")
+                .tag("destino", "primaria")
+                .register(meterRegistry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("credito.datasource.replica.available", replica, r -> r.disponivel ? 1 : 0)
+                    .tag("replica", replica.nome())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return rotear(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return rotear(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Inicia a verificação periódica de saúde das réplicas.
+     */
+    public void iniciarVerificacao(long intervaloMillis) {
+        if (replicas.isEmpty() || intervaloMillis <= 0) {
+            return;
+        }
+        verificador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "credito-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        verificador.scheduleWithFixedDelay(this::verificarSaude, intervaloMillis, intervaloMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Testa uma conexão de cada réplica e atualiza sua disponibilidade.
+     */
+    public void verificarSaude() {
+        for (Replica replica : replicas) {
+            boolean valida;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                valida = connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException e) {
+                valida = false;
+            }
+            if (valida != replica.disponivel) {
+                log.info("Réplica {} {}", replica.nome(), valida ? "disponível novamente" : "indisponível");
+            }
+            replica.disponivel = valida;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (verificador != null) {
+            verificador.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao fechar pool da réplica {}", replica.nome(), e);
+                }
+            }
+        }
+    }
+
+    private Connection rotear(ConnectionSupplier supplier) throws SQLException {
+        if (!replicas.isEmpty() && !readYourWritesGuard.exigePrimaria()) {
+            int total = replicas.size();
+            int inicio = Math.floorMod(proxima.getAndIncrement(), total);
+            for (int i = 0; i < total; i++) {
+                Replica replica = replicas.get((inicio + i) % total);
+                if (!replica.disponivel) {
+                    continue;
+                }
+                try {
+                    Connection connection = supplier.get(replica.dataSource());
+                    conexoesReplica.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.disponivel = false;
+                    log.warn("Réplica {} indisponível, tentando a próxima. erro={}", replica.nome(), e.getMessage());
+                }
+            }
+        }
+        conexoesPrimaria.increment();
+        return supplier.get(primaria);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Réplica de leitura com seu estado de disponibilidade.
+     */
+    public static final class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel = true;
+
+        public Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        public String nome() {
+            return nome;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean disponivel() {
+            return disponivel;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.searchcredit.infrastructure.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Proteção opcional de read-your-writes para o roteamento de leituras em réplicas.
+ *
+ * Depois de uma escrita confirmada (criação ou alteração de crédito), as leituras
+ * read-only ficam na primária durante a janela configurada em
+ * {@code credito.datasource.read-your-writes-window-ms}, dando tempo para as réplicas
+ * aplicarem o WAL. Enquanto a janela está aberta, o {@code CreditoQueryCache} também
+ * não guarda o que carrega. A janela é global (não por cliente): o custo
+ * é mandar mais leituras para a primária em rajadas de escrita. Com janela 0 (padrão)
+ * a proteção fica desligada.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    private final long janelaNanos;
+    private volatile long ultimaEscritaNanos;
+    private volatile boolean houveEscrita;
+
+    public ReadYourWritesGuard(@Value("${credito.datasource.read-your-writes-window-ms:0}") long janelaMillis) {
+        this.janelaNanos = Duration.ofMillis(Math.max(0, janelaMillis)).toNanos();
+    }
+
+    /**
+     * Registra uma escrita. Dentro de uma transação, a janela começa no commit, antes
+     * das demais sincronizações (como a invalidação do cache): uma leitura que comece
+     * depois da invalidação já encontra a janela aberta.
+     */
+    public void registrarEscrita() {
+        if (janelaNanos == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    marcar();
+                }
+            });
+            return;
+        }
+        marcar();
+    }
+
+    /**
+     * Indica se as leituras devem continuar na primária por causa de uma escrita recente.
+     */
+    public boolean exigePrimaria() {
+        return houveEscrita && System.nanoTime() - ultimaEscritaNanos < janelaNanos;
+    }
+
+    private void marcar() {
+        ultimaEscritaNanos = System.nanoTime();
+        houveEscrita = true;
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.searchcredit.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roteamento de leituras para réplicas, ativado quando {@code credito.datasource.replicas.urls}
+ * é informado (lista separada por vírgula). Sem réplicas, o DataSource padrão do Spring Boot
+ * continua sendo usado.
+ *
+ * O DataSource exposto é um {@link LazyConnectionDataSourceProxy}: a conexão física só é obtida
+ * no primeiro comando, quando já se sabe se a transação é read-only. Transações
+ * {@code @Transactional(readOnly = true)} (incluindo os métodos de consulta dos repositórios
+ * Spring Data) vão para o {@link ReadReplicaDataSource}; escritas, consumidores Kafka e código
+ * fora de transação ficam na primária.
+ *
+ * Os pools das réplicas esperam por conexão só {@code credito.datasource.replicas.connection-timeout-ms}
+ * (1 s por padrão, contra os 30 s do Hikari): com uma réplica saturada ou fora do ar, a
+ * leitura cai logo para a próxima réplica ou para a primária, em vez de segurar a requisição.
+ */
+@Configuration
+@ConditionalOnExpression("!'${credito.datasource.replicas.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("credito-primaria");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicaDataSource readReplicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWritesGuard readYourWritesGuard,
+            MeterRegistry meterRegistry,
+            @Value("${credito.datasource.replicas.urls}") List<String> urls,
+            @Value("${credito.datasource.replicas.username:}") String username,
+            @Value("${credito.datasource.replicas.password:}") String password,
+            @Value("${credito.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${credito.datasource.replicas.health-check-interval-ms:5000}") long healthCheckIntervalMs,
+            @Value("${credito.datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMs) {
+        if (connectionTimeoutMs < 250) {
+            throw new IllegalArgumentException(
+                    "credito.datasource.replicas.connection-timeout-ms deve ser de pelo menos 250 (mínimo do Hikari)");
+        }
+        List<ReadReplicaDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            String nome = "credito-replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(nome);
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            replica.setPassword(password.isBlank() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            // O Hikari exige validationTimeout <= connectionTimeout
+            replica.setValidationTimeout(
+                    Math.min(connectionTimeoutMs, ReadReplicaDataSource.HEALTH_CHECK_TIMEOUT_SECONDS * 1000L));
+            replica.setReadOnly(true);
+            // Réplica fora do ar na subida não deve impedir a aplicação de iniciar.
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReadReplicaDataSource.Replica(nome, replica));
+        }
+        ReadReplicaDataSource dataSource =
+                new ReadReplicaDataSource(primaryDataSource, replicas, readYourWritesGuard, meterRegistry);
+        dataSource.iniciarVerificacao(healthCheckIntervalMs);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(readReplicaDataSource);
+        return proxy;
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.searchcredit.infrastructure.kafka;
+
+import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregação em memória das consultas antes da publicação no Kafka.
+ *
+ * Cada consulta apenas incrementa o contador da chave (criterio, valor). A cada
+ * {@code flush-interval-seconds}, ou antes disso quando o número de chaves distintas
+ * atinge {@code max-keys}, as
+ * contagens viram um {@link ConsultaCreditoEvent} por chave (com {@code quantidade}
+ * e janela) e são entregues ao {@link ConsultaCreditoEventDispatcher}.
+ *
+ * Em picos de um mesmo crawler, milhares de consultas à mesma chave geram um
+ * único evento por janela, preservando a informação de chaves mais consultadas.
+ * O incremento e a retirada da chave no flush são atômicos no mapa
+ * ({@code computeIfPresent}): uma consulta concorrente ao flush entra nesta janela
+ * ou na seguinte, nunca se perde.
+ *
+ * Encerra depois do servidor web ({@link #PHASE}), para que as consultas ainda em
+ * andamento no desligamento gracioso entrem no último flush.
+ */
+@Slf4j
+@Component
+public class ConsultaCreditoAggregator implements SmartLifecycle {
+
+    /**
+     * Abaixo do desligamento gracioso e da parada do servidor web
+     * ({@code SmartLifecycle.DEFAULT_PHASE - 2048}): inicia antes e encerra depois deles.
+     */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    record Chave(String criterio, String valor) {
+    }
+
+    private final ConsultaCreditoEventDispatcher dispatcher;
+    private final long flushIntervalSeconds;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<Chave, LongAdder> contadores = new ConcurrentHashMap<>();
+    private final AtomicInteger chavesDistintas = new AtomicInteger();
+    private final AtomicBoolean flushAgendado = new AtomicBoolean();
+
+    private volatile LocalDateTime inicioJanela = LocalDateTime.now();
+    private volatile ScheduledExecutorService executor;
+
+    public ConsultaCreditoAggregator(
+            ConsultaCreditoEventDispatcher dispatcher,
+            @Value("${credito.consulta-events.aggregation.flush-interval-seconds:10}") long flushIntervalSeconds,
+            @Value("${credito.consulta-events.aggregation.max-keys:5000}") int maxKeys,
+            MeterRegistry meterRegistry) {
+        if (flushIntervalSeconds <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException(
+                    "credito.consulta-events.aggregation: flush-interval-seconds e max-keys devem ser maiores que zero");
+        }
+        this.dispatcher = dispatcher;
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.maxKeys = maxKeys;
+
+        Gauge.builder("credito.consulta.aggregator.keys", chavesDistintas, AtomicInteger::get)
+                .description("Chaves (criterio, valor) distintas na janela de agregação atual")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra uma consulta. Não bloqueia e não acessa o Kafka.
+     */
+    public void record(String criterio, String valor) {
+        Chave chave = new Chave(criterio, valor);
+        while (contadores.computeIfPresent(chave, ConsultaCreditoAggregator::incrementar) == null) {
+            LongAdder novo = new LongAdder();
+            // Conta antes de publicar a chave: um flush antecipado pode removê-la logo em seguida.
+            novo.increment();
+            if (contadores.putIfAbsent(chave, novo) == null) {
+                if (chavesDistintas.incrementAndGet() >= maxKeys) {
+                    requestFlush();
+                }
+                return;
+            }
+            // Outra thread criou a chave; tenta de novo incrementar a existente
+        }
+    }
+
+    private static LongAdder incrementar(Chave chave, LongAdder contador) {
+        contador.increment();
+        return contador;
+    }
+
+    /**
+     * Registra uma consulta para cada valor informado, sob o mesmo critério.
+     */
+    public void recordAll(String criterio, Collection<String> valores) {
+        for (String valor : valores) {
+            record(criterio, valor);
+        }
+    }
+
+    /**
+     * Converte as contagens acumuladas em eventos e inicia uma nova janela.
+     *
+     * @return quantidade de eventos entregues ao dispatcher
+     */
+    synchronized int flush() {
+        flushAgendado.set(false);
+        LocalDateTime inicio = inicioJanela;
+        LocalDateTime fim = LocalDateTime.now();
+        inicioJanela = fim;
+
+        int eventos = 0;
+        long[] quantidadeRetirada = new long[1];
+        for (Chave chave : contadores.keySet()) {
+            quantidadeRetirada[0] = -1;
+            // Soma e remove sob o lock da chave: nenhum incremento acontece entre as duas coisas
+            contadores.computeIfPresent(chave, (k, contador) -> {
+                quantidadeRetirada[0] = contador.sum();
+                return null;
+            });
+            long quantidade = quantidadeRetirada[0];
+            if (quantidade < 0) {
+                continue;
+            }
+            chavesDistintas.decrementAndGet();
+            if (quantidade > 0) {
+                dispatcher.dispatch(new ConsultaCreditoEvent(chave.criterio(), chave.valor(), quantidade, inicio, fim));
+                eventos++;
+            }
+        }
+        if (eventos > 0) {
+            log.debug("Janela de consultas agregada. chaves={}, inicio={}, fim={}", eventos, inicio, fim);
+        }
+        return eventos;
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService scheduler = this.executor;
+        if (scheduler != null && flushAgendado.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    int distinctKeys() {
+        return chavesDistintas.get();
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consulta-credito-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        this.executor = scheduler;
+        log.info("Agregação de consultas iniciada. intervaloSegundos={}, maxChaves={}", flushIntervalSeconds, maxKeys);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = this.executor;
+        if (scheduler == null) {
+            return;
+        }
+        this.executor = null;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * Encerra depois do servidor web e antes do dispatcher, para que o último flush
+     * inclua as requisições drenadas e ainda seja publicado.
+     */
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
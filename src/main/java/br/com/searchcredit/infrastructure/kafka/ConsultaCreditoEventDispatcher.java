@@ -0,0 +1,276 @@
+package br.com.searchcredit.infrastructure.kafka;
+
+import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publicação assíncrona dos eventos de auditoria de consulta ({@link ConsultaCreditoEvent}).
+ *
+ * As threads de requisição apenas enfileiram o evento numa fila limitada e sem locks;
+ * uma thread de fundo esvazia a fila em lotes e os envia ao Kafka. Assim, uma consulta
+ * nunca espera pelo broker (por exemplo, quando o metadata está indisponível e o
+ * {@code KafkaTemplate.send} bloquearia por até {@code max.block.ms}).
+ *
+ * Com a fila cheia, aplica-se a {@link OverflowPolicy} configurada. No encerramento, a
+ * fila é esvaziada até {@code credito.consulta-events.shutdown-timeout-ms}; o que sobrar
+ * é descartado e contado. Um evento só conta como publicado quando o broker confirma o
+ * envio. Métricas: {@code credito.consulta.events.queue.size},
+ * {@code credito.consulta.events.dropped}, {@code credito.consulta.events.published} e
+ * {@code credito.consulta.events.failed}.
+ */
+@Slf4j
+@Component
+public class ConsultaCreditoEventDispatcher implements SmartLifecycle {
+
+    /**
+     * O que fazer com um evento quando a fila está cheia.
+     */
+    public enum OverflowPolicy {
+        /** Descarta o evento recebido. */
+        DROP_NEWEST,
+        /** Descarta o evento mais antigo da fila e enfileira o recebido. */
+        DROP_OLDEST,
+        /** Não enfileira; grava o evento no logger {@value #SPILL_LOGGER}, que pode ser direcionado a um arquivo. */
+        SPILL_TO_LOG
+    }
+
+    /**
+     * Fase do ciclo de vida: inicia antes e encerra depois do {@link ConsultaCreditoAggregator}.
+     */
+    static final int PHASE = ConsultaCreditoAggregator.PHASE - 1;
+
+    static final String SPILL_LOGGER = "br.com.searchcredit.consulta-spill";
+    private static final Logger spillLog = LoggerFactory.getLogger(SPILL_LOGGER);
+
+    private final KafkaEventPublisher kafkaEventPublisher;
+    private final ConcurrentLinkedQueue<ConsultaCreditoEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final long shutdownTimeoutMs;
+
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Counter shutdownDroppedCounter;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    private volatile ScheduledExecutorService executor;
+
+    public ConsultaCreditoEventDispatcher(
+            KafkaEventPublisher kafkaEventPublisher,
+            @Value("${credito.consulta-events.capacity:10000}") int capacity,
+            @Value("${credito.consulta-events.batch-size:500}") int batchSize,
+            @Value("${credito.consulta-events.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${credito.consulta-events.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+            @Value("${credito.consulta-events.shutdown-timeout-ms:5000}") long shutdownTimeoutMs,
+            MeterRegistry meterRegistry) {
+        if (capacity <= 0 || batchSize <= 0 || flushIntervalMs <= 0 || shutdownTimeoutMs <= 0) {
+            throw new IllegalArgumentException("credito.consulta-events: capacity, batch-size, flush-interval-ms "
+                    + "e shutdown-timeout-ms devem ser maiores que zero");
+        }
+        this.kafkaEventPublisher = kafkaEventPublisher;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("credito.consulta.events.queue.size", queueSize, AtomicInteger::get)
+                .description("Eventos de consulta aguardando publicação")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("credito.consulta.events.dropped")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("credito.consulta.events.dropped")
+                .tag("reason", "spilled_to_log")
+                .register(meterRegistry);
+        this.shutdownDroppedCounter = Counter.builder("credito.consulta.events.dropped")
+                .tag("reason", "shutdown_timeout")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("credito.consulta.events.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("credito.consulta.events.failed").register(meterRegistry);
+    }
+
+    /**
+     * Enfileira o evento para publicação em segundo plano. Nunca bloqueia nem lança exceção.
+     *
+     * @return true se o evento foi enfileirado
+     */
+    public boolean dispatch(ConsultaCreditoEvent event) {
+        if (event == null) {
+            return false;
+        }
+        if (tryReserveSlot()) {
+            queue.offer(event);
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                if (queue.poll() != null) {
+                    queueSize.decrementAndGet();
+                    droppedCounter.increment();
+                }
+                if (tryReserveSlot()) {
+                    queue.offer(event);
+                    return true;
+                }
+                droppedCounter.increment();
+            }
+            case SPILL_TO_LOG -> {
+                spillLog.info("{}", event);
+                spilledCounter.increment();
+            }
+            default -> droppedCounter.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Publica tudo o que está na fila, em lotes de até {@code batchSize} eventos.
+     * Falhas de envio, síncronas ou confirmadas depois pelo broker, são contadas e
+     * registradas, sem interromper o esvaziamento.
+     *
+     * @return quantidade de eventos retirados da fila
+     */
+    int drain() {
+        return drain(Long.MAX_VALUE);
+    }
+
+    /**
+     * Como {@link #drain()}, mas não inicia um novo lote depois de {@code prazoNanos}
+     * (referência {@link System#nanoTime()}).
+     */
+    int drain(long prazoNanos) {
+        int total = 0;
+        while (System.nanoTime() - prazoNanos < 0) {
+            List<ConsultaCreditoEvent> batch = new ArrayList<>(Math.min(batchSize, queueSize.get()));
+            ConsultaCreditoEvent event;
+            while (batch.size() < batchSize && (event = queue.poll()) != null) {
+                queueSize.decrementAndGet();
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return total;
+            }
+            try {
+                kafkaEventPublisher.publishConsultaCreditoBatch(batch)
+                        .forEach(envio -> envio.whenComplete(this::registrarEnvio));
+            } catch (Exception e) {
+                failedCounter.increment(batch.size());
+                log.warn("Falha ao publicar lote de {} eventos de consulta: {}", batch.size(), e.getMessage());
+            }
+            total += batch.size();
+        }
+        return total;
+    }
+
+    private void registrarEnvio(Object resultado, Throwable falha) {
+        if (falha == null) {
+            publishedCounter.increment();
+            return;
+        }
+        // Com o broker fora, cada evento do lote falha; o contador é o sinal, o log fica em debug
+        failedCounter.increment();
+        log.debug("Falha ao publicar evento de consulta: {}", falha.getMessage());
+    }
+
+    /**
+     * Descarta o que restou na fila, contando como {@code shutdown_timeout}.
+     *
+     * @return quantidade de eventos descartados
+     */
+    private int descartarRestantes() {
+        int descartados = 0;
+        while (queue.poll() != null) {
+            queueSize.decrementAndGet();
+            descartados++;
+        }
+        shutdownDroppedCounter.increment(descartados);
+        return descartados;
+    }
+
+    int queueSize() {
+        return queueSize.get();
+    }
+
+    private boolean tryReserveSlot() {
+        int current;
+        do {
+            current = queueSize.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!queueSize.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consulta-credito-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        this.executor = scheduler;
+        log.info("Publicação assíncrona de eventos de consulta iniciada. capacidade={}, lote={}, intervaloMs={}, politica={}",
+                capacity, batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = this.executor;
+        if (scheduler == null) {
+            return;
+        }
+        this.executor = null;
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(prazo - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int enviados = drain(prazo);
+        int descartados = descartarRestantes();
+        if (descartados > 0) {
+            log.warn("Prazo de encerramento ({} ms) esgotado; {} eventos de consulta descartados",
+                    shutdownTimeoutMs, descartados);
+        }
+        log.info("Publicação assíncrona de eventos de consulta encerrada. eventosEnviadosNoEncerramento={}, descartados={}",
+                enviados, descartados);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -1,9 +1,6 @@
 package br.com.searchcredit.infrastructure.kafka;
 
 import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.CreditoAnalisadoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoAnalisadaEvent;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -38,49 +35,23 @@ public class KafkaConfig {
         return new KafkaTemplate<>(consultaProducerFactory());
     }
 
+    /**
+     * Produtor do {@link br.com.searchcredit.infrastructure.kafka.outbox.OutboxRelay}: o payload
+     * já está em JSON no outbox e é enviado como está.
+     */
     @Bean
-    public ProducerFactory<String, SolicitacaoCreditoEvent> solicitacaoProducerFactory() {
+    public ProducerFactory<String, String> outboxProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-
-    @Bean
-    public KafkaTemplate<String, SolicitacaoCreditoEvent> solicitacaoKafkaTemplate() {
-        return new KafkaTemplate<>(solicitacaoProducerFactory());
-    }
-
-    @Bean
-    public ProducerFactory<String, SolicitacaoCreditoAnalisadaEvent> analiseProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, SolicitacaoCreditoAnalisadaEvent> analiseKafkaTemplate() {
-        return new KafkaTemplate<>(analiseProducerFactory());
-    }
-
-    @Bean
-    public ProducerFactory<String, CreditoAnalisadoEvent> creditoAnalisadoProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-
-    @Bean
-    public KafkaTemplate<String, CreditoAnalisadoEvent> creditoAnalisadoKafkaTemplate() {
-        return new KafkaTemplate<>(creditoAnalisadoProducerFactory());
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
     }
 }
-
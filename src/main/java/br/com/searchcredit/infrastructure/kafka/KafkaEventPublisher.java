@@ -1,35 +1,30 @@
 package br.com.searchcredit.infrastructure.kafka;
 
-import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.CreditoAnalisadoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
-import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoAnalisadaEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envio direto dos eventos de consulta. Eventos ligados a alterações de crédito passam
+ * pelo {@link br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher}.
+ */
 @Component
 public class KafkaEventPublisher {
     private static final Logger logger = LoggerFactory.getLogger(KafkaEventPublisher.class);
-    private static final String TOPIC_CONSULTA = "consulta-creditos-topic";
-    private static final String TOPIC_SOLICITACAO = "solicitacao-creditos-topic";
+    public static final String TOPIC_CONSULTA = "consulta-creditos-topic";
+    public static final String TOPIC_SOLICITACAO = "solicitacao-creditos-topic";
 
     private final KafkaTemplate<String, ConsultaCreditoEvent> consultaKafkaTemplate;
-    private final KafkaTemplate<String, SolicitacaoCreditoEvent> solicitacaoKafkaTemplate;
-    private final KafkaTemplate<String, SolicitacaoCreditoAnalisadaEvent> analiseKafkaTemplate;
-    private final KafkaTemplate<String, CreditoAnalisadoEvent> creditoAnalisadoKafkaTemplate;
 
-    public KafkaEventPublisher(
-            KafkaTemplate<String, ConsultaCreditoEvent> consultaKafkaTemplate,
-            KafkaTemplate<String, SolicitacaoCreditoEvent> solicitacaoKafkaTemplate,
-            KafkaTemplate<String, SolicitacaoCreditoAnalisadaEvent> analiseKafkaTemplate,
-            KafkaTemplate<String, CreditoAnalisadoEvent> creditoAnalisadoKafkaTemplate) {
+    public KafkaEventPublisher(KafkaTemplate<String, ConsultaCreditoEvent> consultaKafkaTemplate) {
         this.consultaKafkaTemplate = consultaKafkaTemplate;
-        this.solicitacaoKafkaTemplate = solicitacaoKafkaTemplate;
-        this.analiseKafkaTemplate = analiseKafkaTemplate;
-        this.creditoAnalisadoKafkaTemplate = creditoAnalisadoKafkaTemplate;
     }
 
     public void publishConsultaCredito(ConsultaCreditoEvent event) {
@@ -37,37 +32,19 @@ public class KafkaEventPublisher {
         logger.info("ConsultaCreditoEvent publicado para o tópico '{}': {}", TOPIC_CONSULTA, event);
     }
 
-    public void publishSolicitacaoCredito(SolicitacaoCreditoEvent event) {
-        solicitacaoKafkaTemplate.send(TOPIC_SOLICITACAO, event);
-        logger.info("SolicitacaoCreditoEvent publicado para o tópico '{}': {}", TOPIC_SOLICITACAO, event);
-    }
-
-    public void publishSolicitacaoAnalisada(SolicitacaoCreditoAnalisadaEvent event) {
-        analiseKafkaTemplate.send(TOPIC_CONSULTA, event);
-        logger.info("SolicitacaoCreditoAnalisadaEvent publicado para o tópico '{}': {}", TOPIC_CONSULTA, event);
-    }
-
     /**
-     * Publica evento de crédito analisado (novo evento de domínio).
-     * 
-     * @param credito O crédito analisado
+     * Envia um lote de eventos de consulta. Usado pelo {@link ConsultaCreditoEventDispatcher},
+     * fora das threads de requisição.
+     *
+     * @return um future por evento, concluído com a confirmação (ou a falha) do broker
      */
-    public void publishCreditoAnalisado(Credito credito) {
-        if (credito == null) {
-            logger.warn("Tentativa de publicar evento CreditoAnalisadoEvent com crédito nulo");
-            return;
+    public List<CompletableFuture<SendResult<String, ConsultaCreditoEvent>>> publishConsultaCreditoBatch(
+            List<ConsultaCreditoEvent> events) {
+        List<CompletableFuture<SendResult<String, ConsultaCreditoEvent>>> envios = new ArrayList<>(events.size());
+        for (ConsultaCreditoEvent event : events) {
+            envios.add(consultaKafkaTemplate.send(TOPIC_CONSULTA, event));
         }
-
-        CreditoAnalisadoEvent event = new CreditoAnalisadoEvent(
-                credito.getId(),
-                credito.getNumeroCredito(),
-                credito.getNumeroNfse(),
-                credito.getStatus(),
-                credito.getDataAnalise(),
-                credito.getComentarioAnalise()
-        );
-
-        creditoAnalisadoKafkaTemplate.send(TOPIC_CONSULTA, event);
-        logger.info("CreditoAnalisadoEvent publicado para o tópico '{}': {}", TOPIC_CONSULTA, event);
+        logger.debug("{} ConsultaCreditoEvent enviados ao tópico '{}'", events.size(), TOPIC_CONSULTA);
+        return envios;
     }
 }
@@ -1,9 +1,13 @@
 package br.com.searchcredit.infrastructure.kafka.consumer;
 
+import br.com.searchcredit.application.service.CreditoEstatisticaService;
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.entity.CreditoAnaliseAutomatica;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
 import br.com.searchcredit.infrastructure.kafka.event.CreditoAnalisadoEvent;
 import br.com.searchcredit.infrastructure.repository.jpa.CreditoAnaliseAutomaticaJpaRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +26,24 @@ public class CreditoAnalisadoConsumer {
 
     private final CreditoRepository creditoRepository;
     private final CreditoAnaliseAutomaticaJpaRepository creditoAnaliseAutomaticaJpaRepository;
+    private final CreditoQueryCache creditoQueryCache;
+    private final CreditoEstatisticaService estatisticaService;
+    private final CreditoColumnarSnapshot analyticsSnapshot;
+    private final ReadYourWritesGuard readYourWritesGuard;
 
     public CreditoAnalisadoConsumer(
             CreditoRepository creditoRepository,
-            CreditoAnaliseAutomaticaJpaRepository creditoAnaliseAutomaticaJpaRepository) {
+            CreditoAnaliseAutomaticaJpaRepository creditoAnaliseAutomaticaJpaRepository,
+            CreditoQueryCache creditoQueryCache,
+            CreditoEstatisticaService estatisticaService,
+            CreditoColumnarSnapshot analyticsSnapshot,
+            ReadYourWritesGuard readYourWritesGuard) {
         this.creditoRepository = creditoRepository;
         this.creditoAnaliseAutomaticaJpaRepository = creditoAnaliseAutomaticaJpaRepository;
+        this.creditoQueryCache = creditoQueryCache;
+        this.estatisticaService = estatisticaService;
+        this.analyticsSnapshot = analyticsSnapshot;
+        this.readYourWritesGuard = readYourWritesGuard;
     }
 
     @Transactional
@@ -74,6 +90,10 @@ public class CreditoAnalisadoConsumer {
         credito.setDataAnalise(LocalDateTime.now());
 
         creditoRepository.save(credito);
+        creditoQueryCache.invalidate(credito);
+        estatisticaService.registrarMudancaStatus(credito, StatusCredito.EM_ANALISE);
+        analyticsSnapshot.registrar(credito);
+        readYourWritesGuard.registrarEscrita();
 
         creditoAnaliseAutomaticaJpaRepository.save(CreditoAnaliseAutomatica.builder()
                 .numeroCredito(numeroCredito)
@@ -5,6 +5,12 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+/**
+ * Evento de auditoria de consulta.
+ *
+ * Quando agregado, representa {@code quantidade} consultas pelo mesmo
+ * (tipoConsulta, valorConsulta) entre {@code inicioJanela} e {@code dataHora}.
+ */
 @Data
 @NoArgsConstructor
 public class ConsultaCreditoEvent {
@@ -12,16 +18,26 @@ public class ConsultaCreditoEvent {
     private String tipoConsulta;
     private String valorConsulta;
     private LocalDateTime dataHora;
+    private long quantidade = 1;
+    private LocalDateTime inicioJanela;
 
     public ConsultaCreditoEvent(String tipoConsulta, String valorConsulta, LocalDateTime dataHora) {
         this.tipoConsulta = tipoConsulta;
         this.valorConsulta = valorConsulta;
         this.dataHora = dataHora;
+        this.inicioJanela = dataHora;
     }
 
     public ConsultaCreditoEvent(String tipoConsulta, String valorConsulta) {
+        this(tipoConsulta, valorConsulta, LocalDateTime.now());
+    }
+
+    public ConsultaCreditoEvent(String tipoConsulta, String valorConsulta, long quantidade,
+                                LocalDateTime inicioJanela, LocalDateTime dataHora) {
         this.tipoConsulta = tipoConsulta;
         this.valorConsulta = valorConsulta;
-        this.dataHora = LocalDateTime.now();
+        this.quantidade = quantidade;
+        this.inicioJanela = inicioJanela;
+        this.dataHora = dataHora;
     }
 }
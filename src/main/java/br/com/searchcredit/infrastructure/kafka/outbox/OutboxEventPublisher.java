@@ -0,0 +1,106 @@
+package br.com.searchcredit.infrastructure.kafka.outbox;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.kafka.event.CreditoAnalisadoEvent;
+import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoAnalisadaEvent;
+import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Publicação transacional dos eventos de crédito: em vez de enviar ao Kafka, grava o
+ * evento na tabela {@code credito_outbox} na transação que altera o {@link Credito}.
+ * Se a transação for desfeita, o evento some junto; se for confirmada, o
+ * {@link OutboxRelay} o envia depois, ao menos uma vez e na ordem de gravação.
+ *
+ * Os métodos exigem uma transação ativa. O JSON é gerado com o mesmo ObjectMapper do
+ * {@code JsonSerializer} usado pelos produtores, de modo que a mensagem publicada é
+ * igual à que era enviada diretamente. A chave da mensagem é o número do crédito.
+ */
+@Slf4j
+@Component
+public class OutboxEventPublisher {
+
+    static final String INSERT_SQL =
+            "INSERT INTO credito_outbox (topico, chave, tipo, payload) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+
+    public OutboxEventPublisher(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishSolicitacaoCredito(SolicitacaoCreditoEvent event) {
+        registrar(KafkaEventPublisher.TOPIC_SOLICITACAO, event.getNumeroCredito(), event);
+    }
+
+    /**
+     * Grava os eventos de solicitação com um único JDBC batch. Usado pela criação em lote.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishSolicitacaoCreditoBatch(List<SolicitacaoCreditoEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, KafkaEventPublisher.TOPIC_SOLICITACAO);
+            ps.setString(2, event.getNumeroCredito());
+            ps.setString(3, SolicitacaoCreditoEvent.class.getSimpleName());
+            ps.setString(4, toJson(event));
+        });
+        log.debug("{} SolicitacaoCreditoEvent gravados no outbox", events.size());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishSolicitacaoAnalisada(SolicitacaoCreditoAnalisadaEvent event) {
+        registrar(KafkaEventPublisher.TOPIC_CONSULTA, event.getNumeroCredito(), event);
+    }
+
+    /**
+     * Grava o evento de crédito analisado (novo evento de domínio).
+     *
+     * @param credito O crédito analisado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishCreditoAnalisado(Credito credito) {
+        if (credito == null) {
+            log.warn("Tentativa de publicar evento CreditoAnalisadoEvent com crédito nulo");
+            return;
+        }
+
+        CreditoAnalisadoEvent event = new CreditoAnalisadoEvent(
+                credito.getId(),
+                credito.getNumeroCredito(),
+                credito.getNumeroNfse(),
+                credito.getStatus(),
+                credito.getDataAnalise(),
+                credito.getComentarioAnalise()
+        );
+        registrar(KafkaEventPublisher.TOPIC_CONSULTA, credito.getNumeroCredito(), event);
+    }
+
+    private void registrar(String topico, String chave, Object event) {
+        jdbcTemplate.update(INSERT_SQL, topico, chave, event.getClass().getSimpleName(), toJson(event));
+        log.debug("{} gravado no outbox para o tópico '{}': {}", event.getClass().getSimpleName(), topico, event);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package br.com.searchcredit.infrastructure.kafka.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envia ao Kafka os eventos gravados pelo {@link OutboxEventPublisher}.
+ *
+ * A cada ciclo, lê até {@code batch-size} linhas em ordem de id, envia todas, aguarda
+ * as confirmações com um único flush e apaga as enviadas, tudo na mesma transação.
+ *
+ * Com várias instâncias, só uma envia por vez: a transação do lote começa com
+ * {@code pg_try_advisory_xact_lock}, e quem não obtém o lock encerra o ciclo sem esperar
+ * (o lock é liberado no commit). Assim os eventos de uma mesma chave nunca saem
+ * intercalados entre instâncias, e a ordem do outbox é a ordem de publicação.
+ *
+ * Entrega ao menos uma vez: se um envio falhar, apenas os eventos anteriores a ele no
+ * lote são apagados e o restante volta no próximo ciclo, na mesma ordem.
+ *
+ * Métricas: {@code credito.outbox.pending} (eventos aguardando envio),
+ * {@code credito.outbox.lag.seconds} (idade do evento mais antigo pendente),
+ * {@code credito.outbox.published} e {@code credito.outbox.failed}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    /** Chave do advisory lock que elege a instância que envia ("credito" em ASCII). */
+    static final long LOCK_KEY = 0x6372656469746fL;
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+    static final String SELECT_LOTE_SQL =
+            "SELECT id, topico, chave, payload FROM credito_outbox ORDER BY id LIMIT ?";
+    static final String DELETE_SQL = "DELETE FROM credito_outbox WHERE id = ANY (?)";
+    static final String LAG_SQL =
+            "SELECT COUNT(*), COALESCE(EXTRACT(EPOCH FROM (CURRENT_TIMESTAMP - MIN(criado_em))), 0) FROM credito_outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long sendTimeoutMs;
+
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+
+    private volatile ScheduledExecutorService executor;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> outboxKafkaTemplate,
+            @Value("${credito.outbox.relay.enabled:true}") boolean enabled,
+            @Value("${credito.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${credito.outbox.relay.poll-interval-ms:200}") long pollIntervalMs,
+            @Value("${credito.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMs,
+            MeterRegistry meterRegistry) {
+        if (batchSize <= 0 || pollIntervalMs <= 0 || sendTimeoutMs <= 0) {
+            throw new IllegalArgumentException(
+                    "credito.outbox.relay: batch-size, poll-interval-ms e send-timeout-ms devem ser maiores que zero");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        Gauge.builder("credito.outbox.pending", pendentes, AtomicLong::get)
+                .description("Eventos no outbox aguardando envio ao Kafka")
+                .register(meterRegistry);
+        Gauge.builder("credito.outbox.lag.seconds", lagMillis, valor -> valor.get() / 1000.0)
+                .description("Idade do evento mais antigo ainda no outbox")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("credito.outbox.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("credito.outbox.failed").register(meterRegistry);
+    }
+
+    /**
+     * Envia lotes até o outbox esvaziar (ou até um lote falhar) e atualiza as métricas de atraso.
+     *
+     * @return quantidade de eventos enviados e apagados
+     */
+    int drain() {
+        int total = 0;
+        try {
+            int enviados;
+            do {
+                enviados = enviarLote();
+                total += enviados;
+            } while (enviados == batchSize);
+        } catch (Exception e) {
+            log.warn("Falha ao esvaziar o outbox: {}", e.getMessage());
+        }
+        atualizarAtraso();
+        return total;
+    }
+
+    /**
+     * Envia um lote numa transação.
+     *
+     * @return quantidade de eventos confirmados e apagados; menor que {@code batchSize}
+     *         quando o outbox esvaziou, um envio falhou ou outra instância está enviando
+     */
+    int enviarLote() {
+        Integer enviados = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, LOCK_KEY))) {
+                log.debug("Outra instância está enviando o outbox; ciclo ignorado");
+                return 0;
+            }
+            List<Registro> lote = jdbcTemplate.query(SELECT_LOTE_SQL,
+                    (rs, rowNum) -> new Registro(
+                            rs.getLong("id"), rs.getString("topico"), rs.getString("chave"), rs.getString("payload")),
+                    batchSize);
+            if (lote.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<SendResult<String, String>>> envios = new ArrayList<>(lote.size());
+            for (Registro registro : lote) {
+                envios.add(outboxKafkaTemplate.send(registro.topico(), registro.chave(), registro.payload()));
+            }
+            outboxKafkaTemplate.flush();
+
+            List<Long> confirmados = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size(); i++) {
+                try {
+                    envios.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    failedCounter.increment(lote.size() - i);
+                    log.warn("Falha ao enviar evento do outbox. id={}, topico={}; {} eventos voltam para o próximo ciclo",
+                            lote.get(i).id(), lote.get(i).topico(), lote.size() - i, e);
+                    break;
+                }
+                confirmados.add(lote.get(i).id());
+            }
+
+            apagar(confirmados);
+            publishedCounter.increment(confirmados.size());
+            return confirmados.size();
+        });
+        return enviados != null ? enviados : 0;
+    }
+
+    private void apagar(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(DELETE_SQL);
+            Array array = con.createArrayOf("bigint", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        });
+    }
+
+    private void atualizarAtraso() {
+        try {
+            jdbcTemplate.query(LAG_SQL, (RowCallbackHandler) rs -> {
+                pendentes.set(rs.getLong(1));
+                lagMillis.set(Math.round(rs.getDouble(2) * 1000));
+            });
+        } catch (Exception e) {
+            log.debug("Falha ao consultar atraso do outbox: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Relay do outbox desabilitado (credito.outbox.relay.enabled=false)");
+            return;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "credito-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        this.executor = scheduler;
+        log.info("Relay do outbox iniciado. lote={}, intervaloMs={}", batchSize, pollIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = this.executor;
+        if (scheduler == null) {
+            return;
+        }
+        this.executor = null;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Relay do outbox encerrado; eventos pendentes ficam para a próxima instância.");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private record Registro(long id, String topico, String chave, String payload) {
+    }
+}
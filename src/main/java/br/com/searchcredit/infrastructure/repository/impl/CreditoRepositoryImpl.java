@@ -1,24 +1,80 @@
 package br.com.searchcredit.infrastructure.repository.impl;
 
 import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoPrefixField;
+import br.com.searchcredit.domain.enums.CreditoSortField;
 import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
 import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.domain.repository.CreditoSearchCriteria;
+import br.com.searchcredit.infrastructure.repository.jpa.CreditoSpecifications;
 import br.com.searchcredit.infrastructure.repository.jpa.CreditoJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Repository
 public class CreditoRepositoryImpl implements CreditoRepository {
 
+    private static final String EXPORT_SELECT = "SELECT id, numero_credito, numero_nfse, data_constituicao, valor_issqn, "
+            + "tipo_credito, simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo, status, "
+            + "data_solicitacao, solicitado_por, aprovado_por, comentario_analise, data_analise FROM credito";
+
+    /**
+     * Quantidade máxima de valores por cláusula IN. Bem abaixo do limite de
+     * parâmetros do PostgreSQL e pequeno o bastante para manter o plano estável.
+     */
+    static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    /**
+     * SQLState do PostgreSQL para consulta cancelada por statement_timeout.
+     */
+    private static final String QUERY_CANCELED = "57014";
+
     private final CreditoJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
 
-    public CreditoRepositoryImpl(CreditoJpaRepository jpaRepository) {
+    public CreditoRepositoryImpl(CreditoJpaRepository jpaRepository, EntityManager entityManager,
+                                 JdbcTemplate jdbcTemplate) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
@@ -26,6 +82,25 @@ public class CreditoRepositoryImpl implements CreditoRepository {
         return jpaRepository.save(credito);
     }
 
+    @Override
+    @Transactional
+    public List<Credito> saveAll(List<Credito> creditos) {
+        List<Credito> salvos = jpaRepository.saveAll(creditos);
+        jpaRepository.flush();
+        return salvos;
+    }
+
+    @Override
+    public Set<String> findNumerosCreditoExistentes(Collection<String> numerosCredito) {
+        List<String> numeros = List.copyOf(numerosCredito);
+        Set<String> existentes = new HashSet<>();
+        for (int inicio = 0; inicio < numeros.size(); inicio += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> bloco = numeros.subList(inicio, Math.min(inicio + IN_CLAUSE_CHUNK_SIZE, numeros.size()));
+            existentes.addAll(jpaRepository.findNumerosCreditoIn(bloco));
+        }
+        return existentes;
+    }
+
     @Override
     public Optional<Credito> findByNumeroCredito(String numeroCredito) {
         return jpaRepository.findByNumeroCredito(numeroCredito);
@@ -36,11 +111,53 @@ public class CreditoRepositoryImpl implements CreditoRepository {
         return jpaRepository.findAllByNumeroNfse(numeroNfse);
     }
 
+    @Override
+    public Optional<CreditoQueryView> findQueryViewByNumeroCredito(String numeroCredito) {
+        return jpaRepository.findQueryViewByNumeroCredito(numeroCredito);
+    }
+
+    @Override
+    public List<CreditoQueryView> findQueryViewsByNumeroNfse(String numeroNfse) {
+        return jpaRepository.findQueryViewsByNumeroNfse(numeroNfse);
+    }
+
+    @Override
+    public Optional<CreditoVersionView> findVersionViewByNumeroCredito(String numeroCredito) {
+        return jpaRepository.findVersionViewByNumeroCredito(numeroCredito);
+    }
+
+    @Override
+    public List<CreditoVersionView> findVersionViewsByNumeroNfse(String numeroNfse) {
+        return jpaRepository.findVersionViewsByNumeroNfse(numeroNfse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CreditoQueryView> findQueryViewsByNumeroCreditoIn(Collection<String> numerosCredito) {
+        List<String> numeros = List.copyOf(numerosCredito);
+        if (numeros.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return numeros.isEmpty() ? List.of() : jpaRepository.findQueryViewsByNumeroCreditoIn(numeros);
+        }
+
+        List<CreditoQueryView> creditos = new ArrayList<>(numeros.size());
+        for (int inicio = 0; inicio < numeros.size(); inicio += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> bloco = numeros.subList(inicio, Math.min(inicio + IN_CLAUSE_CHUNK_SIZE, numeros.size()));
+            creditos.addAll(jpaRepository.findQueryViewsByNumeroCreditoIn(bloco));
+        }
+        return creditos;
+    }
+
+    @Override
+    public Page<CreditoListView> findListViews(Pageable pageable) {
+        return jpaRepository.findListViews(pageable);
+    }
+
     @Override
     public Page<Credito> findAll(Pageable pageable) {
         return jpaRepository.findAll(pageable);
     }
 
+    @Deprecated
     @Override
     public List<Credito> findByStatus(StatusCredito status) {
         return jpaRepository.findByStatus(status);
@@ -68,21 +185,230 @@ public class CreditoRepositoryImpl implements CreditoRepository {
 
     @Override
     public Page<Credito> findAll(int page, int size, String sortBy, String sortDir) {
-        org.springframework.data.domain.Sort sort = sortDir.equalsIgnoreCase("desc")
-                ? org.springframework.data.domain.Sort.by(sortBy).descending()
-                : org.springframework.data.domain.Sort.by(sortBy).ascending();
+        CreditoSortField sortField = CreditoSortField.fromAttribute(sortBy);
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, sortField.getAttribute(), "id");
         Pageable pageable = PageRequest.of(page, size, sort);
         return jpaRepository.findAll(pageable);
     }
 
     @Override
-    public List<Credito> findAllOrderByNumeroCreditoDesc() {
-        return jpaRepository.findAllOrderByNumeroCreditoDesc();
+    @Transactional(readOnly = true)
+    public Slice<CreditoListView> findSliceAfter(CreditoSortField sortField, Sort.Direction direction,
+                                                 Comparable<?> lastValue, Long lastId, int size) {
+        String attribute = sortField.getAttribute();
+        boolean desc = direction.isDescending();
+
+        // Busca um registro a mais apenas para saber se existe próxima fatia. Cada trecho é
+        // uma consulta de faixa sobre o índice (campo, id); os nulos formam um trecho à parte
+        // (no fim em ASC, no início em DESC, como na ordenação padrão do PostgreSQL).
+        List<CreditoListView> creditos = new ArrayList<>(size + 1);
+        for (KeysetTrecho trecho : trechosApos(desc, lastValue, lastId)) {
+            creditos.addAll(findTrecho(attribute, desc, trecho, lastValue, lastId, size + 1 - creditos.size()));
+            if (creditos.size() > size) {
+                break;
+            }
+        }
+
+        boolean hasNext = creditos.size() > size;
+        List<CreditoListView> content = hasNext ? creditos.subList(0, size) : creditos;
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(direction, attribute, "id")), hasNext);
     }
 
+    /**
+     * Trechos da ordenação (campo, id) que ainda faltam percorrer depois do cursor.
+     */
+    private enum KeysetTrecho {
+        /** Chaves não nulas a partir do início. */
+        CHAVES,
+        /** Chaves não nulas depois de (lastValue, lastId). */
+        CHAVES_APOS,
+        /** Chaves nulas a partir do início. */
+        NULOS,
+        /** Chaves nulas depois de lastId. */
+        NULOS_APOS
+    }
+
+    private static List<KeysetTrecho> trechosApos(boolean desc, Comparable<?> lastValue, Long lastId) {
+        if (lastId == null) {
+            return desc ? List.of(KeysetTrecho.NULOS, KeysetTrecho.CHAVES) : List.of(KeysetTrecho.CHAVES, KeysetTrecho.NULOS);
+        }
+        if (lastValue == null) {
+            return desc ? List.of(KeysetTrecho.NULOS_APOS, KeysetTrecho.CHAVES) : List.of(KeysetTrecho.NULOS_APOS);
+        }
+        return desc ? List.of(KeysetTrecho.CHAVES_APOS) : List.of(KeysetTrecho.CHAVES_APOS, KeysetTrecho.NULOS);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<CreditoListView> findTrecho(String attribute, boolean desc, KeysetTrecho trecho,
+                                             Comparable lastValue, Long lastId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CreditoListView> query = cb.createQuery(CreditoListView.class);
+        Root<Credito> root = query.from(Credito.class);
+        Path<Comparable> key = root.get(attribute);
+        Path<Long> id = root.get("id");
+
+        query.select(listViewSelection(cb, root));
+        query.where(switch (trecho) {
+            case CHAVES -> cb.isNotNull(key);
+            case CHAVES_APOS -> keysetAfter(cb, key, id, desc, lastValue, lastId);
+            case NULOS -> cb.isNull(key);
+            case NULOS_APOS -> cb.and(cb.isNull(key), after(cb, id, lastId, desc));
+        });
+        query.orderBy(desc ? cb.desc(key) : cb.asc(key), desc ? cb.desc(id) : cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+
     @Override
-    public List<Credito> findAllOrderByNumeroNfseDesc() {
-        return jpaRepository.findAllOrderByNumeroNfseDesc();
+    @Transactional(readOnly = true)
+    public Page<CreditoListView> search(CreditoSearchCriteria criteria, Pageable pageable) {
+        Specification<Credito> spec = CreditoSpecifications.fromCriteria(criteria);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CreditoListView> query = cb.createQuery(CreditoListView.class);
+        Root<Credito> root = query.from(Credito.class);
+        query.select(listViewSelection(cb, root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(pageable.getSort().stream()
+                .map(order -> order.isAscending()
+                        ? cb.asc(root.get(order.getProperty()))
+                        : cb.desc(root.get(order.getProperty())))
+                .toList());
+
+        List<CreditoListView> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // A contagem só é executada quando não dá para deduzir o total pela própria página
+        return PageableExecutionUtils.getPage(content, pageable, () -> jpaRepository.count(spec));
+    }
+
+    private static CompoundSelection<CreditoListView> listViewSelection(CriteriaBuilder cb, Root<Credito> root) {
+        return cb.construct(CreditoListView.class,
+                root.get("id"),
+                root.get("numeroCredito"),
+                root.get("numeroNfse"),
+                root.get("dataConstituicao"),
+                root.get("valorIssqn"),
+                root.get("tipoCredito"),
+                root.get("simplesNacional"),
+                root.get("valorFaturado"),
+                root.get("status"),
+                root.get("dataSolicitacao"),
+                root.get("dataAnalise"));
     }
 
+    /**
+     * Continuação após (lastValue, lastId) entre as chaves não nulas. A condição
+     * {@code chave >= lastValue} (ou {@code <=} em DESC) vem antes do OR para que o
+     * PostgreSQL a use como limite da faixa no índice, em vez de percorrê-lo desde o início.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate keysetAfter(CriteriaBuilder cb, Path<Comparable> key, Path<Long> id,
+                                         boolean desc, Comparable lastValue, Long lastId) {
+        Predicate limite = desc ? cb.lessThanOrEqualTo(key, lastValue) : cb.greaterThanOrEqualTo(key, lastValue);
+        Predicate chaveSeguinte = desc ? cb.lessThan(key, lastValue) : cb.greaterThan(key, lastValue);
+        return cb.and(limite, cb.or(chaveSeguinte, after(cb, id, lastId, desc)));
+    }
+
+    private static Predicate after(CriteriaBuilder cb, Expression<Long> id, Long lastId, boolean desc) {
+        return desc ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+    }
+
+    /**
+     * O driver do PostgreSQL só usa cursor no servidor (respeitando o fetch size) quando
+     * a conexão está fora de auto-commit; por isso o método exige uma transação, que
+     * também mantém o cursor aberto até a última linha.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamForExport(StatusCredito status, LocalDate dataInicio, LocalDate dataFim,
+                                int fetchSize, Consumer<CreditoExportView> consumer) {
+        StringBuilder sql = new StringBuilder(EXPORT_SELECT);
+        List<Object> params = new ArrayList<>();
+        List<String> filtros = new ArrayList<>();
+        if (status != null) {
+            filtros.add("status = ?");
+            params.add(status.name());
+        }
+        if (dataInicio != null) {
+            filtros.add("data_constituicao >= ?");
+            params.add(dataInicio);
+        }
+        if (dataFim != null) {
+            filtros.add("data_constituicao <= ?");
+            params.add(dataFim);
+        }
+        if (!filtros.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", filtros));
+        }
+        sql.append(" ORDER BY id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toExportView(rs)));
+    }
+
+    private static CreditoExportView toExportView(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return new CreditoExportView(
+                rs.getLong("id"),
+                rs.getString("numero_credito"),
+                rs.getString("numero_nfse"),
+                rs.getObject("data_constituicao", LocalDate.class),
+                rs.getBigDecimal("valor_issqn"),
+                rs.getString("tipo_credito"),
+                rs.getObject("simples_nacional", Boolean.class),
+                rs.getBigDecimal("aliquota"),
+                rs.getBigDecimal("valor_faturado"),
+                rs.getBigDecimal("valor_deducao"),
+                rs.getBigDecimal("base_calculo"),
+                status != null ? StatusCredito.valueOf(status) : null,
+                rs.getObject("data_solicitacao", LocalDateTime.class),
+                rs.getString("solicitado_por"),
+                rs.getString("aprovado_por"),
+                rs.getString("comentario_analise"),
+                rs.getObject("data_analise", LocalDateTime.class));
+    }
+
+    /**
+     * O limite de tempo é aplicado com {@code SET LOCAL statement_timeout}, válido
+     * apenas para a transação corrente.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findNumerosByPrefix(CreditoPrefixField field, String prefix, int limit, long timeoutMillis) {
+        String coluna = field.getColumn() + " COLLATE \"C\"";
+        String sql = "SELECT DISTINCT " + coluna + " AS numero FROM credito WHERE " + coluna
+                + " LIKE ? ORDER BY 1 LIMIT ?";
+        try {
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+            return jdbcTemplate.queryForList(sql, String.class, escapeLike(prefix) + "%", limit);
+        } catch (DataAccessException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && QUERY_CANCELED.equals(sqlException.getSQLState())) {
+                throw new QueryTimeoutException("Busca por prefixo excedeu " + timeoutMillis + " ms", e);
+            }
+            throw e;
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,64 @@
+package br.com.searchcredit.infrastructure.repository.jpa;
+
+import br.com.searchcredit.domain.entity.CreditoEstatistica;
+import br.com.searchcredit.domain.entity.CreditoEstatisticaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CreditoEstatisticaJpaRepository extends JpaRepository<CreditoEstatistica, CreditoEstatisticaId> {
+
+    List<CreditoEstatistica> findByQuantidadeGreaterThan(long quantidade);
+
+    /**
+     * Soma o delta ao grupo, criando-o se ainda não existir. O ON CONFLICT torna a
+     * operação atômica sob concorrência sem precisar ler o grupo antes.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO credito_estatistica
+                (status, tipo_credito, mes, quantidade, soma_valor_issqn, soma_valor_faturado, soma_base_calculo)
+            VALUES (:status, :tipoCredito, :mes, :quantidade, :valorIssqn, :valorFaturado, :baseCalculo)
+            ON CONFLICT (status, tipo_credito, mes) DO UPDATE SET
+                quantidade = credito_estatistica.quantidade + EXCLUDED.quantidade,
+                soma_valor_issqn = credito_estatistica.soma_valor_issqn + EXCLUDED.soma_valor_issqn,
+                soma_valor_faturado = credito_estatistica.soma_valor_faturado + EXCLUDED.soma_valor_faturado,
+                soma_base_calculo = credito_estatistica.soma_base_calculo + EXCLUDED.soma_base_calculo
+            """, nativeQuery = true)
+    int aplicarDelta(@Param("status") String status,
+                     @Param("tipoCredito") String tipoCredito,
+                     @Param("mes") LocalDate mes,
+                     @Param("quantidade") long quantidade,
+                     @Param("valorIssqn") BigDecimal valorIssqn,
+                     @Param("valorFaturado") BigDecimal valorFaturado,
+                     @Param("baseCalculo") BigDecimal baseCalculo);
+
+    @Modifying
+    @Query(value = "DELETE FROM credito_estatistica", nativeQuery = true)
+    int apagarTudo();
+
+    /**
+     * Reconstrói todos os grupos a partir da tabela credito (O(linhas)); usado apenas
+     * para carga inicial ou correção, nunca no caminho da consulta.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO credito_estatistica
+                (status, tipo_credito, mes, quantidade, soma_valor_issqn, soma_valor_faturado, soma_base_calculo)
+            SELECT COALESCE(status, ''),
+                   COALESCE(tipo_credito, ''),
+                   COALESCE(CAST(date_trunc('month', data_constituicao) AS DATE), DATE '0001-01-01'),
+                   COUNT(*),
+                   COALESCE(SUM(valor_issqn), 0),
+                   COALESCE(SUM(valor_faturado), 0),
+                   COALESCE(SUM(base_calculo), 0)
+              FROM credito
+             GROUP BY 1, 2, 3
+            """, nativeQuery = true)
+    int reconstruir();
+}
@@ -2,13 +2,21 @@ package br.com.searchcredit.infrastructure.repository.jpa;
 
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CreditoJpaRepository extends JpaRepository<Credito, Long> {
+public interface CreditoJpaRepository extends JpaRepository<Credito, Long>, JpaSpecificationExecutor<Credito> {
 
     Optional<Credito> findByNumeroCredito(String numeroCredito);
     
@@ -22,10 +30,47 @@ public interface CreditoJpaRepository extends JpaRepository<Credito, Long> {
     @Query("SELECT c FROM Credito c WHERE c.numeroNfse = :numeroNfse")
     List<Credito> findByNumeroNfseList(String numeroNfse);
 
-    @Query("SELECT c FROM Credito c WHERE c.numeroCredito LIKE 'CRED%' ORDER BY c.numeroCredito DESC")
-    List<Credito> findAllOrderByNumeroCreditoDesc();
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.com.searchcredit.domain.projection.CreditoQueryView(" +
+            "c.numeroCredito, c.numeroNfse, c.dataConstituicao, c.valorIssqn, c.tipoCredito, c.simplesNacional, " +
+            "c.aliquota, c.valorFaturado, c.valorDeducao, c.baseCalculo, c.status, c.id, c.versao) " +
+            "FROM Credito c WHERE c.numeroCredito = :numeroCredito")
+    Optional<CreditoQueryView> findQueryViewByNumeroCredito(String numeroCredito);
 
-    @Query("SELECT c FROM Credito c WHERE c.numeroNfse LIKE 'NFSE%' ORDER BY c.numeroNfse DESC")
-    List<Credito> findAllOrderByNumeroNfseDesc();
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.com.searchcredit.domain.projection.CreditoQueryView(" +
+            "c.numeroCredito, c.numeroNfse, c.dataConstituicao, c.valorIssqn, c.tipoCredito, c.simplesNacional, " +
+            "c.aliquota, c.valorFaturado, c.valorDeducao, c.baseCalculo, c.status, c.id, c.versao) " +
+            "FROM Credito c WHERE c.numeroNfse = :numeroNfse")
+    List<CreditoQueryView> findQueryViewsByNumeroNfse(String numeroNfse);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.com.searchcredit.domain.projection.CreditoQueryView(" +
+            "c.numeroCredito, c.numeroNfse, c.dataConstituicao, c.valorIssqn, c.tipoCredito, c.simplesNacional, " +
+            "c.aliquota, c.valorFaturado, c.valorDeducao, c.baseCalculo, c.status, c.id, c.versao) " +
+            "FROM Credito c WHERE c.numeroCredito IN :numerosCredito")
+    List<CreditoQueryView> findQueryViewsByNumeroCreditoIn(Collection<String> numerosCredito);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT c.numeroCredito FROM Credito c WHERE c.numeroCredito IN :numerosCredito")
+    List<String> findNumerosCreditoIn(Collection<String> numerosCredito);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.com.searchcredit.domain.projection.CreditoVersionView(c.id, c.versao, c.status) " +
+            "FROM Credito c WHERE c.numeroCredito = :numeroCredito")
+    Optional<CreditoVersionView> findVersionViewByNumeroCredito(String numeroCredito);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.com.searchcredit.domain.projection.CreditoVersionView(c.id, c.versao, c.status) " +
+            "FROM Credito c WHERE c.numeroNfse = :numeroNfse")
+    List<CreditoVersionView> findVersionViewsByNumeroNfse(String numeroNfse);
+
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT new br.com.searchcredit.domain.projection.CreditoListView(" +
+            "c.id, c.numeroCredito, c.numeroNfse, c.dataConstituicao, c.valorIssqn, c.tipoCredito, " +
+            "c.simplesNacional, c.valorFaturado, c.status, c.dataSolicitacao, c.dataAnalise) " +
+            "FROM Credito c",
+            countQuery = "SELECT count(c) FROM Credito c")
+    Page<CreditoListView> findListViews(Pageable pageable);
 
 }
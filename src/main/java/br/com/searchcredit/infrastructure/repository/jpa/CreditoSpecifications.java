@@ -0,0 +1,65 @@
+package br.com.searchcredit.infrastructure.repository.jpa;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.repository.CreditoSearchCriteria;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Specifications da busca de créditos por múltiplos critérios.
+ *
+ * Só entram na consulta os filtros informados, de modo que o PostgreSQL
+ * recebe um WHERE mínimo e pode escolher o índice adequado à combinação
+ * (ver changelog 008-create-credito-search-indexes).
+ */
+public final class CreditoSpecifications {
+
+    private CreditoSpecifications() {
+    }
+
+    public static Specification<Credito> fromCriteria(CreditoSearchCriteria criteria) {
+        return Specification.allOf(
+                equal("status", criteria.status()),
+                equal("tipoCredito", criteria.tipoCredito()),
+                equal("simplesNacional", criteria.simplesNacional()),
+                equal("solicitadoPor", criteria.solicitadoPor()),
+                greaterThanOrEqual("dataConstituicao", criteria.dataConstituicaoInicio()),
+                lessThanOrEqual("dataConstituicao", criteria.dataConstituicaoFim()),
+                greaterThanOrEqual("dataSolicitacao",
+                        criteria.dataSolicitacaoInicio() != null ? criteria.dataSolicitacaoInicio().atStartOfDay() : null),
+                // Fim inclusivo: até o início do dia seguinte (exclusivo), preservando o uso do índice
+                lessThan("dataSolicitacao",
+                        criteria.dataSolicitacaoFim() != null ? criteria.dataSolicitacaoFim().plusDays(1).atStartOfDay() : null),
+                greaterThanOrEqual("valorIssqn", criteria.valorIssqnMin()),
+                lessThanOrEqual("valorIssqn", criteria.valorIssqnMax()));
+    }
+
+    private static Specification<Credito> equal(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Credito> greaterThanOrEqual(String attribute, T value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(attribute), value);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Credito> lessThanOrEqual(String attribute, T value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(attribute), value);
+    }
+
+    private static Specification<Credito> lessThan(String attribute, LocalDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get(attribute), value);
+    }
+}
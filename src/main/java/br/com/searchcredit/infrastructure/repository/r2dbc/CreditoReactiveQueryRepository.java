@@ -0,0 +1,74 @@
+package br.com.searchcredit.infrastructure.repository.r2dbc;
+
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Leituras da consulta pública via R2DBC, com as mesmas colunas de
+ * {@link CreditoQueryView} usadas pelas consultas JPA.
+ *
+ * A lista por NFS-e é lida com fetch size limitado: o driver busca o próximo lote
+ * de linhas só quando há demanda, de modo que um cliente lento segura o cursor
+ * em vez de acumular a lista em memória.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class CreditoReactiveQueryRepository {
+
+    static final String SELECT_QUERY_VIEW = "SELECT numero_credito, numero_nfse, data_constituicao, valor_issqn, "
+            + "tipo_credito, simples_nacional, aliquota, valor_faturado, valor_deducao, base_calculo, status, id, versao "
+            + "FROM credito ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public CreditoReactiveQueryRepository(
+            DatabaseClient databaseClient,
+            @Value("${credito.reactive.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<CreditoQueryView> findQueryViewByNumeroCredito(String numeroCredito) {
+        return databaseClient.sql(SELECT_QUERY_VIEW + "WHERE numero_credito = :numeroCredito")
+                .bind("numeroCredito", numeroCredito)
+                .map(CreditoReactiveQueryRepository::toQueryView)
+                .one();
+    }
+
+    public Flux<CreditoQueryView> findQueryViewsByNumeroNfse(String numeroNfse) {
+        return databaseClient.sql(SELECT_QUERY_VIEW + "WHERE numero_nfse = :numeroNfse")
+                .bind("numeroNfse", numeroNfse)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(CreditoReactiveQueryRepository::toQueryView)
+                .all();
+    }
+
+    static CreditoQueryView toQueryView(Readable row) {
+        String status = row.get("status", String.class);
+        return new CreditoQueryView(
+                row.get("numero_credito", String.class),
+                row.get("numero_nfse", String.class),
+                row.get("data_constituicao", LocalDate.class),
+                row.get("valor_issqn", BigDecimal.class),
+                row.get("tipo_credito", String.class),
+                row.get("simples_nacional", Boolean.class),
+                row.get("aliquota", BigDecimal.class),
+                row.get("valor_faturado", BigDecimal.class),
+                row.get("valor_deducao", BigDecimal.class),
+                row.get("base_calculo", BigDecimal.class),
+                status != null ? StatusCredito.valueOf(status) : null,
+                row.get("id", Long.class),
+                row.get("versao", Long.class));
+    }
+}
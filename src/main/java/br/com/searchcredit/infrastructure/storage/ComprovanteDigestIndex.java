@@ -0,0 +1,56 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Pattern;
+
+/**
+ * Índice local dos comprovantes já gravados no bucket com nome derivado do conteúdo
+ * ({@code <sha256>.<ext>}), para decidir sem ida ao MinIO se um upload pode ser evitado.
+ *
+ * O índice é carregado com uma listagem do bucket na subida e atualizado a cada envio.
+ * Uma ausência no índice nunca causa erro: o comprovante é enviado de novo para a mesma
+ * chave, com o mesmo conteúdo. Por isso o índice pode ser limitado por tamanho.
+ *
+ * Métricas publicadas via Micrometer com o nome de cache "comprovante.digest".
+ */
+@Component
+public class ComprovanteDigestIndex {
+
+    static final String CACHE_DIGEST = "comprovante.digest";
+    private static final Pattern NOME_POR_CONTEUDO = Pattern.compile("^[0-9a-f]{64}\\.(pdf|png|jpg)$");
+
+    private final Cache<String, Boolean> objetos;
+
+    public ComprovanteDigestIndex(
+            @Value("${credito.comprovante.dedup.index-max-size:100000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        this.objetos = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, objetos, CACHE_DIGEST);
+    }
+
+    public boolean contem(String objectName) {
+        return objetos.getIfPresent(objectName) != null;
+    }
+
+    /**
+     * Registra um objeto confirmado no bucket; nomes que não são derivados do conteúdo são ignorados.
+     *
+     * @return true se o objeto entrou no índice
+     */
+    public boolean registrar(String objectName) {
+        if (objectName == null || !NOME_POR_CONTEUDO.matcher(objectName).matches()) {
+            return false;
+        }
+        objetos.put(objectName, Boolean.TRUE);
+        return true;
+    }
+}
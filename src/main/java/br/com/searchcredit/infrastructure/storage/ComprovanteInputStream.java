@@ -0,0 +1,131 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import br.com.searchcredit.infrastructure.storage.exception.StorageException;
+import org.springframework.http.HttpStatus;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Leitura única e validada de um comprovante: o tipo é identificado pelos primeiros
+ * bytes antes de qualquer dado seguir adiante, e a leitura é interrompida assim que o
+ * total passa do limite, sem consumir o restante do arquivo.
+ *
+ * O stream devolvido começa do primeiro byte, de modo que pode ser repassado direto ao
+ * MinIO ou ao disco. O SHA-256 é calculado durante a leitura; depois de lido até o fim,
+ * {@link #nomeObjeto()} dá o nome do objeto derivado do conteúdo.
+ */
+final class ComprovanteInputStream extends FilterInputStream {
+
+    private final TipoComprovante tipo;
+    private final long limiteBytes;
+    private final MessageDigest digest;
+    private long lidos;
+    private String nomeObjeto;
+
+    private ComprovanteInputStream(InputStream origem, TipoComprovante tipo, long limiteBytes) {
+        super(origem);
+        this.tipo = tipo;
+        this.limiteBytes = limiteBytes;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    /**
+     * Lê a assinatura de {@code origem} e confere com a extensão do arquivo.
+     *
+     * @throws StorageException se o conteúdo não for um dos tipos aceitos ou não
+     *                          corresponder à extensão
+     */
+    static ComprovanteInputStream abrir(InputStream origem, String extensao, long limiteBytes) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(origem, TipoComprovante.TAMANHO_ASSINATURA);
+        byte[] cabecalho = new byte[TipoComprovante.TAMANHO_ASSINATURA];
+        int lidos = pushback.readNBytes(cabecalho, 0, cabecalho.length);
+
+        TipoComprovante tipo = TipoComprovante.detectar(cabecalho, lidos)
+                .filter(detectado -> detectado.getExtensao().equalsIgnoreCase(extensao))
+                .orElseThrow(() -> new StorageException(
+                        "Conteúdo do arquivo não corresponde a um comprovante PDF, PNG ou JPEG com a extensão informada",
+                        HttpStatus.UNSUPPORTED_MEDIA_TYPE));
+
+        pushback.unread(cabecalho, 0, lidos);
+        return new ComprovanteInputStream(pushback, tipo, limiteBytes);
+    }
+
+    TipoComprovante getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Nome do objeto no bucket: SHA-256 em hexadecimal do que foi lido, com a extensão do
+     * tipo detectado. Só é válido depois que o stream foi lido até o fim.
+     */
+    String nomeObjeto() {
+        if (nomeObjeto == null) {
+            nomeObjeto = HexFormat.of().formatHex(digest.digest()) + tipo.getExtensao();
+        }
+        return nomeObjeto;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            contar(1);
+            digest.update((byte) b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            contar(n);
+            digest.update(b, off, n);
+        }
+        return n;
+    }
+
+    /**
+     * Lê e descarta, para que os bytes pulados também entrem no digest.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        byte[] descarte = new byte[(int) Math.min(n, 8192)];
+        long pulados = 0;
+        while (pulados < n) {
+            int lido = read(descarte, 0, (int) Math.min(descarte.length, n - pulados));
+            if (lido < 0) {
+                break;
+            }
+            pulados += lido;
+        }
+        return pulados;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void contar(long n) {
+        lidos += n;
+        if (lidos > limiteBytes) {
+            throw new StorageException(
+                    String.format("Arquivo excede o tamanho máximo permitido de %d bytes", limiteBytes),
+                    HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.StatusComprovante;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.storage.exception.StorageException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Envio assíncrono dos comprovantes ao MinIO, fora da requisição e da transação de criação.
+ *
+ * Na requisição, o comprovante é validado e gravado em disco local ({@link #preparar});
+ * o crédito nasce com {@link StatusComprovante#PENDENTE}. Depois do commit
+ * ({@link #agendar}), o arquivo recebe o id do crédito no nome e entra na fila de um
+ * pool limitado, que o envia ao MinIO e preenche {@code comprovanteUrl} (ENVIADO). Se
+ * as tentativas se esgotam, o crédito fica FALHOU e o arquivo vai para o subdiretório
+ * {@value #DIRETORIO_FALHOU}, que a varredura ignora; para reenviar, basta devolvê-lo
+ * ao diretório de staging.
+ *
+ * Os objetos são nomeados pelo SHA-256 do conteúdo, calculado durante a gravação em
+ * disco. Se o índice local já conhece o objeto, o arquivo é descartado na própria
+ * requisição e o crédito nasce ENVIADO, com a URL existente.
+ *
+ * Os arquivos no diretório de staging são a própria fila: uma varredura periódica
+ * (também no início da aplicação) reenvia os que não estão em andamento, o que cobre
+ * fila cheia, reinícios e falhas anteriores, e remove arquivos parciais de transações
+ * desfeitas.
+ *
+ * Métricas: {@code credito.comprovante.upload.pending}, {@code credito.comprovante.upload.completed},
+ * {@code credito.comprovante.upload.failed} e {@code credito.comprovante.upload.deduplicated}.
+ */
+@Slf4j
+@Component
+public class ComprovanteUploadService implements SmartLifecycle {
+
+    static final String SUFIXO_PARCIAL = ".parcial";
+    static final String DIRETORIO_FALHOU = "falhou";
+    private static final Pattern ARQUIVO_AGENDADO = Pattern.compile("^(\\d+)__(.+)$");
+    private static final Duration IDADE_MINIMA_PARCIAL_ORFAO = Duration.ofHours(1);
+
+    /**
+     * Comprovante validado, ainda sem crédito associado: gravado em disco para envio, ou
+     * já existente no bucket ({@code url} preenchida e sem arquivo).
+     */
+    public record ComprovantePreparado(Path arquivo, String objectName, String url) {
+
+        public boolean enviado() {
+            return url != null;
+        }
+    }
+
+    private final MinioStorageService minioStorageService;
+    private final CreditoRepository creditoRepository;
+    private final CreditoQueryCache creditoQueryCache;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Path stagingDir;
+    private final int threads;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long sweepIntervalMs;
+
+    private final Set<Long> emAndamento = ConcurrentHashMap.newKeySet();
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Counter deduplicadosCounter;
+
+    private volatile ThreadPoolExecutor executor;
+    private volatile ScheduledExecutorService varredura;
+
+    public ComprovanteUploadService(
+            MinioStorageService minioStorageService,
+            CreditoRepository creditoRepository,
+            CreditoQueryCache creditoQueryCache,
+            ReadYourWritesGuard readYourWritesGuard,
+            TransactionTemplate transactionTemplate,
+            @Value("${credito.comprovante.staging-dir:${java.io.tmpdir}/search-credit-comprovantes}") String stagingDir,
+            @Value("${credito.comprovante.upload.threads:4}") int threads,
+            @Value("${credito.comprovante.upload.queue-capacity:1000}") int queueCapacity,
+            @Value("${credito.comprovante.upload.max-attempts:3}") int maxAttempts,
+            @Value("${credito.comprovante.upload.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${credito.comprovante.upload.sweep-interval-ms:30000}") long sweepIntervalMs,
+            MeterRegistry meterRegistry) {
+        if (threads <= 0 || queueCapacity <= 0 || maxAttempts <= 0 || retryBackoffMs < 0 || sweepIntervalMs <= 0) {
+            throw new IllegalArgumentException(
+                    "credito.comprovante.upload: threads, queue-capacity, max-attempts e sweep-interval-ms devem ser maiores que zero");
+        }
+        this.minioStorageService = minioStorageService;
+        this.creditoRepository = creditoRepository;
+        this.creditoQueryCache = creditoQueryCache;
+        this.readYourWritesGuard = readYourWritesGuard;
+        this.transactionTemplate = transactionTemplate;
+        this.stagingDir = Paths.get(stagingDir);
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+
+        Gauge.builder("credito.comprovante.upload.pending", emAndamento, Set::size)
+                .description("Comprovantes na fila ou em envio ao MinIO")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("credito.comprovante.upload.completed").register(meterRegistry);
+        this.failedCounter = Counter.builder("credito.comprovante.upload.failed").register(meterRegistry);
+        this.deduplicadosCounter = Counter.builder("credito.comprovante.upload.deduplicated").register(meterRegistry);
+    }
+
+    /**
+     * Valida o comprovante e o grava no diretório de staging numa única leitura: o tipo é
+     * conferido pelos primeiros bytes, a cópia é interrompida ao passar do limite e o
+     * SHA-256 é calculado no caminho. Não acessa o MinIO; se o índice local já conhece o
+     * objeto, o arquivo é descartado e a URL existente é devolvida.
+     *
+     * @throws StorageException se o arquivo não for aceito ou não puder ser gravado
+     */
+    public ComprovantePreparado preparar(MultipartFile comprovante) {
+        Path arquivo = stagingDir.resolve(UUID.randomUUID() + SUFIXO_PARCIAL);
+        String objectName;
+        try (ComprovanteInputStream conteudo = minioStorageService.abrirComprovante(comprovante)) {
+            Files.createDirectories(stagingDir);
+            Files.copy(conteudo, arquivo);
+            objectName = conteudo.nomeObjeto();
+        } catch (IOException e) {
+            apagar(arquivo);
+            log.error("Erro ao gravar comprovante em disco: {}", e.getMessage(), e);
+            throw new StorageException("Erro ao gravar comprovante para envio", e);
+        } catch (RuntimeException e) {
+            apagar(arquivo);
+            throw e;
+        }
+
+        Optional<String> existente = minioStorageService.urlExistente(objectName);
+        if (existente.isPresent()) {
+            apagar(arquivo);
+            deduplicadosCounter.increment();
+            log.debug("Comprovante '{}' já existe no MinIO; envio evitado", objectName);
+            return new ComprovantePreparado(null, objectName, existente.get());
+        }
+        return new ComprovantePreparado(arquivo, objectName, null);
+    }
+
+    /**
+     * Associa o comprovante preparado ao crédito e o coloca na fila de envio. Dentro de
+     * uma transação, isso só acontece após o commit; se ela for desfeita, o arquivo é apagado.
+     */
+    public void agendar(Long creditoId, ComprovantePreparado preparado) {
+        if (preparado.enviado()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ativar(creditoId, preparado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    ativar(creditoId, preparado);
+                } else {
+                    descartar(preparado);
+                }
+            }
+        });
+    }
+
+    /**
+     * Descarta o comprovante ainda em disco do crédito (agendado ou em {@value #DIRETORIO_FALHOU}),
+     * quando outro fluxo, como o envio direto, já associou um comprovante a ele. Um envio
+     * em andamento não é interrompido, mas não altera mais o crédito (ver {@link #enviar}).
+     *
+     * @return quantidade de arquivos apagados
+     */
+    public int cancelar(Long creditoId) {
+        String prefixo = creditoId + "__";
+        int apagados = 0;
+        for (Path diretorio : List.of(stagingDir, stagingDir.resolve(DIRETORIO_FALHOU))) {
+            if (!Files.isDirectory(diretorio)) {
+                continue;
+            }
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                    if (arquivo.getFileName().toString().startsWith(prefixo) && Files.deleteIfExists(arquivo)) {
+                        apagados++;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Não foi possível descartar o comprovante em disco do crédito {}: {}", creditoId, e.getMessage());
+            }
+        }
+        if (apagados > 0) {
+            log.info("Comprovante em disco do crédito {} descartado; substituído por outro envio", creditoId);
+        }
+        return apagados;
+    }
+
+    /**
+     * Apaga um comprovante preparado que não chegou a ser associado a um crédito.
+     */
+    public void descartar(ComprovantePreparado preparado) {
+        if (preparado != null && preparado.arquivo() != null) {
+            apagar(preparado.arquivo());
+        }
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar comprovante descartado {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private void ativar(Long creditoId, ComprovantePreparado preparado) {
+        Path agendado = stagingDir.resolve(creditoId + "__" + preparado.objectName());
+        try {
+            Files.move(preparado.arquivo(), agendado, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Erro ao agendar comprovante do crédito {}: {}", creditoId, e.getMessage(), e);
+            return;
+        }
+        submeter(creditoId, agendado, preparado.objectName());
+    }
+
+    /**
+     * @return false se o serviço está parado, o crédito já está em andamento ou a fila está cheia
+     */
+    private boolean submeter(Long creditoId, Path arquivo, String objectName) {
+        ThreadPoolExecutor pool = this.executor;
+        if (pool == null || !emAndamento.add(creditoId)) {
+            return false;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    enviar(creditoId, arquivo, objectName);
+                } finally {
+                    emAndamento.remove(creditoId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            emAndamento.remove(creditoId);
+            log.warn("Fila de envio de comprovantes cheia; crédito {} fica para a próxima varredura", creditoId);
+            return false;
+        }
+    }
+
+    /**
+     * Envia o arquivo ao MinIO e atualiza o crédito, com até {@code max-attempts} tentativas.
+     * O crédito só é alterado enquanto o comprovante continua PENDENTE ou FALHOU e sem URL:
+     * se outro envio já o concluiu, o resultado deste é descartado.
+     */
+    void enviar(Long creditoId, Path arquivo, String objectName) {
+        for (int tentativa = 1; tentativa <= maxAttempts; tentativa++) {
+            try {
+                String url = minioStorageService.uploadComprovante(arquivo, objectName);
+                if (atualizarCredito(creditoId, url, StatusComprovante.ENVIADO)) {
+                    completedCounter.increment();
+                }
+                Files.deleteIfExists(arquivo);
+                return;
+            } catch (Exception e) {
+                log.warn("Falha no envio do comprovante do crédito {} (tentativa {}/{}): {}",
+                        creditoId, tentativa, maxAttempts, e.getMessage());
+                if (tentativa < maxAttempts && !aguardar(retryBackoffMs * tentativa)) {
+                    return;
+                }
+            }
+        }
+        failedCounter.increment();
+        try {
+            if (!atualizarCredito(creditoId, null, StatusComprovante.FALHOU)) {
+                apagar(arquivo);
+                return;
+            }
+        } catch (Exception e) {
+            log.warn("Não foi possível marcar o comprovante do crédito {} como FALHOU: {}", creditoId, e.getMessage());
+        }
+        moverParaFalhou(arquivo);
+    }
+
+    /**
+     * Tira o arquivo do alcance da varredura, para que um comprovante que sempre falha não
+     * seja reenviado a cada ciclo.
+     */
+    private void moverParaFalhou(Path arquivo) {
+        Path destino = stagingDir.resolve(DIRETORIO_FALHOU).resolve(arquivo.getFileName());
+        try {
+            Files.createDirectories(destino.getParent());
+            Files.move(arquivo, destino, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Não foi possível mover o comprovante {} para {}: {}", arquivo, DIRETORIO_FALHOU, e.getMessage());
+        }
+    }
+
+    /**
+     * Atualização condicional: a verificação do status e da URL e a gravação acontecem na
+     * mesma transação, e o {@code @Version} do crédito faz uma escrita concorrente (como a
+     * conclusão de um envio direto) derrubar esta, que então é tentada de novo.
+     *
+     * @return false se o crédito não existe mais ou já recebeu outro comprovante
+     */
+    private boolean atualizarCredito(Long creditoId, String url, StatusComprovante status) {
+        Boolean atualizado = transactionTemplate.execute(tx -> {
+            Credito credito = creditoRepository.findById(creditoId).orElse(null);
+            if (credito == null) {
+                log.warn("Crédito {} não encontrado ao atualizar comprovante; arquivo descartado", creditoId);
+                return false;
+            }
+            if (!aguardandoEnvio(credito, url)) {
+                log.info("Comprovante do crédito {} já foi substituído; resultado do envio assíncrono descartado",
+                        creditoId);
+                return false;
+            }
+            if (credito.getComprovanteStatus() == status
+                    && (url == null || url.equals(credito.getComprovanteUrl()))) {
+                return true;
+            }
+            if (url != null) {
+                credito.setComprovanteUrl(url);
+            }
+            credito.setComprovanteStatus(status);
+            creditoQueryCache.invalidate(creditoRepository.save(credito));
+            readYourWritesGuard.registrarEscrita();
+            return true;
+        });
+        return Boolean.TRUE.equals(atualizado);
+    }
+
+    private static boolean aguardandoEnvio(Credito credito, String url) {
+        StatusComprovante atual = credito.getComprovanteStatus();
+        return (atual == StatusComprovante.PENDENTE || atual == StatusComprovante.FALHOU)
+                && (credito.getComprovanteUrl() == null || credito.getComprovanteUrl().equals(url));
+    }
+
+    /**
+     * Reenvia os arquivos agendados que não estão em andamento e remove parciais antigos.
+     *
+     * @return quantidade de comprovantes submetidos
+     */
+    int varrer() {
+        if (!Files.isDirectory(stagingDir)) {
+            return 0;
+        }
+        int submetidos = 0;
+        Instant limiteParcial = Instant.now().minus(IDADE_MINIMA_PARCIAL_ORFAO);
+        try (Stream<Path> arquivos = Files.list(stagingDir)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                String nome = arquivo.getFileName().toString();
+                Matcher matcher = ARQUIVO_AGENDADO.matcher(nome);
+                if (matcher.matches()) {
+                    if (submeter(Long.valueOf(matcher.group(1)), arquivo, matcher.group(2))) {
+                        submetidos++;
+                    }
+                } else if (nome.endsWith(SUFIXO_PARCIAL)
+                        && Files.getLastModifiedTime(arquivo).toInstant().isBefore(limiteParcial)) {
+                    Files.deleteIfExists(arquivo);
+                    log.info("Comprovante parcial órfão removido: {}", nome);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha na varredura de comprovantes pendentes: {}", e.getMessage());
+        }
+        return submetidos;
+    }
+
+    private static boolean aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "comprovante-upload-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "comprovante-upload-varredura");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // O índice de digests é carregado antes da primeira varredura, na mesma thread
+        scheduler.execute(minioStorageService::carregarIndiceDigests);
+        scheduler.scheduleWithFixedDelay(this::varrer, 0, sweepIntervalMs, TimeUnit.MILLISECONDS);
+        this.varredura = scheduler;
+        log.info("Envio assíncrono de comprovantes iniciado. threads={}, fila={}, staging={}",
+                threads, queueCapacity, stagingDir);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = this.varredura;
+        ThreadPoolExecutor pool = this.executor;
+        this.varredura = null;
+        this.executor = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Envio assíncrono de comprovantes encerrado; pendentes continuam em {}", stagingDir);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+}
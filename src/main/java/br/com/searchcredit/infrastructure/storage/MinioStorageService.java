@@ -2,11 +2,29 @@ package br.com.searchcredit.infrastructure.storage;
 
 import br.com.searchcredit.infrastructure.storage.exception.StorageException;
 import io.minio.BucketExistsArgs;
+import io.minio.CopyObjectArgs;
+import io.minio.CopySource;
+import io.minio.GetBucketLifecycleArgs;
 import io.minio.GetObjectArgs;
+import io.minio.GetPresignedObjectUrlArgs;
 import io.minio.MakeBucketArgs;
+import io.minio.ListObjectsArgs;
 import io.minio.MinioClient;
+import io.minio.PostPolicy;
 import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import io.minio.Result;
+import io.minio.SetBucketLifecycleArgs;
+import io.minio.StatObjectArgs;
+import io.minio.errors.ErrorResponseException;
 import io.minio.errors.MinioException;
+import io.minio.http.Method;
+import io.minio.messages.Expiration;
+import io.minio.messages.Item;
+import io.minio.messages.LifecycleConfiguration;
+import io.minio.messages.LifecycleRule;
+import io.minio.messages.RuleFilter;
+import io.minio.messages.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -14,38 +32,72 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class MinioStorageService {
 
+    /**
+     * Envio direto por formulário: POST em {@code url} com os {@code campos} e o arquivo
+     * por último, no campo {@code file}.
+     */
+    public record FormularioUpload(String url, Map<String, String> campos) {
+    }
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList(".pdf", ".png", ".jpg");
-    private static final List<String> ALLOWED_MIME_TYPES = Arrays.asList(
-            "application/pdf",
-            "image/png",
-            "image/jpeg"
-    );
-    private static final long MAX_FILE_SIZE = 2 * 1024 * 1024; // 2 MB em bytes
+    static final long MAX_FILE_SIZE = 2 * 1024 * 1024; // 2 MB em bytes
     private static final String BUCKET_NAME = "comprovantes-renda";
+    private static final String PREFIXO_DIRETO = "diretos/";
+    private static final String PREFIXO_PENDENTE = "pendentes/";
+    private static final String REGRA_EXPIRACAO_PENDENTES = "expirar-comprovantes-pendentes";
 
     private final MinioClient minioClient;
+    /**
+     * Cliente usado só para assinar URLs: aponta para o endereço público ({@code minio.url}),
+     * que é o host verificado na assinatura, e tem a região fixa para não consultar o MinIO.
+     */
+    private final MinioClient presignClient;
     private final String minioUrl;
+    private final ComprovanteDigestIndex digestIndex;
 
     public MinioStorageService(
             @Value("${minio.endpoint}") String endpoint,
             @Value("${minio.access-key}") String accessKey,
             @Value("${minio.secret-key}") String secretKey,
-            @Value("${minio.url}") String minioUrl) {
+            @Value("${minio.url}") String minioUrl,
+            @Value("${minio.region:us-east-1}") String region,
+            @Value("${credito.comprovante.presigned.pending-expiry-days:1}") int pendingExpiryDays,
+            ComprovanteDigestIndex digestIndex) {
+        if (pendingExpiryDays <= 0) {
+            throw new IllegalArgumentException("credito.comprovante.presigned.pending-expiry-days deve ser maior que zero");
+        }
         this.minioUrl = minioUrl;
+        this.digestIndex = digestIndex;
         this.minioClient = MinioClient.builder()
                 .endpoint(endpoint)
                 .credentials(accessKey, secretKey)
                 .build();
+        this.presignClient = MinioClient.builder()
+                .endpoint(minioUrl)
+                .credentials(accessKey, secretKey)
+                .region(region)
+                .build();
         initializeBucket();
+        configurarExpiracaoPendentes(pendingExpiryDays);
     }
 
     private void initializeBucket() {
@@ -67,6 +119,56 @@ public class MinioStorageService {
         }
     }
 
+    /**
+     * Regra de ciclo de vida que apaga os envios diretos nunca concluídos: tudo sob
+     * {@code pendentes/} expira após {@code dias}. A conclusão copia o objeto para fora
+     * desse prefixo.
+     *
+     * As demais regras do bucket são preservadas: só a regra com o mesmo ID é substituída.
+     */
+    private void configurarExpiracaoPendentes(int dias) {
+        LifecycleRule regra = new LifecycleRule(
+                Status.ENABLED,
+                null,
+                new Expiration((ZonedDateTime) null, dias, null),
+                new RuleFilter(PREFIXO_PENDENTE),
+                REGRA_EXPIRACAO_PENDENTES,
+                null,
+                null,
+                null);
+        try {
+            List<LifecycleRule> regras = new ArrayList<>();
+            for (LifecycleRule existente : regrasDoBucket()) {
+                if (!REGRA_EXPIRACAO_PENDENTES.equals(existente.id())) {
+                    regras.add(existente);
+                }
+            }
+            regras.add(regra);
+            minioClient.setBucketLifecycle(SetBucketLifecycleArgs.builder()
+                    .bucket(BUCKET_NAME)
+                    .config(new LifecycleConfiguration(regras))
+                    .build());
+            log.info("Envios diretos não concluídos em '{}' expiram após {} dia(s)", PREFIXO_PENDENTE, dias);
+        } catch (Exception e) {
+            log.warn("Não foi possível configurar a expiração de '{}' no bucket '{}': {}",
+                    PREFIXO_PENDENTE, BUCKET_NAME, e.getMessage());
+        }
+    }
+
+    private List<LifecycleRule> regrasDoBucket() throws Exception {
+        try {
+            LifecycleConfiguration atual = minioClient.getBucketLifecycle(GetBucketLifecycleArgs.builder()
+                    .bucket(BUCKET_NAME)
+                    .build());
+            return atual == null || atual.rules() == null ? List.of() : atual.rules();
+        } catch (ErrorResponseException e) {
+            if ("NoSuchLifecycleConfiguration".equals(e.errorResponse().code())) {
+                return List.of();
+            }
+            throw e;
+        }
+    }
+
     public String upload(File file) {
         if (file == null || !file.exists()) {
             throw new StorageException("Arquivo não pode ser nulo ou não encontrado", HttpStatus.BAD_REQUEST);
@@ -131,33 +233,283 @@ public class MinioStorageService {
         }
     }
 
-    public String uploadComprovante(MultipartFile file) {
-        validateFile(file);
-        
+    /**
+     * Envia ao MinIO um comprovante já validado e guardado em disco, com o nome de objeto
+     * informado. Se o índice local já conhece o objeto, o envio é evitado; reenviar o
+     * mesmo objeto sobrescreve o anterior com o mesmo conteúdo.
+     *
+     * @return URL pública do comprovante
+     */
+    public String uploadComprovante(Path arquivo, String objectName) {
+        Optional<String> existente = urlExistente(objectName);
+        if (existente.isPresent()) {
+            log.info("Comprovante '{}' já existe no MinIO; upload evitado", objectName);
+            return existente.get();
+        }
+
+        try (InputStream inputStream = Files.newInputStream(arquivo)) {
+            return enviar(inputStream, Files.size(arquivo), objectName);
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Erro inesperado ao fazer upload do comprovante: {}", e.getMessage(), e);
+            throw new StorageException("Erro inesperado ao fazer upload do comprovante", e);
+        }
+    }
+
+    /**
+     * URL do comprovante com esse nome, se o índice local indica que ele já está no
+     * bucket. Não acessa o MinIO.
+     */
+    public Optional<String> urlExistente(String objectName) {
+        return digestIndex.contem(objectName) ? Optional.of(urlDoObjeto(objectName)) : Optional.empty();
+    }
+
+    /**
+     * Carrega no índice local os comprovantes do bucket nomeados pelo conteúdo, com uma
+     * listagem completa. Chamado uma vez na subida, fora da thread principal.
+     */
+    public void carregarIndiceDigests() {
+        int registrados = 0;
         try {
-            String fileName = generateFileName(file.getOriginalFilename());
-            String contentType = file.getContentType();
-
-            try (InputStream inputStream = file.getInputStream()) {
-                minioClient.putObject(
-                        PutObjectArgs.builder()
-                                .bucket(BUCKET_NAME)
-                                .object(fileName)
-                                .stream(inputStream, file.getSize(), -1)
-                                .contentType(contentType)
-                                .build()
-                );
+            for (Result<Item> result : minioClient.listObjects(
+                    ListObjectsArgs.builder().bucket(BUCKET_NAME).recursive(true).build())) {
+                if (digestIndex.registrar(result.get().objectName())) {
+                    registrados++;
+                }
             }
+            log.info("Índice de comprovantes carregado com {} objetos do bucket '{}'", registrados, BUCKET_NAME);
+        } catch (Exception e) {
+            log.warn("Falha ao carregar o índice de comprovantes ({} objetos lidos): {}", registrados, e.getMessage());
+        }
+    }
 
-            String fileUrl = String.format("%s/%s/%s", minioUrl, BUCKET_NAME, fileName);
-            log.info("Comprovante '{}' enviado com sucesso para MinIO. URL: {}", fileName, fileUrl);
-            return fileUrl;
+    /**
+     * Nome de objeto para um comprovante enviado direto ao bucket pelo cliente, sob o
+     * prefixo de pendentes do crédito, para que a conclusão só aceite objetos emitidos
+     * para ele.
+     *
+     * @throws StorageException se a extensão do arquivo não for aceita
+     */
+    public String gerarNomeObjetoPendente(Long creditoId, String nomeArquivo) {
+        String extension = getExtension(nomeArquivo).toLowerCase();
+        if (!ALLOWED_EXTENSIONS.contains(extension)) {
+            throw new StorageException(
+                    String.format("Extensão de arquivo não permitida. Extensões aceitas: %s", ALLOWED_EXTENSIONS),
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        return prefixoPendente(creditoId) + UUID.randomUUID() + extension;
+    }
+
+    public static String prefixoPendente(Long creditoId) {
+        return PREFIXO_PENDENTE + creditoId + "/";
+    }
+
+    /**
+     * Nome definitivo, fora do prefixo que expira, de um objeto enviado direto.
+     */
+    public static String nomeObjetoConcluido(String objectNamePendente) {
+        return PREFIXO_DIRETO + objectNamePendente.substring(PREFIXO_PENDENTE.length());
+    }
+
+    /**
+     * Formulário assinado para o cliente enviar o comprovante com um POST direto ao MinIO.
+     * A política fixa o nome do objeto e o Content-Type e limita o corpo a 2 MB, de modo
+     * que o MinIO recusa arquivos maiores antes de gravá-los. Gerado localmente, sem ida
+     * ao MinIO.
+     */
+    public FormularioUpload gerarFormularioUpload(String objectName, Duration validade) {
+        PostPolicy policy = new PostPolicy(BUCKET_NAME, ZonedDateTime.now().plus(validade));
+        String contentType = getContentTypeFromExtension(objectName);
+        policy.addEqualsCondition("key", objectName);
+        policy.addEqualsCondition("Content-Type", contentType);
+        policy.addContentLengthRangeCondition(1, MAX_FILE_SIZE);
+        try {
+            Map<String, String> campos = new LinkedHashMap<>();
+            campos.put("key", objectName);
+            campos.put("Content-Type", contentType);
+            campos.putAll(presignClient.getPresignedPostFormData(policy));
+            return new FormularioUpload(String.format("%s/%s", minioUrl, BUCKET_NAME), campos);
+        } catch (Exception e) {
+            log.error("Erro ao gerar formulário assinado para '{}': {}", objectName, e.getMessage(), e);
+            throw new StorageException("Erro ao gerar URL assinada para o comprovante", e);
+        }
+    }
+
+    /**
+     * URL assinada para o cliente baixar o comprovante direto do MinIO, servido com o
+     * Content-Type correspondente à extensão. Gerada localmente, sem ida ao MinIO.
+     */
+    public String gerarUrlDownload(String objectName, Duration validade) {
+        return assinar(Method.GET, objectName, validade,
+                Map.of("response-content-type", getContentTypeFromExtension(objectName)));
+    }
+
+    /**
+     * Conclui um envio direto: confere o objeto pendente com as mesmas regras do upload
+     * pela API (tamanho até 2 MB e magic bytes compatíveis com a extensão, lendo apenas
+     * os metadados e os primeiros bytes) e o copia, no próprio MinIO, para o nome
+     * definitivo ({@link #nomeObjetoConcluido}). O pendente é removido, aceito ou não.
+     *
+     * @return URL pública do comprovante
+     * @throws StorageException se o objeto não existir ou não for aceito
+     */
+    public String concluirObjetoEnviado(String objectName) {
+        validarObjetoEnviado(objectName);
+
+        String definitivo = nomeObjetoConcluido(objectName);
+        try {
+            minioClient.copyObject(CopyObjectArgs.builder()
+                    .bucket(BUCKET_NAME)
+                    .object(definitivo)
+                    .source(CopySource.builder().bucket(BUCKET_NAME).object(objectName).build())
+                    .build());
+        } catch (Exception e) {
+            log.error("Erro ao copiar comprovante '{}' para '{}': {}", objectName, definitivo, e.getMessage(), e);
+            throw new StorageException("Erro ao concluir o envio do comprovante no MinIO", e);
+        }
+        remover(objectName);
+        return urlDoObjeto(definitivo);
+    }
+
+    /**
+     * Remove um comprovante enviado direto que deixou de ser usado pelo crédito. Objetos
+     * fora de {@code diretos/} são nomeados pelo conteúdo e podem ser compartilhados, por
+     * isso não são removidos.
+     */
+    public void removerComprovanteSubstituido(String objectName) {
+        if (objectName == null || !objectName.startsWith(PREFIXO_DIRETO)) {
+            return;
+        }
+        remover(objectName);
+    }
+
+    private void validarObjetoEnviado(String objectName) {
+        long tamanho;
+        try {
+            tamanho = minioClient.statObject(StatObjectArgs.builder()
+                    .bucket(BUCKET_NAME)
+                    .object(objectName)
+                    .build()).size();
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                throw new StorageException("Comprovante não encontrado no bucket; envie o arquivo antes de concluir",
+                        HttpStatus.BAD_REQUEST, e);
+            }
+            log.error("Erro ao consultar comprovante '{}' no MinIO: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Erro ao consultar comprovante no MinIO", e);
+        } catch (Exception e) {
+            log.error("Erro ao consultar comprovante '{}' no MinIO: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Erro ao consultar comprovante no MinIO", e);
+        }
+
+        if (tamanho == 0 || tamanho > MAX_FILE_SIZE) {
+            remover(objectName);
+            throw new StorageException(
+                    String.format("Arquivo excede o tamanho máximo permitido de 2MB ou está vazio. Tamanho atual: %d bytes", tamanho),
+                    HttpStatus.PAYLOAD_TOO_LARGE
+            );
+        }
+
+        byte[] cabecalho;
+        try (InputStream inputStream = minioClient.getObject(GetObjectArgs.builder()
+                .bucket(BUCKET_NAME)
+                .object(objectName)
+                .offset(0L)
+                .length((long) TipoComprovante.TAMANHO_ASSINATURA)
+                .build())) {
+            cabecalho = inputStream.readNBytes(TipoComprovante.TAMANHO_ASSINATURA);
+        } catch (Exception e) {
+            log.error("Erro ao ler comprovante '{}' do MinIO: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Erro ao ler comprovante no MinIO", e);
+        }
+
+        String extension = getExtension(objectName);
+        boolean aceito = TipoComprovante.detectar(cabecalho, cabecalho.length)
+                .filter(tipo -> tipo.getExtensao().equalsIgnoreCase(extension))
+                .isPresent();
+        if (!aceito) {
+            remover(objectName);
+            throw new StorageException(
+                    "Conteúdo do arquivo não corresponde a um comprovante PDF, PNG ou JPEG com a extensão informada",
+                    HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+    }
+
+    /**
+     * Nome do objeto a partir da URL pública gravada no crédito.
+     */
+    public Optional<String> objetoDaUrl(String comprovanteUrl) {
+        String prefixo = urlDoObjeto("");
+        if (comprovanteUrl == null || !comprovanteUrl.startsWith(prefixo) || comprovanteUrl.length() == prefixo.length()) {
+            return Optional.empty();
+        }
+        return Optional.of(comprovanteUrl.substring(prefixo.length()));
+    }
+
+    private String assinar(Method method, String objectName, Duration validade, Map<String, String> parametros) {
+        try {
+            return presignClient.getPresignedObjectUrl(GetPresignedObjectUrlArgs.builder()
+                    .method(method)
+                    .bucket(BUCKET_NAME)
+                    .object(objectName)
+                    .expiry((int) validade.toSeconds(), TimeUnit.SECONDS)
+                    .extraQueryParams(parametros)
+                    .build());
+        } catch (Exception e) {
+            log.error("Erro ao gerar URL assinada para '{}': {}", objectName, e.getMessage(), e);
+            throw new StorageException("Erro ao gerar URL assinada para o comprovante", e);
+        }
+    }
+
+    private void remover(String objectName) {
+        try {
+            minioClient.removeObject(RemoveObjectArgs.builder().bucket(BUCKET_NAME).object(objectName).build());
+            log.info("Comprovante '{}' removido do bucket", objectName);
+        } catch (Exception e) {
+            log.warn("Não foi possível remover o comprovante '{}': {}", objectName, e.getMessage());
+        }
+    }
+
+    private String enviar(InputStream inputStream, long tamanho, String objectName) throws Exception {
+        try {
+            minioClient.putObject(
+                    PutObjectArgs.builder()
+                            .bucket(BUCKET_NAME)
+                            .object(objectName)
+                            .stream(inputStream, tamanho, -1)
+                            .contentType(getContentTypeFromExtension(objectName))
+                            .build()
+            );
         } catch (MinioException e) {
             log.error("Erro ao fazer upload do comprovante no MinIO: {}", e.getMessage(), e);
             throw new StorageException("Erro ao fazer upload do comprovante no MinIO", e);
-        } catch (Exception e) {
-            log.error("Erro inesperado ao fazer upload do comprovante: {}", e.getMessage(), e);
-            throw new StorageException("Erro inesperado ao fazer upload do comprovante", e);
+        }
+        digestIndex.registrar(objectName);
+
+        String fileUrl = urlDoObjeto(objectName);
+        log.info("Comprovante '{}' enviado com sucesso para MinIO. URL: {}", objectName, fileUrl);
+        return fileUrl;
+    }
+
+    private String urlDoObjeto(String objectName) {
+        return String.format("%s/%s/%s", minioUrl, BUCKET_NAME, objectName);
+    }
+
+    /**
+     * Valida nome, extensão e tamanho declarado do comprovante e abre o conteúdo para uma
+     * única leitura, já conferido pelos magic bytes e limitado a 2 MB.
+     *
+     * @throws StorageException se o arquivo não for aceito
+     */
+    ComprovanteInputStream abrirComprovante(MultipartFile file) {
+        validateFile(file);
+        try {
+            return ComprovanteInputStream.abrir(
+                    file.getInputStream(), getExtension(file.getOriginalFilename()), MAX_FILE_SIZE);
+        } catch (IOException e) {
+            throw new StorageException("Não foi possível ler o comprovante enviado", HttpStatus.BAD_REQUEST, e);
         }
     }
 
@@ -188,14 +540,7 @@ public class MinioStorageService {
             );
         }
 
-        // Validação de MIME type
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_MIME_TYPES.contains(contentType)) {
-            throw new StorageException(
-                    String.format("Tipo de arquivo não permitido. Tipos aceitos: %s", ALLOWED_MIME_TYPES),
-                    HttpStatus.PAYLOAD_TOO_LARGE
-            );
-        }
+        // O tipo real é conferido pelos magic bytes em abrirComprovante; o Content-Type do cliente é ignorado
     }
 
     private String getExtension(String filename) {
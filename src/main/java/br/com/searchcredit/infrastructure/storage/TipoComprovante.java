@@ -0,0 +1,49 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tipos de comprovante aceitos, reconhecidos pela assinatura (magic bytes) no início
+ * do arquivo, e não pelo {@code Content-Type} informado pelo cliente.
+ */
+public enum TipoComprovante {
+
+    PDF(".pdf", "application/pdf", new byte[]{'%', 'P', 'D', 'F', '-'}),
+    PNG(".png", "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}),
+    JPEG(".jpg", "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF});
+
+    /**
+     * Bytes necessários para reconhecer qualquer um dos tipos.
+     */
+    static final int TAMANHO_ASSINATURA = 8;
+
+    private final String extensao;
+    private final String contentType;
+    private final byte[] assinatura;
+
+    TipoComprovante(String extensao, String contentType, byte[] assinatura) {
+        this.extensao = extensao;
+        this.contentType = contentType;
+        this.assinatura = assinatura;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param cabecalho primeiros bytes do arquivo
+     * @param lidos     quantidade de bytes válidos em {@code cabecalho}
+     */
+    static Optional<TipoComprovante> detectar(byte[] cabecalho, int lidos) {
+        return Arrays.stream(values())
+                .filter(tipo -> lidos >= tipo.assinatura.length
+                        && Arrays.equals(cabecalho, 0, tipo.assinatura.length, tipo.assinatura, 0, tipo.assinatura.length))
+                .findFirst();
+    }
+}
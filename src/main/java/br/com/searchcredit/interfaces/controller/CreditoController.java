@@ -2,22 +2,54 @@ package br.com.searchcredit.interfaces.controller;
 
 import br.com.searchcredit.application.dto.credito.CreditoAnaliseRequestDto;
 import br.com.searchcredit.application.dto.credito.CreditoCreateRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoDistribuicaoMensalResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
-import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoAutocompleteResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoComprovanteConclusaoRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoComprovanteUploadRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoComprovanteUrlResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoExportFilter;
+import br.com.searchcredit.application.dto.credito.CreditoExportFormat;
+import br.com.searchcredit.application.dto.credito.CreditoLoteConsultaRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteConsultaResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoPercentisResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoSearchRequestDto;
+import br.com.searchcredit.application.dto.common.CursorPageResponseDto;
 import br.com.searchcredit.application.dto.common.NextValueResponseDto;
+import br.com.searchcredit.application.service.CreditoAnalyticsService;
+import br.com.searchcredit.application.service.CreditoAutocompleteService;
+import br.com.searchcredit.application.service.CreditoComprovanteService;
+import br.com.searchcredit.application.service.CreditoConsultaCondicional;
+import br.com.searchcredit.application.service.CreditoEstatisticaService;
+import br.com.searchcredit.application.service.CreditoExportService;
+import br.com.searchcredit.application.service.CreditoLoteService;
 import br.com.searchcredit.application.service.CreditoService;
+import br.com.searchcredit.application.service.CreditoVersao;
 import br.com.searchcredit.application.service.CreditoNumeroGeneratorService;
 import br.com.searchcredit.domain.enums.StatusCredito;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -35,6 +67,18 @@ public class CreditoController {
 
     private final CreditoService creditoService;
     private final CreditoNumeroGeneratorService creditoNumeroGeneratorService;
+    private final CreditoExportService creditoExportService;
+    private final CreditoAutocompleteService creditoAutocompleteService;
+    private final CreditoEstatisticaService creditoEstatisticaService;
+    private final CreditoAnalyticsService creditoAnalyticsService;
+    private final CreditoLoteService creditoLoteService;
+    private final CreditoComprovanteService creditoComprovanteService;
+
+    @Value("${credito.http-cache.finalizado-max-age-seconds:86400}")
+    private long finalizadoMaxAgeSeconds;
+
+    @Value("${credito.export.request-timeout-ms:1800000}")
+    private long exportRequestTimeoutMs;
 
     @GetMapping
     public ResponseEntity<Page<CreditoResponseDto>> listAll(
@@ -45,6 +89,142 @@ public class CreditoController {
         return ResponseEntity.ok(creditoService.listAll(page, size, sortBy, sortDir));
     }
 
+    /**
+     * Busca paginada por status, tipoCredito, simplesNacional, intervalos de
+     * dataConstituicao, dataSolicitacao e valorIssqn, e solicitadoPor.
+     *
+     * @param filtro Filtros opcionais (ex.: status=EM_ANALISE&dataSolicitacaoInicio=2024-01-01)
+     * @return Página de créditos que atendem a todos os filtros informados
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<CreditoResponseDto>> search(
+            @ModelAttribute CreditoSearchRequestDto filtro,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "dataConstituicao") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+        return ResponseEntity.ok(creditoService.search(filtro, page, size, sortBy, sortDir));
+    }
+
+    /**
+     * Listagem paginada por cursor (keyset), indicada para percorrer a tabela inteira.
+     *
+     * Não calcula total de elementos; para a próxima fatia, envie o {@code nextCursor}
+     * retornado no parâmetro {@code cursor}, mantendo sortBy e sortDir.
+     *
+     * @param cursor Cursor opaco da fatia anterior (omitido na primeira chamada)
+     * @return Fatia de créditos e o cursor da próxima fatia
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageResponseDto<CreditoResponseDto>> listAllByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "dataConstituicao") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir) {
+        return ResponseEntity.ok(creditoService.listAllByCursor(cursor, size, sortBy, sortDir));
+    }
+
+    /**
+     * Exporta todos os créditos (ordenados por id) em NDJSON ou CSV.
+     *
+     * As linhas são enviadas à medida que são lidas do banco, sem montar a lista
+     * completa em memória. Só esta resposta usa o tempo limite longo
+     * ({@code credito.export.request-timeout-ms}); as demais seguem o padrão do Spring MVC.
+     *
+     * @param format ndjson (padrão) ou csv
+     * @param status Filtra pelo status (opcional)
+     * @param dataInicio Data de constituição inicial, inclusiva (opcional)
+     * @param dataFim Data de constituição final, inclusiva (opcional)
+     * @return Arquivo creditos.ndjson ou creditos.csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            HttpServletRequest request) {
+        // Valida antes de iniciar a resposta, para que erros ainda retornem 400
+        CreditoExportFormat formato = CreditoExportFormat.fromValue(format);
+        CreditoExportFilter filtro = CreditoExportFilter.of(status, dataInicio, dataFim);
+
+        // A requisição assíncrona já existe aqui; o StreamingResponseBody herda este tempo limite
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportRequestTimeoutMs);
+
+        StreamingResponseBody body = out -> creditoExportService.exportar(formato, filtro, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, formato.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("creditos." + formato.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Sugestões de números de crédito ou de NFS-e que começam com o prefixo informado.
+     *
+     * @param campo numeroCredito (padrão) ou numeroNfse
+     * @param prefixo Início do número digitado
+     * @param limite Quantidade máxima de sugestões (padrão 10)
+     * @return Sugestões em ordem crescente
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<CreditoAutocompleteResponseDto> autocomplete(
+            @RequestParam(defaultValue = "numeroCredito") String campo,
+            @RequestParam(required = false) String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(creditoAutocompleteService.sugerir(campo, prefixo, limite));
+    }
+
+    /**
+     * Totais de créditos (quantidade, valor do ISSQN, valor faturado e base de cálculo)
+     * por status, tipo de crédito e mês de constituição, lidos das estatísticas
+     * pré-agregadas.
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<CreditoEstatisticaResponseDto> estatisticas() {
+        return ResponseEntity.ok(creditoEstatisticaService.consultar());
+    }
+
+    /**
+     * Reconstrói as estatísticas a partir da tabela de créditos (operação administrativa).
+     */
+    @PostMapping("/estatisticas/recalcular")
+    public ResponseEntity<Void> recalcularEstatisticas() {
+        creditoEstatisticaService.recalcular();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Percentis de uma coluna numérica, calculados sobre o snapshot analítico em memória.
+     *
+     * @param coluna valorIssqn, valorFaturado, valorDeducao, baseCalculo ou aliquota
+     * @param p Percentis desejados, em (0, 100] (padrão 50, 90 e 99)
+     */
+    @GetMapping("/analytics/percentis")
+    public ResponseEntity<CreditoPercentisResponseDto> analyticsPercentis(
+            @RequestParam String coluna,
+            @RequestParam(required = false) List<Double> p,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String tipoCredito,
+            @RequestParam(required = false) Boolean simplesNacional) {
+        return ResponseEntity.ok(creditoAnalyticsService.percentis(coluna, p, status, tipoCredito, simplesNacional));
+    }
+
+    /**
+     * Quantidade, soma, mínimo, máximo e média de uma coluna numérica por mês de
+     * constituição, calculados sobre o snapshot analítico em memória.
+     */
+    @GetMapping("/analytics/distribuicao-mensal")
+    public ResponseEntity<CreditoDistribuicaoMensalResponseDto> analyticsDistribuicaoMensal(
+            @RequestParam String coluna,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String tipoCredito,
+            @RequestParam(required = false) Boolean simplesNacional) {
+        return ResponseEntity.ok(creditoAnalyticsService.distribuicaoMensal(coluna, status, tipoCredito, simplesNacional));
+    }
+
     @GetMapping("/next-numero-credito")
     public ResponseEntity<NextValueResponseDto> nextNumeroCredito() {
         return ResponseEntity.ok(new NextValueResponseDto(creditoNumeroGeneratorService.nextNumeroCredito()));
@@ -62,9 +242,10 @@ public class CreditoController {
      * @return Lista de créditos encontrados
      */
     @GetMapping("/{numeroNfse}")
-    public ResponseEntity<List<CreditoQueryResponseDto>> findByNumeroNfse(@PathVariable String numeroNfse) {
-        List<CreditoQueryResponseDto> creditos = creditoService.findAllByNumeroNfse(numeroNfse);
-        return ResponseEntity.ok().body(creditos);
+    public ResponseEntity<byte[]> findByNumeroNfse(
+            @PathVariable String numeroNfse,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return respostaCondicional(creditoService.findJsonByNumeroNfse(numeroNfse, ifNoneMatch));
     }
 
     /**
@@ -74,12 +255,53 @@ public class CreditoController {
      * @return Crédito encontrado ou 404 se não encontrado
      */
     @GetMapping("/credito/{numeroCredito}")
-    public ResponseEntity<CreditoQueryResponseDto> findByNumeroCredito(@PathVariable String numeroCredito) {
-        return creditoService.findByNumeroCredito(numeroCredito)
-                .map(dto -> ResponseEntity.ok().body(dto))
+    public ResponseEntity<byte[]> findByNumeroCredito(
+            @PathVariable String numeroCredito,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return creditoService.findJsonByNumeroCredito(numeroCredito, ifNoneMatch)
+                .map(this::respostaCondicional)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 304 sem corpo quando o ETag do cliente ainda vale; caso contrário 200 com ETag e o
+     * JSON já serializado, escrito como está na saída. Créditos finalizados
+     * (APROVADO/REPROVADO) podem ser reutilizados pelo cliente sem revalidar; os demais
+     * exigem revalidação a cada uso.
+     */
+    private ResponseEntity<byte[]> respostaCondicional(CreditoConsultaCondicional<byte[]> consulta) {
+        CreditoVersao versao = consulta.versao();
+        if (versao == null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(consulta.corpo());
+        }
+        CacheControl cacheControl = versao.finalizado()
+                ? CacheControl.maxAge(Duration.ofSeconds(finalizadoMaxAgeSeconds))
+                : CacheControl.noCache();
+        if (consulta.naoModificado()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(versao.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(versao.etag())
+                .cacheControl(cacheControl)
+                .body(consulta.corpo());
+    }
+
+    /**
+     * Busca vários créditos por número de crédito em uma única requisição.
+     *
+     * @param requestDto Números de crédito (até 1000, repetidos são ignorados)
+     * @return Créditos encontrados e números sem crédito correspondente
+     */
+    @PostMapping("/credito/lote")
+    public ResponseEntity<CreditoLoteConsultaResponseDto> findAllByNumeroCredito(
+            @RequestBody CreditoLoteConsultaRequestDto requestDto) {
+        return ResponseEntity.ok(creditoService.findAllByNumeroCredito(requestDto.getNumerosCredito()));
+    }
+
     /**
      * Cria um novo crédito com workflow inicial (status EM_ANALISE).
      * 
@@ -95,6 +317,18 @@ public class CreditoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * Cria vários créditos (sem comprovante) em uma única requisição.
+     *
+     * @param requestDto Créditos a criar (até 50000); números ausentes são gerados
+     * @return Créditos criados e erros por item, identificados pela posição na lista
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<CreditoLoteCriacaoResponseDto> createLote(
+            @RequestBody CreditoLoteCriacaoRequestDto requestDto) {
+        return ResponseEntity.ok(creditoLoteService.criar(requestDto.getCreditos()));
+    }
+
     /**
      * Atualiza o status de um crédito.
      * 
@@ -121,4 +355,46 @@ public class CreditoController {
         creditoService.analisar(id, requestDto);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Emite um formulário assinado para o cliente enviar o comprovante direto ao MinIO (POST),
+     * limitado a 2 MB pela política.
+     *
+     * @param id ID do crédito
+     * @param requestDto Nome do arquivo (define a extensão: .pdf, .png ou .jpg)
+     * @return URL, campos do formulário, objectName a informar na conclusão e validade
+     */
+    @PostMapping("/{id}/comprovante/upload-url")
+    public ResponseEntity<CreditoComprovanteUrlResponseDto> gerarUrlUploadComprovante(
+            @PathVariable Long id,
+            @RequestBody CreditoComprovanteUploadRequestDto requestDto) {
+        return ResponseEntity.ok(creditoComprovanteService.gerarUrlUpload(id, requestDto.getNomeArquivo()));
+    }
+
+    /**
+     * Conclui o envio direto: confere o objeto no bucket e o associa ao crédito.
+     *
+     * @param id ID do crédito
+     * @param requestDto objectName recebido em upload-url
+     * @return Crédito com o comprovante ENVIADO; 413/415 se o objeto for recusado
+     */
+    @PostMapping("/{id}/comprovante/concluir")
+    public ResponseEntity<CreditoAdminResponseDto> concluirUploadComprovante(
+            @PathVariable Long id,
+            @RequestBody CreditoComprovanteConclusaoRequestDto requestDto) {
+        return ResponseEntity.ok(creditoComprovanteService.concluirUpload(id, requestDto.getObjectName()));
+    }
+
+    /**
+     * Emite uma URL assinada para o cliente baixar o comprovante direto do MinIO (GET).
+     *
+     * @param id ID do crédito
+     * @return URL e validade; 404 se o crédito não tiver comprovante
+     */
+    @GetMapping("/{id}/comprovante/download-url")
+    public ResponseEntity<CreditoComprovanteUrlResponseDto> gerarUrlDownloadComprovante(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(creditoComprovanteService.gerarUrlDownload(id));
+    }
 }
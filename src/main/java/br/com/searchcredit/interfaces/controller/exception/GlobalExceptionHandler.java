@@ -6,9 +6,15 @@ import br.com.searchcredit.application.exception.CreditoNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
 import java.time.LocalDateTime;
@@ -44,6 +50,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getHttpStatus()).body(body);
     }
 
+    /**
+     * Lançada pelo parser multipart assim que o corpo passa de {@code spring.servlet.multipart.*},
+     * antes de o restante do upload ser lido.
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        log.warn("Upload recusado por exceder o tamanho máximo: {}", ex.getMessage());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        body.put("error", HttpStatus.PAYLOAD_TOO_LARGE.getReasonPhrase());
+        body.put("message", "Arquivo excede o tamanho máximo permitido de 2MB");
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(body);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalStateException(IllegalStateException ex) {
         log.warn("Violação de regra de negócio: {}", ex.getMessage());
@@ -70,6 +93,53 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Erros de binding de parâmetros de query (ex.: status desconhecido na busca).
+     * A validação do corpo tem handler próprio, abaixo.
+     */
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<Map<String, Object>> handleBindException(BindException ex) {
+        log.warn("Parâmetros inválidos: {}", ex.getMessage());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Parâmetros inválidos: " + ex.getFieldErrors().stream()
+                .map(FieldError::getField)
+                .distinct()
+                .toList());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * {@link MethodArgumentNotValidException} estende {@link BindException} e, desde o
+     * Spring 6, também é lançada no binding de query em objeto; só {@code @RequestBody} e
+     * {@code @RequestPart} recebem a resposta de corpo inválido.
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Map<String, Object>> handleMethodArgumentNotValidException(
+            MethodArgumentNotValidException ex) {
+        if (!ex.getParameter().hasParameterAnnotation(RequestBody.class)
+                && !ex.getParameter().hasParameterAnnotation(RequestPart.class)) {
+            return handleBindException(ex);
+        }
+        log.warn("Corpo da requisição inválido: {}", ex.getMessage());
+
+        Map<String, String> campos = new HashMap<>();
+        ex.getFieldErrors().forEach(erro -> campos.putIfAbsent(erro.getField(), erro.getDefaultMessage()));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", "Corpo da requisição inválido");
+        body.put("campos", campos);
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<Map<String, Object>> handleNoHandlerFoundException(NoHandlerFoundException ex) {
         log.debug("Endpoint não encontrado: {}", ex.getRequestURL());
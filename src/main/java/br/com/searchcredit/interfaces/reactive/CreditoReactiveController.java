@@ -0,0 +1,51 @@
+package br.com.searchcredit.interfaces.reactive;
+
+import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.application.service.CreditoReactiveQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas públicas em WebFlux, com as mesmas rotas e o mesmo JSON de
+ * {@code CreditoController}. Só é registrado na aplicação reativa.
+ */
+@RestController
+@RequestMapping("/api/creditos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class CreditoReactiveController {
+
+    private final CreditoReactiveQueryService creditoReactiveQueryService;
+
+    /**
+     * Busca créditos por número de NFS-e.
+     *
+     * Com {@code Accept: application/x-ndjson} cada crédito é escrito assim que lido,
+     * no ritmo que o cliente consome; com {@code application/json} a resposta é o
+     * mesmo array JSON da API servlet.
+     */
+    @GetMapping(value = "/{numeroNfse}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CreditoQueryResponseDto> findByNumeroNfse(@PathVariable String numeroNfse) {
+        return creditoReactiveQueryService.findAllByNumeroNfse(numeroNfse);
+    }
+
+    /**
+     * Busca um crédito por número de crédito.
+     *
+     * @return Crédito encontrado ou 404 se não encontrado
+     */
+    @GetMapping("/credito/{numeroCredito}")
+    public Mono<ResponseEntity<CreditoQueryResponseDto>> findByNumeroCredito(@PathVariable String numeroCredito) {
+        return creditoReactiveQueryService.findByNumeroCredito(numeroCredito)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
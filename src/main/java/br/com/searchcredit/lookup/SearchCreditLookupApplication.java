@@ -0,0 +1,66 @@
+package br.com.searchcredit.lookup;
+
+import br.com.searchcredit.application.service.CreditoReactiveQueryService;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoAggregator;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoEventDispatcher;
+import br.com.searchcredit.infrastructure.kafka.KafkaConfig;
+import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.repository.r2dbc.CreditoReactiveQueryRepository;
+import br.com.searchcredit.interfaces.reactive.CreditoReactiveController;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Aplicação opcional, somente leitura, que atende as consultas públicas por número de
+ * crédito e por NFS-e em WebFlux (Netty) + R2DBC, sem uma thread por requisição.
+ * Roda em processo separado da API principal, com o profile {@code reactive-lookup}
+ * (porta e conexão R2DBC em application.yml).
+ *
+ * Não faz varredura de componentes: importa apenas o controller, o service e o
+ * repositório reativos, mais a agregação de eventos de consulta. JDBC/JPA/Liquibase
+ * ficam de fora. Na API principal esta classe e os componentes reativos são ignorados
+ * ({@link ConditionalOnWebApplication}).
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = DataSourceAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({
+        CreditoReactiveController.class,
+        CreditoReactiveQueryService.class,
+        CreditoReactiveQueryRepository.class,
+        KafkaConfig.class,
+        KafkaEventPublisher.class,
+        ConsultaCreditoEventDispatcher.class,
+        ConsultaCreditoAggregator.class
+})
+public class SearchCreditLookupApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(SearchCreditLookupApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive-lookup")
+                .run(args);
+    }
+
+    /**
+     * O Tomcat também está no classpath (API principal); sem este bean ele seria o servidor escolhido.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
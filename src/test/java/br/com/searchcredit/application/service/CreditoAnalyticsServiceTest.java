@@ -0,0 +1,79 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoDistribuicaoMensalResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoPercentisResponseDto;
+import br.com.searchcredit.domain.enums.CreditoColunaNumerica;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.analytics.FiltroColunar;
+import br.com.searchcredit.infrastructure.analytics.ResumoMensal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoAnalyticsService - Testes Unitários")
+class CreditoAnalyticsServiceTest {
+
+    @Mock
+    private CreditoColumnarSnapshot snapshot;
+
+    @InjectMocks
+    private CreditoAnalyticsService service;
+
+    @Test
+    @DisplayName("Deve calcular percentis pelo método nearest-rank")
+    void shouldComputeNearestRankPercentiles() {
+        // Arrange
+        when(snapshot.valoresOrdenados(eq(CreditoColunaNumerica.ALIQUOTA), any(FiltroColunar.class)))
+                .thenReturn(LongStream.rangeClosed(1, 100).map(v -> v * 10).toArray());
+
+        // Act
+        CreditoPercentisResponseDto result = service.percentis("aliquota", List.of(50.0, 99.5, 100.0), "aprovado", null, null);
+
+        // Assert
+        assertThat(result.getQuantidade()).isEqualTo(100);
+        assertThat(result.getPercentis()).containsOnlyKeys("p50", "p99.5", "p100");
+        assertThat(result.getPercentis().get("p50")).isEqualByComparingTo("5.00");
+        assertThat(result.getPercentis().get("p99.5")).isEqualByComparingTo("10.00");
+        assertThat(result.getPercentis().get("p100")).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar coluna não numérica e percentil fora do intervalo")
+    void shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> service.percentis("numeroCredito", null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.percentis("aliquota", List.of(0.0), null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve formatar a distribuição mensal em reais com média")
+    void shouldFormatMonthlyDistribution() {
+        // Arrange
+        when(snapshot.distribuicaoMensal(eq(CreditoColunaNumerica.VALOR_ISSQN), any(FiltroColunar.class)))
+                .thenReturn(List.of(new ResumoMensal(-1, 1, 700, 700, 700),
+                        new ResumoMensal(2024 * 12 + 1, 2, 4001, 1000, 3001)));
+
+        // Act
+        CreditoDistribuicaoMensalResponseDto result = service.distribuicaoMensal("valorIssqn", null, null, null);
+
+        // Assert
+        assertThat(result.getMeses()).extracting(CreditoDistribuicaoMensalResponseDto.Mes::getMes)
+                .containsExactly("NAO_INFORMADO", "2024-02");
+        assertThat(result.getMeses().get(1).getSoma()).isEqualByComparingTo("40.01");
+        assertThat(result.getMeses().get(1).getMedia()).isEqualByComparingTo("20.01");
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoAutocompleteResponseDto;
+import br.com.searchcredit.domain.enums.CreditoPrefixField;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoAutocompleteService - Testes Unitários")
+class CreditoAutocompleteServiceTest {
+
+    @Mock
+    private CreditoRepository creditoRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CreditoAutocompleteService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CreditoAutocompleteService(creditoRepository, meterRegistry, 50, 100);
+    }
+
+    @Test
+    @DisplayName("Deve retornar as sugestões do repositório para o prefixo informado")
+    void shouldReturnSuggestionsForPrefix() {
+        // Arrange
+        when(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_NFSE, "NFSE12", 5, 100))
+                .thenReturn(List.of("NFSE120", "NFSE121"));
+
+        // Act
+        CreditoAutocompleteResponseDto result = service.sugerir("numeroNfse", " NFSE12 ", 5);
+
+        // Assert
+        assertThat(result.getSugestoes()).containsExactly("NFSE120", "NFSE121");
+        assertThat(result.isParcial()).isFalse();
+        assertThat(meterRegistry.get("credito.autocomplete").tag("resultado", "ok").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve responder vazio e parcial quando a busca exceder o tempo limite")
+    void shouldReturnPartialEmptyResultOnTimeout() {
+        // Arrange
+        when(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_CREDITO, "CRED", 10, 100))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        CreditoAutocompleteResponseDto result = service.sugerir("numeroCredito", "CRED", 10);
+
+        // Assert
+        assertThat(result.getSugestoes()).isEmpty();
+        assertThat(result.isParcial()).isTrue();
+        assertThat(meterRegistry.get("credito.autocomplete").tag("resultado", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar campo, prefixo ou limite inválidos sem consultar o banco")
+    void shouldRejectInvalidArguments() {
+        assertThatThrownBy(() -> service.sugerir("tipoCredito", "ISS", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.sugerir("numeroCredito", "  ", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.sugerir("numeroCredito", "CRED", 51))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.sugerir("numeroCredito", "CRED", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(creditoRepository);
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoComprovanteUrlResponseDto;
+import br.com.searchcredit.application.exception.CreditoNotFoundException;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.StatusComprovante;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService.FormularioUpload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoComprovanteService - Testes Unitários")
+class CreditoComprovanteServiceTest {
+
+    @Mock
+    private CreditoRepository repository;
+
+    @Mock
+    private MinioStorageService minioStorageService;
+
+    @Mock
+    private ComprovanteUploadService comprovanteUploadService;
+
+    @Mock
+    private CreditoQueryCache creditoQueryCache;
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CreditoComprovanteService service;
+
+    private Credito credito;
+
+    @BeforeEach
+    void setUp() {
+        service = new CreditoComprovanteService(repository, minioStorageService, comprovanteUploadService,
+                creditoQueryCache,
+                readYourWritesGuard, new TransactionTemplate(transactionManager), 300);
+        credito = Credito.builder()
+                .id(7L)
+                .numeroCredito("123456")
+                .numeroNfse("7891011")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve emitir formulário de POST para um objeto pendente sob o prefixo do crédito")
+    void shouldIssueUploadFormUnderCreditoPrefix() {
+        // Arrange
+        when(repository.findById(7L)).thenReturn(Optional.of(credito));
+        when(minioStorageService.gerarNomeObjetoPendente(7L, "renda.pdf")).thenReturn("pendentes/7/abc.pdf");
+        when(minioStorageService.gerarFormularioUpload("pendentes/7/abc.pdf", Duration.ofSeconds(300)))
+                .thenReturn(new FormularioUpload("http://localhost:9000/comprovantes-renda",
+                        Map.of("key", "pendentes/7/abc.pdf", "policy", "eyJ9", "x-amz-signature", "x")));
+
+        // Act
+        CreditoComprovanteUrlResponseDto response = service.gerarUrlUpload(7L, "renda.pdf");
+
+        // Assert
+        assertThat(response.getMetodo()).isEqualTo("POST");
+        assertThat(response.getObjectName()).isEqualTo("pendentes/7/abc.pdf");
+        assertThat(response.getUrl()).isEqualTo("http://localhost:9000/comprovantes-renda");
+        assertThat(response.getCampos()).containsEntry("key", "pendentes/7/abc.pdf").containsKey("policy");
+        assertThat(response.getExpiraEm()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve recusar a conclusão de um objeto emitido para outro crédito")
+    void shouldRejectObjectIssuedForAnotherCredito() {
+        // Act & Assert
+        assertThatThrownBy(() -> service.concluirUpload(7L, "pendentes/70/abc.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.concluirUpload(7L, "pendentes/7/../70/abc.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.concluirUpload(7L, "diretos/7/abc.pdf"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(minioStorageService, never()).concluirObjetoEnviado(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve concluir o objeto pendente, associá-lo ao crédito como ENVIADO e remover o direto substituído")
+    void shouldConcludeObjectAndLinkItToCredito() {
+        // Arrange
+        credito.setComprovanteUrl("http://localhost:9000/comprovantes-renda/diretos/7/antigo.pdf");
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findById(7L)).thenReturn(Optional.of(credito));
+        when(minioStorageService.objetoDaUrl("http://localhost:9000/comprovantes-renda/diretos/7/antigo.pdf"))
+                .thenReturn(Optional.of("diretos/7/antigo.pdf"));
+        when(minioStorageService.concluirObjetoEnviado("pendentes/7/abc.pdf"))
+                .thenReturn("http://localhost:9000/comprovantes-renda/diretos/7/abc.pdf");
+        when(repository.save(credito)).thenReturn(credito);
+
+        // Act
+        CreditoAdminResponseDto response = service.concluirUpload(7L, "pendentes/7/abc.pdf");
+
+        // Assert
+        assertThat(response.getComprovanteUrl()).isEqualTo("http://localhost:9000/comprovantes-renda/diretos/7/abc.pdf");
+        assertThat(response.getComprovanteStatus()).isEqualTo(StatusComprovante.ENVIADO);
+        verify(creditoQueryCache).invalidate(credito);
+        verify(readYourWritesGuard).registrarEscrita();
+        verify(minioStorageService).removerComprovanteSubstituido("diretos/7/antigo.pdf");
+        verify(comprovanteUploadService, never()).cancelar(any());
+    }
+
+    @Test
+    @DisplayName("Deve descartar o comprovante em disco da criação ao concluir o envio direto de um crédito FALHOU")
+    void shouldCancelStagedComprovanteWhenConcludingFailedCredito() {
+        // Arrange
+        credito.setComprovanteStatus(StatusComprovante.FALHOU);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findById(7L)).thenReturn(Optional.of(credito));
+        when(minioStorageService.objetoDaUrl(null)).thenReturn(Optional.empty());
+        when(minioStorageService.concluirObjetoEnviado("pendentes/7/abc.pdf"))
+                .thenReturn("http://localhost:9000/comprovantes-renda/diretos/7/abc.pdf");
+        when(repository.save(credito)).thenReturn(credito);
+
+        // Act
+        CreditoAdminResponseDto response = service.concluirUpload(7L, "pendentes/7/abc.pdf");
+
+        // Assert
+        assertThat(response.getComprovanteStatus()).isEqualTo(StatusComprovante.ENVIADO);
+        verify(comprovanteUploadService).cancelar(7L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 ao pedir URL de download de crédito sem comprovante")
+    void shouldFailDownloadUrlWhenCreditoHasNoComprovante() {
+        // Arrange
+        when(repository.findById(7L)).thenReturn(Optional.of(credito));
+        when(minioStorageService.objetoDaUrl(null)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.gerarUrlDownload(7L))
+                .isInstanceOf(CreditoNotFoundException.class);
+        verify(minioStorageService, never()).gerarUrlDownload(anyString(), any());
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoEstatisticaResponseDto;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.entity.CreditoEstatistica;
+import br.com.searchcredit.domain.entity.CreditoEstatisticaId;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.infrastructure.repository.jpa.CreditoEstatisticaJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoEstatisticaService - Testes Unitários")
+class CreditoEstatisticaServiceTest {
+
+    @Mock
+    private CreditoEstatisticaJpaRepository estatisticaRepository;
+
+    @InjectMocks
+    private CreditoEstatisticaService service;
+
+    @Test
+    @DisplayName("Deve somar o crédito criado ao grupo do seu status, tipo e mês")
+    void shouldApplyPositiveDeltaOnCreation() {
+        // Arrange
+        Credito credito = credito(StatusCredito.EM_ANALISE, "ISSQN", LocalDate.of(2024, 3, 17));
+
+        // Act
+        service.registrarCriacao(credito);
+
+        // Assert
+        verify(estatisticaRepository).aplicarDelta("EM_ANALISE", "ISSQN", LocalDate.of(2024, 3, 1), 1,
+                new BigDecimal("100.00"), new BigDecimal("2000.00"), new BigDecimal("1800.00"));
+    }
+
+    @Test
+    @DisplayName("Deve mover o crédito do grupo do status anterior para o novo status")
+    void shouldMoveCreditoBetweenStatusGroups() {
+        // Arrange
+        Credito credito = credito(StatusCredito.APROVADO, null, null);
+
+        // Act
+        service.registrarMudancaStatus(credito, StatusCredito.EM_ANALISE);
+
+        // Assert
+        verify(estatisticaRepository).aplicarDelta("EM_ANALISE", "", CreditoEstatisticaId.MES_NAO_INFORMADO, -1,
+                new BigDecimal("-100.00"), new BigDecimal("-2000.00"), new BigDecimal("-1800.00"));
+        verify(estatisticaRepository).aplicarDelta("APROVADO", "", CreditoEstatisticaId.MES_NAO_INFORMADO, 1,
+                new BigDecimal("100.00"), new BigDecimal("2000.00"), new BigDecimal("1800.00"));
+    }
+
+    @Test
+    @DisplayName("Não deve alterar estatísticas quando o status não mudou")
+    void shouldIgnoreUnchangedStatus() {
+        // Act
+        service.registrarMudancaStatus(credito(StatusCredito.EM_ANALISE, "ISSQN", null), StatusCredito.EM_ANALISE);
+
+        // Assert
+        verify(estatisticaRepository, never()).aplicarDelta(any(), any(), any(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve consolidar os grupos por status, tipo e mês")
+    void shouldRollUpGroups() {
+        // Arrange
+        when(estatisticaRepository.findByQuantidadeGreaterThan(0)).thenReturn(List.of(
+                linha("APROVADO", "ISSQN", LocalDate.of(2024, 1, 1), 2, "10.00"),
+                linha("EM_ANALISE", "ISSQN", LocalDate.of(2024, 2, 1), 3, "20.00"),
+                linha("EM_ANALISE", "", CreditoEstatisticaId.MES_NAO_INFORMADO, 1, "5.00")));
+
+        // Act
+        CreditoEstatisticaResponseDto result = service.consultar();
+
+        // Assert
+        assertThat(result.getTotal().getQuantidade()).isEqualTo(6);
+        assertThat(result.getTotal().getSomaValorIssqn()).isEqualByComparingTo("35.00");
+        assertThat(result.getPorStatus().get("EM_ANALISE").getQuantidade()).isEqualTo(4);
+        assertThat(result.getPorTipoCredito().get("ISSQN").getSomaValorIssqn()).isEqualByComparingTo("30.00");
+        assertThat(result.getPorTipoCredito()).containsKey(CreditoEstatisticaResponseDto.NAO_INFORMADO);
+        assertThat(result.getPorMes()).containsKeys("2024-01", "2024-02", CreditoEstatisticaResponseDto.NAO_INFORMADO);
+        assertThat(result.getGrupos()).hasSize(3);
+        assertThat(result.getGrupos().get(1).getTipoCredito()).isNull();
+        assertThat(result.getGrupos().get(1).getMes()).isNull();
+    }
+
+    private static Credito credito(StatusCredito status, String tipoCredito, LocalDate dataConstituicao) {
+        return Credito.builder()
+                .status(status)
+                .tipoCredito(tipoCredito)
+                .dataConstituicao(dataConstituicao)
+                .valorIssqn(new BigDecimal("100.00"))
+                .valorFaturado(new BigDecimal("2000.00"))
+                .baseCalculo(new BigDecimal("1800.00"))
+                .build();
+    }
+
+    private static CreditoEstatistica linha(String status, String tipo, LocalDate mes, long quantidade, String valorIssqn) {
+        return CreditoEstatistica.builder()
+                .id(new CreditoEstatisticaId(status, tipo, mes))
+                .quantidade(quantidade)
+                .somaValorIssqn(new BigDecimal(valorIssqn))
+                .somaValorFaturado(BigDecimal.ZERO)
+                .somaBaseCalculo(BigDecimal.ZERO)
+                .build();
+    }
+}
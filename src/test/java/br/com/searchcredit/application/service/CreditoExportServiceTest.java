@@ -0,0 +1,153 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoExportFilter;
+import br.com.searchcredit.application.dto.credito.CreditoExportFormat;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoExportService - Testes Unitários")
+class CreditoExportServiceTest {
+
+    @Mock
+    private CreditoRepository creditoRepository;
+
+    private CreditoExportService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new CreditoExportService(creditoRepository, objectMapper, 50);
+    }
+
+    @Test
+    @DisplayName("Deve exportar uma linha JSON por crédito em NDJSON")
+    void shouldWriteOneJsonLinePerCreditoAsNdjson() throws IOException {
+        // Arrange
+        CreditoExportFilter filtro = new CreditoExportFilter(StatusCredito.APROVADO, null, null);
+        stubStream(filtro, view(1L, "CRED-001", null), view(2L, "CRED-002", null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service.exportar(CreditoExportFormat.NDJSON, filtro, out);
+
+        // Assert
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas[0]).startsWith("{").contains("\"numeroCredito\":\"CRED-001\"")
+                .contains("\"dataConstituicao\":\"2024-01-10\"")
+                .contains("\"simplesNacional\":\"Sim\"");
+        assertThat(linhas[1]).contains("\"id\":2");
+        verify(creditoRepository).streamForExport(eq(StatusCredito.APROVADO), eq(null), eq(null), eq(50), any());
+    }
+
+    @Test
+    @DisplayName("Deve exportar CSV com cabeçalho e escapar vírgulas, aspas e quebras de linha")
+    void shouldWriteCsvWithHeaderAndEscapedValues() throws IOException {
+        // Arrange
+        CreditoExportFilter filtro = new CreditoExportFilter(null, null, null);
+        stubStream(filtro, view(1L, "CRED-001", "Aprovado, com \"ressalva\"\nrevisar"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        service.exportar(CreditoExportFormat.CSV, filtro, out);
+
+        // Assert
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith(CreditoExportService.CSV_HEADER + "\n");
+        assertThat(csv).contains("1,CRED-001,NFSE-001,2024-01-10,10.00,ISSQN,Sim,");
+        assertThat(csv).contains(",\"Aprovado, com \"\"ressalva\"\"\nrevisar\",");
+    }
+
+    @Test
+    @DisplayName("Deve propagar IOException quando o cliente interrompe a exportação")
+    void shouldPropagateIOExceptionWhenClientAborts() {
+        // Arrange
+        CreditoExportFilter filtro = new CreditoExportFilter(null, null, null);
+        stubStream(filtro, view(1L, "CRED-001", "x".repeat(70_000)));
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.exportar(CreditoExportFormat.NDJSON, filtro, out))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar intervalo de datas invertido e status inexistente")
+    void shouldRejectInvalidFilter() {
+        assertThatThrownBy(() -> CreditoExportFilter.of(null, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CreditoExportFilter.of("INEXISTENTE", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CreditoExportFormat.fromValue("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(CreditoExportFilter.of("aprovado", null, null).status()).isEqualTo(StatusCredito.APROVADO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStream(CreditoExportFilter filtro, CreditoExportView... creditos) {
+        doAnswer(invocation -> {
+            Consumer<CreditoExportView> consumer = invocation.getArgument(4);
+            for (CreditoExportView credito : creditos) {
+                consumer.accept(credito);
+            }
+            return null;
+        }).when(creditoRepository).streamForExport(
+                eq(filtro.status()), eq(filtro.dataInicio()), eq(filtro.dataFim()), eq(50), any(Consumer.class));
+    }
+
+    private static CreditoExportView view(Long id, String numeroCredito, String comentarioAnalise) {
+        return new CreditoExportView(
+                id,
+                numeroCredito,
+                "NFSE-001",
+                LocalDate.of(2024, 1, 10),
+                new BigDecimal("10.00"),
+                "ISSQN",
+                true,
+                new BigDecimal("5.00"),
+                new BigDecimal("100.00"),
+                BigDecimal.ZERO,
+                new BigDecimal("100.00"),
+                StatusCredito.APROVADO,
+                LocalDateTime.of(2024, 1, 11, 10, 0),
+                "usuario",
+                "analista",
+                comentarioAnalise,
+                LocalDateTime.of(2024, 1, 12, 10, 0));
+    }
+}
@@ -0,0 +1,223 @@
+package br.com.searchcredit.application.service;
+
+import br.com.searchcredit.application.dto.credito.CreditoCreateRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteCriacaoResponseDto;
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
+import br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoLoteService - Testes Unitários")
+class CreditoLoteServiceTest {
+
+    @Mock
+    private CreditoRepository repository;
+
+    @Mock
+    private CreditoNumeroGeneratorService creditoNumeroGeneratorService;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private CreditoQueryCache creditoQueryCache;
+
+    @Mock
+    private CreditoEstatisticaService estatisticaService;
+
+    @Mock
+    private CreditoColumnarSnapshot analyticsSnapshot;
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private CreditoLoteService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CreditoLoteService(repository, creditoNumeroGeneratorService, outboxEventPublisher,
+                creditoQueryCache, estatisticaService, analyticsSnapshot, readYourWritesGuard,
+                new TransactionTemplate(transactionManager), 2);
+    }
+
+    @Test
+    @DisplayName("Deve criar em blocos, gerar números em lote e gravar os eventos no outbox por bloco")
+    void shouldCreateInChunksWithBulkNumbersAndOutboxBatchPerChunk() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findNumerosCreditoExistentes(anyCollection())).thenReturn(Set.of());
+        when(creditoNumeroGeneratorService.nextNumerosCredito(2)).thenReturn(List.of("900001", "900002"));
+        when(creditoNumeroGeneratorService.nextNumerosNfse(1)).thenReturn(List.of("800001"));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> salvar(invocation.getArgument(0)));
+
+        List<CreditoCreateRequestDto> itens = List.of(
+                request("123456", "7891011"),
+                request(null, "7891011"),
+                request(null, null));
+
+        // Act
+        CreditoLoteCriacaoResponseDto response = service.criar(itens);
+
+        // Assert
+        assertThat(response.getRecebidos()).isEqualTo(3);
+        assertThat(response.getErros()).isEmpty();
+        assertThat(response.getCriados())
+                .extracting(CreditoLoteCriacaoResponseDto.Criado::getNumeroCredito)
+                .containsExactly("123456", "900001", "900002");
+        assertThat(response.getCriados().get(2).getNumeroNfse()).isEqualTo("800001");
+        assertThat(response.getCriados()).allSatisfy(criado -> assertThat(criado.getId()).isNotNull());
+
+        verify(creditoNumeroGeneratorService, times(1)).nextNumerosCredito(anyInt());
+        verify(repository, times(2)).saveAll(anyList());
+        verify(estatisticaService, times(2)).registrarCriacoes(anyList());
+        verify(creditoQueryCache, times(3)).invalidate(any(Credito.class));
+        verify(readYourWritesGuard).registrarEscrita();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SolicitacaoCreditoEvent>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventPublisher, times(2)).publishSolicitacaoCreditoBatch(eventos.capture());
+        assertThat(eventos.getAllValues())
+                .flatExtracting(lote -> lote.stream().map(SolicitacaoCreditoEvent::getNumeroCredito).toList())
+                .containsExactly("123456", "900001", "900002");
+    }
+
+    @Test
+    @DisplayName("Deve reportar por item números repetidos no lote, já cadastrados e itens nulos")
+    void shouldReportPerItemValidationErrors() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findNumerosCreditoExistentes(anyCollection())).thenReturn(Set.of("222222"));
+        when(creditoNumeroGeneratorService.nextNumerosCredito(0)).thenReturn(List.of());
+        when(creditoNumeroGeneratorService.nextNumerosNfse(0)).thenReturn(List.of());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> salvar(invocation.getArgument(0)));
+
+        List<CreditoCreateRequestDto> itens = Arrays.asList(
+                request("111111", "7891011"),
+                request("111111", "7891011"),
+                null,
+                request("222222", "7891011"));
+
+        // Act
+        CreditoLoteCriacaoResponseDto response = service.criar(itens);
+
+        // Assert
+        assertThat(response.getCriados())
+                .extracting(CreditoLoteCriacaoResponseDto.Criado::getIndice)
+                .containsExactly(0);
+        assertThat(response.getErros())
+                .extracting(CreditoLoteCriacaoResponseDto.Erro::getIndice)
+                .containsExactly(1, 2, 3);
+        assertThat(response.getErros().get(0).getMensagem()).contains("repetido");
+        assertThat(response.getErros().get(2).getMensagem()).contains("já cadastrado");
+    }
+
+    @Test
+    @DisplayName("Deve regravar item a item quando o bloco falha, isolando apenas o item inválido")
+    void shouldFallbackToSingleItemsWhenChunkFails() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(repository.findNumerosCreditoExistentes(anyCollection())).thenReturn(Set.of());
+        when(creditoNumeroGeneratorService.nextNumerosCredito(0)).thenReturn(List.of());
+        when(creditoNumeroGeneratorService.nextNumerosNfse(0)).thenReturn(List.of());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Credito> creditos = invocation.getArgument(0);
+            if (creditos.stream().anyMatch(c -> c.getDataConstituicao() == null)) {
+                creditos.forEach(c -> c.setId(ids.incrementAndGet()));
+                throw new DataIntegrityViolationException("data_constituicao não pode ser nula");
+            }
+            return salvar(creditos);
+        });
+
+        CreditoCreateRequestDto invalido = request("222222", "7891011");
+        invalido.setDataConstituicao(null);
+        List<CreditoCreateRequestDto> itens = List.of(request("111111", "7891011"), invalido);
+
+        // Act
+        CreditoLoteCriacaoResponseDto response = service.criar(itens);
+
+        // Assert
+        assertThat(response.getCriados())
+                .extracting(CreditoLoteCriacaoResponseDto.Criado::getNumeroCredito)
+                .containsExactly("111111");
+        assertThat(response.getErros()).hasSize(1);
+        assertThat(response.getErros().get(0).getIndice()).isEqualTo(1);
+        assertThat(response.getErros().get(0).getMensagem()).contains("data_constituicao");
+        verify(repository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote vazio")
+    void shouldRejectEmptyLote() {
+        // Act & Assert
+        assertThatThrownBy(() -> service.criar(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).saveAll(anyList());
+        verify(outboxEventPublisher, never()).publishSolicitacaoCreditoBatch(anyList());
+    }
+
+    private List<Credito> salvar(List<Credito> creditos) {
+        List<Credito> salvos = new ArrayList<>(creditos);
+        salvos.forEach(c -> {
+            c.setId(ids.incrementAndGet());
+            c.setVersao(0L);
+        });
+        return salvos;
+    }
+
+    private static CreditoCreateRequestDto request(String numeroCredito, String numeroNfse) {
+        CreditoCreateRequestDto dto = new CreditoCreateRequestDto();
+        dto.setNumeroCredito(numeroCredito);
+        dto.setNumeroNfse(numeroNfse);
+        dto.setDataConstituicao(LocalDate.of(2024, 2, 25));
+        dto.setValorIssqn(new BigDecimal("1500.75"));
+        dto.setTipoCredito("ISSQN");
+        dto.setSimplesNacional(true);
+        dto.setAliquota(new BigDecimal("5.0"));
+        dto.setValorFaturado(new BigDecimal("30000.00"));
+        dto.setValorDeducao(new BigDecimal("5000.00"));
+        dto.setBaseCalculo(new BigDecimal("25000.00"));
+        dto.setSolicitadoPor("sistema");
+        return dto;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.searchcredit.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoNumeroGeneratorService - Testes Unitários")
+class CreditoNumeroGeneratorServiceTest {
+
+    private static final long INCREMENTO = 100;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private CreditoNumeroGeneratorService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CreditoNumeroGeneratorService(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve distribuir o bloco reservado sem voltar ao banco até esgotá-lo")
+    void shouldHandOutBlockWithoutDatabaseRoundTrips() throws Exception {
+        // Arrange
+        simularSequence();
+
+        // Act
+        List<String> numeros = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            numeros.add(service.nextNumeroCredito());
+        }
+
+        // Assert
+        assertThat(numeros.get(0)).isEqualTo("1");
+        assertThat(numeros.get(149)).isEqualTo("150");
+        verify(jdbcTemplate, times(2)).query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve gerar números únicos sob concorrência")
+    void shouldGenerateUniqueNumbersConcurrently() throws Exception {
+        // Arrange
+        simularSequence();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<String> numeros = ConcurrentHashMap.newKeySet();
+
+        // Act
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tarefas.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    numeros.add(service.nextNumeroNfse());
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(numeros).hasSize(8000);
+        verify(jdbcTemplate, times(80)).query(contains("credito_numero_nfse_seq"), ArgumentMatchers.<RowMapper<Object>>any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve reservar lotes em blocos próprios, sem repetir números já entregues")
+    void shouldReserveBulkInOwnBlocks() throws Exception {
+        // Arrange
+        simularSequence();
+        String avulso = service.nextNumeroCredito();
+
+        // Act
+        List<String> lote = service.nextNumerosCredito(250);
+
+        // Assert
+        assertThat(lote).hasSize(250).doesNotHaveDuplicates().doesNotContain(avulso);
+        assertThat(lote.get(0)).isEqualTo("101");
+        assertThat(service.nextNumeroCredito()).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("Deve manter o formato legado CRED/NFSE usando a mesma numeração")
+    void shouldFormatLegacyNumbers() throws Exception {
+        // Arrange
+        simularSequence();
+
+        // Act & Assert
+        assertThat(service.nextNumeroCreditoLegado()).isEqualTo("CRED000001");
+        assertThat(service.nextNumeroNfseLegado()).isEqualTo("NFSE0000101");
+    }
+
+    /**
+     * Sequence compartilhada com incremento {@link #INCREMENTO}: cada linha devolve o fim do bloco.
+     */
+    private void simularSequence() throws Exception {
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Object>>any(), anyInt())).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            int blocos = invocation.getArgument(2);
+            List<Object> linhas = new ArrayList<>(blocos);
+            for (int i = 0; i < blocos; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(sequence.addAndGet(INCREMENTO));
+                when(rs.getLong(2)).thenReturn(INCREMENTO);
+                linhas.add(mapper.mapRow(rs, i));
+            }
+            return linhas;
+        });
+    }
+}
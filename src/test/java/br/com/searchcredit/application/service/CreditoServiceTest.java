@@ -1,11 +1,31 @@
 package br.com.searchcredit.application.service;
 
+import br.com.searchcredit.application.dto.common.CursorPageResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoAdminResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoCreateRequestDto;
+import br.com.searchcredit.application.dto.credito.CreditoLoteConsultaResponseDto;
 import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoResponseDto;
+import br.com.searchcredit.application.dto.credito.CreditoSearchRequestDto;
 import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoSortField;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.domain.projection.CreditoVersionView;
+import br.com.searchcredit.domain.enums.StatusComprovante;
+import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
-import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
-import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
-import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import br.com.searchcredit.domain.repository.CreditoSearchCriteria;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoAggregator;
+import br.com.searchcredit.infrastructure.kafka.event.SolicitacaoCreditoEvent;
+import br.com.searchcredit.infrastructure.kafka.outbox.OutboxEventPublisher;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,17 +33,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,14 +70,36 @@ class CreditoServiceTest {
     private CreditoRepository repository;
 
     @Mock
-    private KafkaEventPublisher kafkaEventPublisher;
+    private OutboxEventPublisher outboxEventPublisher;
 
     @Mock
-    private MinioStorageService minioStorageService;
+    private ComprovanteUploadService comprovanteUploadService;
 
     @Mock
     private CreditoNumeroGeneratorService creditoNumeroGeneratorService;
 
+    @Mock
+    private ConsultaCreditoAggregator consultaAggregator;
+
+    @Mock
+    private CreditoEstatisticaService estatisticaService;
+
+    @Mock
+    private CreditoColumnarSnapshot analyticsSnapshot;
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Spy
+    private CreditoQueryCache creditoQueryCache = new CreditoQueryCache(100, 60, 60, 5, 1_000_000,
+            new ReadYourWritesGuard(0), new SimpleMeterRegistry());
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private CreditoService creditoService;
 
@@ -71,142 +129,132 @@ class CreditoServiceTest {
 
     @Test
     @DisplayName("Deve retornar lista de créditos ao buscar por número da NFS-e existente")
-    void shouldReturnListOfCreditosWhenNfseExists() {
+    void shouldReturnListOfCreditosWhenNfseExists() throws Exception {
         // Arrange
-        List<Credito> creditos = List.of(credito);
-        when(repository.findAllByNumeroNfse(numeroNfse)).thenReturn(creditos);
+        List<CreditoQueryView> creditos = List.of(queryView(credito));
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenReturn(creditos);
 
         // Act
-        List<CreditoQueryResponseDto> result = creditoService.findAllByNumeroNfse(numeroNfse);
+        JsonNode result = consultarPorNfse(numeroNfse);
 
         // Assert
-        assertThat(result).isNotNull();
+        assertThat(result.isArray()).isTrue();
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getNumeroCredito()).isEqualTo(numeroCredito);
-        assertThat(result.get(0).getNumeroNfse()).isEqualTo(numeroNfse);
-        assertThat(result.get(0).getSimplesNacional()).isEqualTo("Sim");
-        assertThat(result.get(0).getValorIssqn()).isEqualByComparingTo(new BigDecimal("1500.00"));
+        assertThat(result.get(0).get("numeroCredito").asText()).isEqualTo(numeroCredito);
+        assertThat(result.get(0).get("numeroNfse").asText()).isEqualTo(numeroNfse);
+        assertThat(result.get(0).get("simplesNacional").asText()).isEqualTo("Sim");
+        assertThat(result.get(0).get("valorIssqn").decimalValue()).isEqualByComparingTo(new BigDecimal("1500.00"));
 
-        verify(repository, times(1)).findAllByNumeroNfse(numeroNfse);
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewsByNumeroNfse(numeroNfse);
+        verify(consultaAggregator, times(1)).record(any(), any());
     }
 
     @Test
     @DisplayName("Deve retornar lista vazia quando NFS-e não existir")
-    void shouldReturnEmptyListWhenNfseDoesNotExist() {
+    void shouldReturnEmptyListWhenNfseDoesNotExist() throws Exception {
         // Arrange
-        when(repository.findAllByNumeroNfse(numeroNfse)).thenReturn(Collections.emptyList());
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenReturn(Collections.emptyList());
 
         // Act
-        List<CreditoQueryResponseDto> result = creditoService.findAllByNumeroNfse(numeroNfse);
+        CreditoConsultaCondicional<byte[]> result = creditoService.findJsonByNumeroNfse(numeroNfse, null);
 
         // Assert
-        assertThat(result).isNotNull();
-        assertThat(result).isEmpty();
+        assertThat(objectMapper.readTree(result.corpo())).isEmpty();
+        assertThat(result.versao()).isNull();
 
-        verify(repository, times(1)).findAllByNumeroNfse(numeroNfse);
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewsByNumeroNfse(numeroNfse);
+        verify(consultaAggregator, times(1)).record(any(), any());
     }
 
     @Test
-    @DisplayName("Deve retornar Optional com crédito quando número de crédito existir")
-    void shouldReturnOptionalWithCreditoWhenNumeroCreditoExists() {
+    @DisplayName("Deve retornar o crédito quando número de crédito existir")
+    void shouldReturnCreditoWhenNumeroCreditoExists() throws Exception {
         // Arrange
-        when(repository.findByNumeroCredito(numeroCredito)).thenReturn(Optional.of(credito));
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
 
         // Act
-        Optional<CreditoQueryResponseDto> result = creditoService.findByNumeroCredito(numeroCredito);
+        Optional<JsonNode> result = consultarPorNumeroCredito(numeroCredito);
 
         // Assert
         assertThat(result).isPresent();
-        assertThat(result.get().getNumeroCredito()).isEqualTo(numeroCredito);
-        assertThat(result.get().getNumeroNfse()).isEqualTo(numeroNfse);
-        assertThat(result.get().getSimplesNacional()).isEqualTo("Sim");
+        assertThat(result.get().get("numeroCredito").asText()).isEqualTo(numeroCredito);
+        assertThat(result.get().get("numeroNfse").asText()).isEqualTo(numeroNfse);
+        assertThat(result.get().get("simplesNacional").asText()).isEqualTo("Sim");
 
-        verify(repository, times(1)).findByNumeroCredito(numeroCredito);
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewByNumeroCredito(numeroCredito);
+        verify(consultaAggregator, times(1)).record(any(), any());
     }
 
     @Test
     @DisplayName("Deve retornar Optional vazio quando número de crédito não existir")
     void shouldReturnEmptyOptionalWhenNumeroCreditoDoesNotExist() {
         // Arrange
-        when(repository.findByNumeroCredito(numeroCredito)).thenReturn(Optional.empty());
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.empty());
 
         // Act
-        Optional<CreditoQueryResponseDto> result = creditoService.findByNumeroCredito(numeroCredito);
+        Optional<CreditoConsultaCondicional<byte[]>> result = creditoService.findJsonByNumeroCredito(numeroCredito, null);
 
         // Assert
         assertThat(result).isEmpty();
 
-        verify(repository, times(1)).findByNumeroCredito(numeroCredito);
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewByNumeroCredito(numeroCredito);
+        verify(consultaAggregator, times(1)).record(any(), any());
     }
 
     @Test
-    @DisplayName("Deve publicar evento Kafka ao realizar consulta por NFS-e")
-    void shouldPublishKafkaEventWhenConsultingByNfse() {
+    @DisplayName("Deve registrar a consulta por NFS-e na agregação de eventos")
+    void shouldRecordConsultaWhenConsultingByNfse() {
         // Arrange
-        when(repository.findAllByNumeroNfse(numeroNfse)).thenReturn(List.of(credito));
-        ArgumentCaptor<ConsultaCreditoEvent> eventCaptor = ArgumentCaptor.forClass(ConsultaCreditoEvent.class);
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenReturn(List.of(queryView(credito)));
 
         // Act
-        creditoService.findAllByNumeroNfse(numeroNfse);
+        creditoService.findJsonByNumeroNfse(numeroNfse, null);
 
         // Assert
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(eventCaptor.capture());
-        ConsultaCreditoEvent capturedEvent = eventCaptor.getValue();
-        assertThat(capturedEvent.getTipoConsulta()).isEqualTo("numeroNfse");
-        assertThat(capturedEvent.getValorConsulta()).isEqualTo(numeroNfse);
-        assertThat(capturedEvent.getDataHora()).isNotNull();
+        verify(consultaAggregator, times(1)).record("numeroNfse", numeroNfse);
     }
 
     @Test
-    @DisplayName("Deve publicar evento Kafka ao realizar consulta por número de crédito")
-    void shouldPublishKafkaEventWhenConsultingByNumeroCredito() {
+    @DisplayName("Deve registrar a consulta por número de crédito na agregação de eventos")
+    void shouldRecordConsultaWhenConsultingByNumeroCredito() {
         // Arrange
-        when(repository.findByNumeroCredito(numeroCredito)).thenReturn(Optional.of(credito));
-        ArgumentCaptor<ConsultaCreditoEvent> eventCaptor = ArgumentCaptor.forClass(ConsultaCreditoEvent.class);
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
 
         // Act
-        creditoService.findByNumeroCredito(numeroCredito);
+        creditoService.findJsonByNumeroCredito(numeroCredito, null);
 
         // Assert
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(eventCaptor.capture());
-        ConsultaCreditoEvent capturedEvent = eventCaptor.getValue();
-        assertThat(capturedEvent.getTipoConsulta()).isEqualTo("numeroCredito");
-        assertThat(capturedEvent.getValorConsulta()).isEqualTo(numeroCredito);
-        assertThat(capturedEvent.getDataHora()).isNotNull();
+        verify(consultaAggregator, times(1)).record("numeroCredito", numeroCredito);
     }
 
     @Test
     @DisplayName("Deve converter corretamente simples nacional para 'Sim' quando true")
-    void shouldConvertSimplesNacionalToSimWhenTrue() {
+    void shouldConvertSimplesNacionalToSimWhenTrue() throws Exception {
         // Arrange
         credito.setSimplesNacional(true);
-        when(repository.findByNumeroCredito(numeroCredito)).thenReturn(Optional.of(credito));
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
 
         // Act
-        Optional<CreditoQueryResponseDto> result = creditoService.findByNumeroCredito(numeroCredito);
+        Optional<JsonNode> result = consultarPorNumeroCredito(numeroCredito);
 
         // Assert
         assertThat(result).isPresent();
-        assertThat(result.get().getSimplesNacional()).isEqualTo("Sim");
+        assertThat(result.get().get("simplesNacional").asText()).isEqualTo("Sim");
     }
 
     @Test
     @DisplayName("Deve converter corretamente simples nacional para false quando false")
-    void shouldConvertSimplesNacionalToFalseWhenFalse() {
+    void shouldConvertSimplesNacionalToFalseWhenFalse() throws Exception {
         // Arrange
         credito.setSimplesNacional(false);
-        when(repository.findByNumeroCredito(numeroCredito)).thenReturn(Optional.of(credito));
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
 
         // Act
-        Optional<CreditoQueryResponseDto> result = creditoService.findByNumeroCredito(numeroCredito);
+        Optional<JsonNode> result = consultarPorNumeroCredito(numeroCredito);
 
         // Assert
         assertThat(result).isPresent();
-        assertThat(result.get().getSimplesNacional()).isEqualTo("Não");
+        assertThat(result.get().get("simplesNacional").asText()).isEqualTo("Não");
     }
 
     @Test
@@ -214,15 +262,14 @@ class CreditoServiceTest {
     void shouldThrowExceptionWhenRepositoryThrowsExceptionOnFindByNfse() {
         // Arrange
         RuntimeException repositoryException = new RuntimeException("Erro ao acessar banco de dados");
-        when(repository.findAllByNumeroNfse(numeroNfse)).thenThrow(repositoryException);
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenThrow(repositoryException);
 
         // Act & Assert
-        assertThatThrownBy(() -> creditoService.findAllByNumeroNfse(numeroNfse))
+        assertThatThrownBy(() -> creditoService.findJsonByNumeroNfse(numeroNfse, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Erro ao acessar banco de dados");
 
-        verify(repository, times(1)).findAllByNumeroNfse(numeroNfse);
-        verify(kafkaEventPublisher, never()).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewsByNumeroNfse(numeroNfse);
     }
 
     @Test
@@ -230,20 +277,19 @@ class CreditoServiceTest {
     void shouldThrowExceptionWhenRepositoryThrowsExceptionOnFindByNumeroCredito() {
         // Arrange
         RuntimeException repositoryException = new RuntimeException("Erro ao acessar banco de dados");
-        when(repository.findByNumeroCredito(numeroCredito)).thenThrow(repositoryException);
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenThrow(repositoryException);
 
         // Act & Assert
-        assertThatThrownBy(() -> creditoService.findByNumeroCredito(numeroCredito))
+        assertThatThrownBy(() -> creditoService.findJsonByNumeroCredito(numeroCredito, null))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Erro ao acessar banco de dados");
 
-        verify(repository, times(1)).findByNumeroCredito(numeroCredito);
-        verify(kafkaEventPublisher, never()).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewByNumeroCredito(numeroCredito);
     }
 
     @Test
     @DisplayName("Deve retornar múltiplos créditos quando NFS-e tiver mais de um crédito associado")
-    void shouldReturnMultipleCreditosWhenNfseHasMultipleCredits() {
+    void shouldReturnMultipleCreditosWhenNfseHasMultipleCredits() throws Exception {
         // Arrange
         Credito credito2 = Credito.builder()
                 .id(2L)
@@ -259,20 +305,394 @@ class CreditoServiceTest {
                 .baseCalculo(new BigDecimal("34000.00"))
                 .build();
 
-        List<Credito> creditos = List.of(credito, credito2);
-        when(repository.findAllByNumeroNfse(numeroNfse)).thenReturn(creditos);
+        List<CreditoQueryView> creditos = List.of(queryView(credito), queryView(credito2));
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenReturn(creditos);
 
         // Act
-        List<CreditoQueryResponseDto> result = creditoService.findAllByNumeroNfse(numeroNfse);
+        JsonNode result = consultarPorNfse(numeroNfse);
 
         // Assert
-        assertThat(result).isNotNull();
         assertThat(result).hasSize(2);
-        assertThat(result.get(0).getNumeroCredito()).isEqualTo("CRED001");
-        assertThat(result.get(1).getNumeroCredito()).isEqualTo("CRED002");
+        assertThat(result.get(0).get("numeroCredito").asText()).isEqualTo("CRED001");
+        assertThat(result.get(1).get("numeroCredito").asText()).isEqualTo("CRED002");
 
-        verify(repository, times(1)).findAllByNumeroNfse(numeroNfse);
-        verify(kafkaEventPublisher, times(1)).publishConsultaCredito(any(ConsultaCreditoEvent.class));
+        verify(repository, times(1)).findQueryViewsByNumeroNfse(numeroNfse);
+        verify(consultaAggregator, times(1)).record(any(), any());
     }
-}
 
+    @Test
+    @DisplayName("Deve servir consultas repetidas por número de crédito a partir do cache")
+    void shouldServeRepeatedNumeroCreditoLookupsFromCache() throws Exception {
+        // Arrange
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
+
+        // Act
+        Optional<JsonNode> first = consultarPorNumeroCredito(numeroCredito);
+        Optional<JsonNode> second = consultarPorNumeroCredito(numeroCredito);
+
+        // Assert
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().get("numeroCredito").asText()).isEqualTo(numeroCredito);
+
+        verify(repository, times(1)).findQueryViewByNumeroCredito(numeroCredito);
+        verify(consultaAggregator, times(2)).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve armazenar em cache a lista vazia de NFS-e inexistente")
+    void shouldCacheEmptyResultForUnknownNfse() throws Exception {
+        // Arrange
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse)).thenReturn(Collections.emptyList());
+
+        // Act
+        consultarPorNfse(numeroNfse);
+        JsonNode result = consultarPorNfse(numeroNfse);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(repository, times(1)).findQueryViewsByNumeroNfse(numeroNfse);
+        verify(consultaAggregator, times(2)).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar o cache da NFS-e ao criar novo crédito")
+    void shouldInvalidateNfseCacheWhenCreditoIsCreated() throws Exception {
+        // Arrange
+        when(repository.findQueryViewsByNumeroNfse(numeroNfse))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(List.of(queryView(credito)));
+        when(repository.save(any(Credito.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        assertThat(consultarPorNfse(numeroNfse)).isEmpty();
+
+        CreditoCreateRequestDto requestDto = new CreditoCreateRequestDto();
+        requestDto.setNumeroCredito(numeroCredito);
+        requestDto.setNumeroNfse(numeroNfse);
+
+        // Act
+        creditoService.create(requestDto);
+        JsonNode result = consultarPorNfse(numeroNfse);
+
+        // Assert
+        assertThat(result).hasSize(1);
+        verify(repository, times(2)).findQueryViewsByNumeroNfse(numeroNfse);
+        verify(estatisticaService).registrarCriacao(any(Credito.class));
+        verify(readYourWritesGuard).registrarEscrita();
+        verify(outboxEventPublisher).publishSolicitacaoCredito(any(SolicitacaoCreditoEvent.class));
+    }
+
+    @Test
+    @DisplayName("Deve criar crédito com comprovante pendente e agendar o envio sem acessar o MinIO")
+    void shouldStageComprovanteAndScheduleUploadOnCreate() {
+        // Arrange
+        MockMultipartFile comprovante = new MockMultipartFile(
+                "comprovante", "comprovante.pdf", "application/pdf", "conteudo".getBytes());
+        ComprovanteUploadService.ComprovantePreparado preparado =
+                new ComprovanteUploadService.ComprovantePreparado(Path.of("x.pdf.parcial"), "x.pdf", null);
+        when(comprovanteUploadService.preparar(comprovante)).thenReturn(preparado);
+        when(repository.save(any(Credito.class))).thenAnswer(invocation -> {
+            Credito salvo = invocation.getArgument(0);
+            salvo.setId(42L);
+            return salvo;
+        });
+
+        CreditoCreateRequestDto requestDto = new CreditoCreateRequestDto();
+        requestDto.setNumeroCredito(numeroCredito);
+        requestDto.setNumeroNfse(numeroNfse);
+
+        // Act
+        CreditoAdminResponseDto result = creditoService.create(requestDto, comprovante);
+
+        // Assert
+        assertThat(result.getComprovanteStatus()).isEqualTo(StatusComprovante.PENDENTE);
+        assertThat(result.getComprovanteUrl()).isNull();
+        verify(comprovanteUploadService).agendar(42L, preparado);
+        verify(comprovanteUploadService, never()).descartar(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar cursor da próxima fatia e reutilizá-lo na consulta seguinte")
+    void shouldReturnNextCursorAndResumeFromLastPosition() {
+        // Arrange
+        when(repository.findSliceAfter(eq(CreditoSortField.DATA_CONSTITUICAO), eq(Sort.Direction.DESC),
+                isNull(), isNull(), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(listView(credito)), PageRequest.of(0, 1), true));
+        when(repository.findSliceAfter(CreditoSortField.DATA_CONSTITUICAO, Sort.Direction.DESC,
+                LocalDate.of(2024, 1, 15), 1L, 1))
+                .thenReturn(new SliceImpl<CreditoListView>(List.of(), PageRequest.of(0, 1), false));
+
+        // Act
+        CursorPageResponseDto<CreditoResponseDto> first =
+                creditoService.listAllByCursor(null, 1, "dataConstituicao", "DESC");
+        CursorPageResponseDto<CreditoResponseDto> second =
+                creditoService.listAllByCursor(first.getNextCursor(), 1, "dataConstituicao", "DESC");
+
+        // Assert
+        assertThat(first.getContent()).hasSize(1);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isNotBlank();
+        assertThat(second.getContent()).isEmpty();
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cursor inválido ou gerado com outra ordenação")
+    void shouldRejectInvalidCursor() {
+        // Arrange
+        when(repository.findSliceAfter(any(), any(), any(), any(), eq(1)))
+                .thenReturn(new SliceImpl<>(List.of(listView(credito)), PageRequest.of(0, 1), true));
+        String cursorDesc = creditoService.listAllByCursor(null, 1, "dataConstituicao", "DESC").getNextCursor();
+
+        // Act & Assert
+        assertThatThrownBy(() -> creditoService.listAllByCursor("nao-e-um-cursor", 1, "dataConstituicao", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> creditoService.listAllByCursor(cursorDesc, 1, "dataConstituicao", "ASC"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> creditoService.listAllByCursor(null, 1, "comentarioAnalise", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar ordenação por campo sem índice antes de consultar o repositório")
+    void shouldRejectListingSortedByNonWhitelistedField() {
+        // Act & Assert
+        assertThatThrownBy(() -> creditoService.listAll(0, 20, "comentarioAnalise", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("comentarioAnalise");
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve montar a listagem paginada a partir da projeção, sem carregar entidades")
+    void shouldBuildListingFromProjection() {
+        // Arrange
+        when(repository.findListViews(any()))
+                .thenReturn(new PageImpl<>(List.of(listView(credito)), PageRequest.of(0, 20), 1));
+
+        // Act
+        Page<CreditoResponseDto> result = creditoService.listAll(0, 20, "dataConstituicao", "DESC");
+
+        // Assert
+        assertThat(result.getTotalElements()).isEqualTo(1);
+        assertThat(result.getContent().get(0).getNumeroCredito()).isEqualTo(numeroCredito);
+        assertThat(result.getContent().get(0).getSimplesNacional()).isEqualTo("Sim");
+
+        verify(repository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Deve resolver consulta em lote com uma busca IN, separar não encontrados e agregar as consultas")
+    void shouldResolveBatchLookupWithSingleInQueryAndAggregateConsultas() {
+        // Arrange
+        Credito outro = Credito.builder().id(2L).numeroCredito("CRED002").numeroNfse(numeroNfse).build();
+        when(repository.findQueryViewsByNumeroCreditoIn(any()))
+                .thenReturn(List.of(queryView(outro), queryView(credito)));
+
+        // Act
+        CreditoLoteConsultaResponseDto result = creditoService.findAllByNumeroCredito(
+                List.of(numeroCredito, "CRED999", "CRED002", numeroCredito, " "));
+
+        // Assert
+        assertThat(result.getEncontrados())
+                .extracting(CreditoQueryResponseDto::getNumeroCredito)
+                .containsExactly(numeroCredito, "CRED002");
+        assertThat(result.getNaoEncontrados()).containsExactly("CRED999");
+
+        verify(repository, times(1)).findQueryViewsByNumeroCreditoIn(any());
+        verify(consultaAggregator, times(1)).recordAll(eq("numeroCredito"), argThat(numeros ->
+                List.copyOf(numeros).equals(List.of("CRED001", "CRED999", "CRED002"))));
+        verify(consultaAggregator, never()).record(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve consultar no banco apenas os números do lote ausentes do cache")
+    void shouldQueryOnlyNumbersMissingFromCacheInBatchLookup() {
+        // Arrange
+        when(repository.findQueryViewsByNumeroCreditoIn(any()))
+                .thenReturn(List.of(queryView(credito)))
+                .thenReturn(List.of());
+        creditoService.findAllByNumeroCredito(List.of(numeroCredito));
+
+        // Act
+        CreditoLoteConsultaResponseDto result = creditoService.findAllByNumeroCredito(List.of(numeroCredito, "CRED999"));
+
+        // Assert
+        assertThat(result.getEncontrados()).hasSize(1);
+        assertThat(result.getNaoEncontrados()).containsExactly("CRED999");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(2)).findQueryViewsByNumeroCreditoIn(captor.capture());
+        assertThat(captor.getAllValues().get(1)).containsExactly("CRED999");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consulta em lote vazia ou acima do limite")
+    void shouldRejectEmptyOrOversizedBatchLookup() {
+        List<String> excedente = IntStream.rangeClosed(0, CreditoService.MAX_LOTE_CONSULTA_SIZE)
+                .mapToObj(i -> "CRED" + i)
+                .toList();
+
+        assertThatThrownBy(() -> creditoService.findAllByNumeroCredito(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> creditoService.findAllByNumeroCredito(excedente))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve converter os filtros da busca em critérios, ignorando textos em branco")
+    void shouldTranslateSearchFiltersIntoCriteria() {
+        // Arrange
+        CreditoSearchRequestDto filtro = new CreditoSearchRequestDto();
+        filtro.setStatus(StatusCredito.EM_ANALISE);
+        filtro.setTipoCredito("  ");
+        filtro.setSolicitadoPor(" analista ");
+        filtro.setValorIssqnMin(new BigDecimal("100.00"));
+        filtro.setDataSolicitacaoInicio(LocalDate.of(2024, 1, 1));
+        when(repository.search(any(), any()))
+                .thenReturn(new PageImpl<>(List.of(listView(credito)), PageRequest.of(0, 20), 1));
+
+        // Act
+        Page<CreditoResponseDto> result = creditoService.search(filtro, 0, 20, "dataSolicitacao", "ASC");
+
+        // Assert
+        assertThat(result.getContent()).hasSize(1);
+        ArgumentCaptor<CreditoSearchCriteria> criteria = ArgumentCaptor.forClass(CreditoSearchCriteria.class);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).search(criteria.capture(), pageable.capture());
+        assertThat(criteria.getValue().status()).isEqualTo(StatusCredito.EM_ANALISE);
+        assertThat(criteria.getValue().tipoCredito()).isNull();
+        assertThat(criteria.getValue().solicitadoPor()).isEqualTo("analista");
+        assertThat(criteria.getValue().valorIssqnMin()).isEqualByComparingTo("100.00");
+        assertThat(pageable.getValue().getSort())
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "dataSolicitacao", "id"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar busca com intervalo invertido ou página acima do limite")
+    void shouldRejectInvalidSearch() {
+        CreditoSearchRequestDto filtro = new CreditoSearchRequestDto();
+        filtro.setValorIssqnMin(new BigDecimal("10"));
+        filtro.setValorIssqnMax(new BigDecimal("1"));
+
+        assertThatThrownBy(() -> creditoService.search(filtro, 0, 20, "dataConstituicao", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("valorIssqn");
+        assertThatThrownBy(() -> creditoService.search(new CreditoSearchRequestDto(), 0,
+                CreditoService.MAX_SEARCH_PAGE_SIZE + 1, "dataConstituicao", "DESC"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Deve responder não modificado a partir da versão, sem montar o crédito")
+    void shouldAnswerNotModifiedFromVersionOnly() {
+        // Arrange
+        credito.setVersao(3L);
+        CreditoVersionView versao = new CreditoVersionView(credito.getId(), 3L, credito.getStatus());
+        when(repository.findVersionViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(versao));
+        String etag = CreditoVersao.of(List.of(versao)).etag();
+
+        // Act
+        Optional<CreditoConsultaCondicional<byte[]>> result =
+                creditoService.findJsonByNumeroCredito(numeroCredito, "W/\"outro\", " + etag);
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().naoModificado()).isTrue();
+        assertThat(result.get().versao().etag()).isEqualTo(etag);
+        verify(repository, never()).findQueryViewByNumeroCredito(any());
+        verify(consultaAggregator).record("numeroCredito", numeroCredito);
+    }
+
+    @Test
+    @DisplayName("Deve devolver o crédito com novo ETag quando a versão mudou")
+    void shouldReturnBodyWithNewEtagWhenVersionChanged() {
+        // Arrange
+        credito.setVersao(4L);
+        credito.setStatus(StatusCredito.APROVADO);
+        CreditoVersionView anterior = new CreditoVersionView(credito.getId(), 3L, StatusCredito.EM_ANALISE);
+        when(repository.findVersionViewByNumeroCredito(numeroCredito))
+                .thenReturn(Optional.of(new CreditoVersionView(credito.getId(), 4L, StatusCredito.APROVADO)));
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
+
+        // Act
+        Optional<CreditoConsultaCondicional<byte[]>> result = creditoService.findJsonByNumeroCredito(
+                numeroCredito, CreditoVersao.of(List.of(anterior)).etag());
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().naoModificado()).isFalse();
+        assertThat(new String(result.get().corpo(), StandardCharsets.UTF_8))
+                .contains("\"numeroCredito\":\"" + numeroCredito + "\"");
+        assertThat(result.get().versao().finalizado()).isTrue();
+        assertThat(result.get().versao().etag()).isNotEqualTo(CreditoVersao.of(List.of(anterior)).etag());
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar os bytes JSON em cache até a invalidação do crédito")
+    void shouldReuseSerializedJsonUntilInvalidation() throws Exception {
+        // Arrange
+        when(repository.findQueryViewByNumeroCredito(numeroCredito)).thenReturn(Optional.of(queryView(credito)));
+
+        // Act
+        byte[] primeira = creditoService.findJsonByNumeroCredito(numeroCredito, null).orElseThrow().corpo();
+        byte[] segunda = creditoService.findJsonByNumeroCredito(numeroCredito, null).orElseThrow().corpo();
+        creditoQueryCache.invalidate(credito);
+        byte[] terceira = creditoService.findJsonByNumeroCredito(numeroCredito, null).orElseThrow().corpo();
+
+        // Assert
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(terceira).isNotSameAs(primeira).isEqualTo(primeira);
+        assertThat(objectMapper.readTree(primeira).get("numeroCredito").asText())
+                .isEqualTo(numeroCredito);
+        verify(repository, times(2)).findQueryViewByNumeroCredito(numeroCredito);
+        verify(objectMapper, times(2)).writeValueAsBytes(any());
+    }
+
+    private JsonNode consultarPorNfse(String numero) throws Exception {
+        return objectMapper.readTree(creditoService.findJsonByNumeroNfse(numero, null).corpo());
+    }
+
+    private Optional<JsonNode> consultarPorNumeroCredito(String numero) throws Exception {
+        Optional<CreditoConsultaCondicional<byte[]>> resposta = creditoService.findJsonByNumeroCredito(numero, null);
+        return resposta.isPresent() ? Optional.of(objectMapper.readTree(resposta.get().corpo())) : Optional.empty();
+    }
+
+    private static CreditoQueryView queryView(Credito credito) {
+        return new CreditoQueryView(
+                credito.getNumeroCredito(),
+                credito.getNumeroNfse(),
+                credito.getDataConstituicao(),
+                credito.getValorIssqn(),
+                credito.getTipoCredito(),
+                credito.getSimplesNacional(),
+                credito.getAliquota(),
+                credito.getValorFaturado(),
+                credito.getValorDeducao(),
+                credito.getBaseCalculo(),
+                credito.getStatus(),
+                credito.getId(),
+                credito.getVersao());
+    }
+
+    private static CreditoListView listView(Credito credito) {
+        return new CreditoListView(
+                credito.getId(),
+                credito.getNumeroCredito(),
+                credito.getNumeroNfse(),
+                credito.getDataConstituicao(),
+                credito.getValorIssqn(),
+                credito.getTipoCredito(),
+                credito.getSimplesNacional(),
+                credito.getValorFaturado(),
+                credito.getStatus(),
+                credito.getDataSolicitacao(),
+                credito.getDataAnalise());
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.searchcredit.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gerador de carga para comparar o modo platform threads com o modo virtual threads
+ * no {@code POST /api/creditos} com comprovante enviado devagar ("slow upload").
+ *
+ * Cada cliente envia o comprovante em blocos com pausa entre eles, segurando a conexão
+ * (e, no modo platform threads, a thread do Tomcat) durante todo o envio. Ao final são
+ * impressos vazão, p50, p99 e máximo das requisições concluídas, e a contagem por status.
+ *
+ * Não é um teste (não roda no {@code mvn test}). Uso, com a API já no ar:
+ * <pre>
+ * ./mvnw test-compile
+ * java -cp target/test-classes -Dbenchmark.concurrency=1000 \
+ *     br.com.searchcredit.benchmark.CreditoUploadBenchmark
+ * </pre>
+ *
+ * Propriedades (todas opcionais): benchmark.url, benchmark.concurrency, benchmark.requests-per-client,
+ * benchmark.file-size-bytes, benchmark.chunk-size-bytes, benchmark.chunk-delay-ms.
+ */
+public final class CreditoUploadBenchmark {
+
+    private static final String BOUNDARY = "----credito-benchmark-" + UUID.randomUUID();
+
+    private CreditoUploadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI url = URI.create(System.getProperty("benchmark.url", "http://localhost:8189/api/creditos"));
+        int concorrencia = Integer.getInteger("benchmark.concurrency", 1000);
+        int requisicoesPorCliente = Integer.getInteger("benchmark.requests-per-client", 3);
+        int tamanhoArquivo = Integer.getInteger("benchmark.file-size-bytes", 256 * 1024);
+        int tamanhoBloco = Integer.getInteger("benchmark.chunk-size-bytes", 16 * 1024);
+        long atrasoBlocoMs = Long.getLong("benchmark.chunk-delay-ms", 100);
+
+        // Um thread por cliente em voo: o envio lento bloqueia quem lê o InputStream do corpo.
+        ExecutorService clientes = Executors.newFixedThreadPool(concorrencia);
+        ExecutorService envio = Executors.newCachedThreadPool();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(envio)
+                .connectTimeout(Duration.ofSeconds(30))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        byte[] arquivo = new byte[tamanhoArquivo];
+        byte[] cabecalhoPdf = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(cabecalhoPdf, 0, arquivo, 0, Math.min(cabecalhoPdf.length, arquivo.length));
+
+        List<Long> latenciasNanos = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicInteger> porStatus = new ConcurrentHashMap<>();
+        CountDownLatch fim = new CountDownLatch(concorrencia);
+        AtomicInteger sequencia = new AtomicInteger();
+
+        System.out.printf(Locale.ROOT,
+                "Iniciando: url=%s, clientes=%d, requisicoes/cliente=%d, arquivo=%d bytes em blocos de %d com %d ms de pausa%n",
+                url, concorrencia, requisicoesPorCliente, tamanhoArquivo, tamanhoBloco, atrasoBlocoMs);
+
+        long inicio = System.nanoTime();
+        for (int c = 0; c < concorrencia; c++) {
+            clientes.execute(() -> {
+                try {
+                    for (int r = 0; r < requisicoesPorCliente; r++) {
+                        String numeroNfse = "BENCH" + sequencia.incrementAndGet();
+                        HttpRequest request = HttpRequest.newBuilder(url)
+                                .timeout(Duration.ofMinutes(10))
+                                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                                .POST(corpoMultipart(numeroNfse, arquivo, tamanhoBloco, atrasoBlocoMs))
+                                .build();
+                        long t0 = System.nanoTime();
+                        String status;
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            status = String.valueOf(response.statusCode());
+                        } catch (IOException e) {
+                            status = e.getClass().getSimpleName();
+                        }
+                        latenciasNanos.add(System.nanoTime() - t0);
+                        porStatus.computeIfAbsent(status, chave -> new AtomicInteger()).incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+        fim.await();
+        long duracaoNanos = System.nanoTime() - inicio;
+        clientes.shutdown();
+        envio.shutdown();
+
+        List<Long> ordenadas = new ArrayList<>(latenciasNanos);
+        Collections.sort(ordenadas);
+        double segundos = duracaoNanos / 1e9;
+        System.out.printf(Locale.ROOT, "Requisicoes: %d em %.1f s (%.1f req/s)%n",
+                ordenadas.size(), segundos, ordenadas.size() / segundos);
+        System.out.printf(Locale.ROOT, "Latencia: p50=%d ms, p99=%d ms, max=%d ms%n",
+                percentil(ordenadas, 50), percentil(ordenadas, 99), percentil(ordenadas, 100));
+        System.out.println("Status: " + new TreeMap<>(porStatus));
+    }
+
+    private static HttpRequest.BodyPublisher corpoMultipart(
+            String numeroNfse, byte[] arquivo, int tamanhoBloco, long atrasoBlocoMs) {
+        String credito = String.format(Locale.ROOT,
+                "{\"numeroNfse\":\"%s\",\"dataConstituicao\":\"2024-01-15\",\"valorIssqn\":1500.75,"
+                        + "\"tipoCredito\":\"ISSQN\",\"simplesNacional\":false,\"aliquota\":5.0,"
+                        + "\"valorFaturado\":30000.00,\"valorDeducao\":0,\"baseCalculo\":30000.00,"
+                        + "\"solicitadoPor\":\"benchmark\"}", numeroNfse);
+        byte[] prefixo = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"credito\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + credito + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"comprovante\"; filename=\"comprovante.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] sufixo = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        long tamanho = (long) prefixo.length + arquivo.length + sufixo.length;
+
+        return HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(
+                        new ByteArrayInputStream(prefixo),
+                        new SequenceInputStream(
+                                new EnvioLento(arquivo, tamanhoBloco, atrasoBlocoMs),
+                                new ByteArrayInputStream(sufixo)))),
+                tamanho);
+    }
+
+    private static long percentil(List<Long> ordenadas, int percentil) {
+        if (ordenadas.isEmpty()) {
+            return 0;
+        }
+        int posicao = (int) Math.ceil(percentil / 100.0 * ordenadas.size());
+        return Duration.ofNanos(ordenadas.get(Math.max(0, posicao - 1))).toMillis();
+    }
+
+    /**
+     * Entrega o conteúdo em blocos, com uma pausa antes de cada bloco.
+     */
+    private static final class EnvioLento extends InputStream {
+
+        private final byte[] dados;
+        private final int tamanhoBloco;
+        private final long atrasoBlocoMs;
+        private int posicao;
+        private int restanteNoBloco;
+
+        private EnvioLento(byte[] dados, int tamanhoBloco, long atrasoBlocoMs) {
+            this.dados = dados;
+            this.tamanhoBloco = tamanhoBloco;
+            this.atrasoBlocoMs = atrasoBlocoMs;
+        }
+
+        @Override
+        public int read() {
+            byte[] um = new byte[1];
+            return read(um, 0, 1) < 0 ? -1 : um[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] destino, int offset, int length) {
+            if (posicao >= dados.length) {
+                return -1;
+            }
+            if (restanteNoBloco == 0) {
+                pausar();
+                restanteNoBloco = Math.min(tamanhoBloco, dados.length - posicao);
+            }
+            int lidos = Math.min(length, restanteNoBloco);
+            System.arraycopy(dados, posicao, destino, offset, lidos);
+            posicao += lidos;
+            restanteNoBloco -= lidos;
+            return lidos;
+        }
+
+        private void pausar() {
+            try {
+                Thread.sleep(atrasoBlocoMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.searchcredit.infrastructure.analytics;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoColunaNumerica;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoExportView;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoColumnarSnapshot - Testes Unitários")
+class CreditoColumnarSnapshotTest {
+
+    private static final int LINHAS = CreditoColumnarSnapshot.CHUNK_SIZE * 2 + 10;
+
+    @Mock
+    private CreditoRepository repository;
+
+    private CreditoColumnarSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CreditoColumnarSnapshot(repository, true, 1000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Deve carregar o snapshot em blocos e ordenar os valores da coluna")
+    @SuppressWarnings("unchecked")
+    void shouldLoadAndReturnSortedValuesAcrossChunks() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<CreditoExportView> consumer = invocation.getArgument(4);
+            for (int i = LINHAS; i >= 1; i--) {
+                consumer.accept(view(i, i % 2 == 0 ? StatusCredito.APROVADO : StatusCredito.EM_ANALISE,
+                        "ISSQN", LocalDate.of(2024, 1 + i % 3, 5), new BigDecimal(i + ".50")));
+            }
+            return null;
+        }).when(repository).streamForExport(isNull(), isNull(), isNull(), anyInt(), any(Consumer.class));
+
+        // Act
+        snapshot.reconstruir();
+        long[] valores = snapshot.valoresOrdenados(CreditoColunaNumerica.VALOR_ISSQN, FiltroColunar.TODOS);
+        long[] aprovados = snapshot.valoresOrdenados(CreditoColunaNumerica.VALOR_ISSQN,
+                new FiltroColunar(StatusCredito.APROVADO, null, null));
+
+        // Assert
+        assertThat(snapshot.tamanho()).isEqualTo(LINHAS);
+        assertThat(valores).hasSize(LINHAS);
+        assertThat(valores[0]).isEqualTo(150L);
+        assertThat(valores[LINHAS - 1]).isEqualTo(LINHAS * 100L + 50);
+        assertThat(aprovados).hasSize(LINHAS / 2);
+        assertThat(LongStream.of(aprovados)).allMatch(valor -> (valor / 100) % 2 == 0);
+    }
+
+    @Test
+    @DisplayName("Deve agregar por mês e separar créditos sem data de constituição")
+    @SuppressWarnings("unchecked")
+    void shouldAggregateByMonth() {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<CreditoExportView> consumer = invocation.getArgument(4);
+            consumer.accept(view(1, StatusCredito.APROVADO, "ISSQN", LocalDate.of(2024, 1, 5), new BigDecimal("10.00")));
+            consumer.accept(view(2, StatusCredito.APROVADO, "ISSQN", LocalDate.of(2024, 1, 20), new BigDecimal("30.00")));
+            consumer.accept(view(3, StatusCredito.APROVADO, "Outros", LocalDate.of(2024, 3, 1), new BigDecimal("5.00")));
+            consumer.accept(view(4, StatusCredito.APROVADO, "ISSQN", null, new BigDecimal("7.00")));
+            consumer.accept(view(5, StatusCredito.APROVADO, "ISSQN", LocalDate.of(2024, 1, 1), null));
+            return null;
+        }).when(repository).streamForExport(isNull(), isNull(), isNull(), anyInt(), any(Consumer.class));
+        snapshot.reconstruir();
+
+        // Act
+        List<ResumoMensal> todos = snapshot.distribuicaoMensal(CreditoColunaNumerica.VALOR_ISSQN, FiltroColunar.TODOS);
+        List<ResumoMensal> issqn = snapshot.distribuicaoMensal(CreditoColunaNumerica.VALOR_ISSQN,
+                new FiltroColunar(null, "ISSQN", null));
+        List<ResumoMensal> inexistente = snapshot.distribuicaoMensal(CreditoColunaNumerica.VALOR_ISSQN,
+                new FiltroColunar(null, "XPTO", null));
+
+        // Assert
+        assertThat(todos).containsExactly(
+                new ResumoMensal(CreditoColumnarSnapshot.MES_AUSENTE, 1, 700, 700, 700),
+                new ResumoMensal(2024 * 12, 2, 4000, 1000, 3000),
+                new ResumoMensal(2024 * 12 + 2, 1, 500, 500, 500));
+        assertThat(issqn).hasSize(2);
+        assertThat(inexistente).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve incluir e atualizar créditos registrados pelos fluxos de escrita")
+    void shouldApplyWritesAfterLoad() {
+        // Arrange
+        snapshot.reconstruir();
+        Credito credito = Credito.builder()
+                .id(42L)
+                .status(StatusCredito.EM_ANALISE)
+                .valorIssqn(new BigDecimal("12.34"))
+                .simplesNacional(true)
+                .build();
+
+        // Act
+        snapshot.registrar(credito);
+        credito.setStatus(StatusCredito.REPROVADO);
+        snapshot.registrar(credito);
+
+        // Assert
+        assertThat(snapshot.tamanho()).isEqualTo(1);
+        assertThat(snapshot.valoresOrdenados(CreditoColunaNumerica.VALOR_ISSQN,
+                new FiltroColunar(StatusCredito.REPROVADO, null, true))).containsExactly(1234L);
+        assertThat(snapshot.valoresOrdenados(CreditoColunaNumerica.VALOR_ISSQN,
+                new FiltroColunar(StatusCredito.EM_ANALISE, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consultas quando o snapshot está desabilitado")
+    void shouldRejectQueriesWhenDisabled() {
+        // Arrange
+        CreditoColumnarSnapshot desabilitado = new CreditoColumnarSnapshot(repository, false, 1000, new SimpleMeterRegistry());
+
+        // Act
+        desabilitado.carregarNaInicializacao();
+
+        // Assert
+        assertThatThrownBy(() -> desabilitado.valoresOrdenados(CreditoColunaNumerica.ALIQUOTA, FiltroColunar.TODOS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static CreditoExportView view(long id, StatusCredito status, String tipoCredito,
+                                          LocalDate dataConstituicao, BigDecimal valorIssqn) {
+        return new CreditoExportView(id, "C" + id, "N" + id, dataConstituicao, valorIssqn, tipoCredito, false,
+                new BigDecimal("5.00"), null, null, null, status, null, null, null, null, null);
+    }
+}
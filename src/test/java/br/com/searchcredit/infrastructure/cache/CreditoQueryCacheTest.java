@@ -0,0 +1,84 @@
+package br.com.searchcredit.infrastructure.cache;
+
+import br.com.searchcredit.application.service.CreditoConsultaCondicional;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoQueryCache - Testes Unitários")
+class CreditoQueryCacheTest {
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    private CreditoQueryCache cache;
+    private AtomicInteger cargas;
+    private Function<String, Optional<CreditoConsultaCondicional<byte[]>>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CreditoQueryCache(100, 60, 60, 5, 1_000_000, readYourWritesGuard, new SimpleMeterRegistry());
+        cargas = new AtomicInteger();
+        loader = numero -> {
+            cargas.incrementAndGet();
+            return Optional.of(new CreditoConsultaCondicional<>("{}".getBytes(), null));
+        };
+    }
+
+    @Test
+    @DisplayName("Deve guardar o que carregou com a janela de read-your-writes fechada")
+    void shouldCacheLoadedValueWhenWindowIsClosed() {
+        // Arrange
+        when(readYourWritesGuard.exigePrimaria()).thenReturn(false);
+
+        // Act
+        cache.getJsonByNumeroCredito("CRED001", loader);
+        cache.getJsonByNumeroCredito("CRED001", loader);
+
+        // Assert
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar o que carregou com a janela de read-your-writes aberta")
+    void shouldNotCacheLoadedValueWhileWindowIsOpen() {
+        // Arrange
+        when(readYourWritesGuard.exigePrimaria()).thenReturn(true, true, false, false);
+
+        // Act
+        Optional<CreditoConsultaCondicional<byte[]>> primeira = cache.getJsonByNumeroCredito("CRED001", loader);
+        cache.getJsonByNumeroCredito("CRED001", loader);
+
+        // Assert
+        assertThat(primeira).isPresent();
+        assertThat(cargas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o valor carregado quando a janela abre durante a carga")
+    void shouldDiscardValueWhenWindowOpensDuringLoad() {
+        // Arrange
+        when(readYourWritesGuard.exigePrimaria()).thenReturn(false, true, false, false);
+
+        // Act
+        Optional<CreditoConsultaCondicional<byte[]>> primeira = cache.getJsonByNumeroCredito("CRED001", loader);
+        cache.getJsonByNumeroCredito("CRED001", loader);
+
+        // Assert
+        assertThat(primeira).isPresent();
+        assertThat(cargas).hasValue(2);
+    }
+}
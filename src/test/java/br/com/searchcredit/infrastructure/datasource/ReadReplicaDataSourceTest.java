@@ -0,0 +1,157 @@
+package br.com.searchcredit.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaDataSource - Testes Unitários")
+class ReadReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primaria;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    private final Connection conexaoPrimaria = mock(Connection.class);
+    private final Connection conexaoReplica1 = mock(Connection.class);
+    private final Connection conexaoReplica2 = mock(Connection.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve alternar as leituras entre as réplicas em round-robin")
+    void shouldRoundRobinBetweenReplicas() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        when(replica2.getConnection()).thenReturn(conexaoReplica2);
+        ReadReplicaDataSource dataSource = novoDataSource(new ReadYourWritesGuard(0));
+
+        // Act
+        List<Connection> conexoes = List.of(
+                dataSource.getConnection(), dataSource.getConnection(), dataSource.getConnection());
+
+        // Assert
+        assertThat(conexoes).containsExactly(conexaoReplica1, conexaoReplica2, conexaoReplica1);
+        verify(primaria, never()).getConnection();
+        assertThat(meterRegistry.get("credito.datasource.read.connections").tag("destino", "replica").counter().count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Deve pular réplica com falha e cair para a primária quando nenhuma atende")
+    void shouldFailOverToNextReplicaAndThenToPrimary() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(replica2.getConnection()).thenReturn(conexaoReplica2).thenThrow(new SQLException("connection refused"));
+        when(primaria.getConnection()).thenReturn(conexaoPrimaria);
+        ReadReplicaDataSource dataSource = novoDataSource(new ReadYourWritesGuard(0));
+
+        // Act
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+
+        // Assert
+        assertThat(primeira).isSameAs(conexaoReplica2);
+        assertThat(segunda).isSameAs(conexaoPrimaria);
+        assertThat(meterRegistry.get("credito.datasource.replica.available").tag("replica", "r1").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a réplica ao rodízio quando a verificação de saúde passa")
+    void shouldRestoreReplicaAfterHealthCheck() throws SQLException {
+        // Arrange
+        Connection verificacao = mock(Connection.class);
+        when(verificacao.isValid(anyInt())).thenReturn(true);
+        when(replica1.getConnection())
+                .thenThrow(new SQLException("connection refused"))
+                .thenReturn(verificacao)
+                .thenReturn(conexaoReplica1);
+        when(primaria.getConnection()).thenReturn(conexaoPrimaria);
+        ReadReplicaDataSource dataSource = new ReadReplicaDataSource(primaria,
+                List.of(new ReadReplicaDataSource.Replica("r1", replica1)),
+                new ReadYourWritesGuard(0), meterRegistry);
+        assertThat(dataSource.getConnection()).isSameAs(conexaoPrimaria);
+
+        // Act
+        dataSource.verificarSaude();
+
+        // Assert
+        assertThat(dataSource.getConnection()).isSameAs(conexaoReplica1);
+    }
+
+    @Test
+    @DisplayName("Deve manter leituras na primária logo após uma escrita quando read-your-writes está ativo")
+    void shouldPinReadsToPrimaryRightAfterWrite() throws SQLException {
+        // Arrange
+        when(primaria.getConnection()).thenReturn(conexaoPrimaria);
+        ReadYourWritesGuard guard = new ReadYourWritesGuard(60_000);
+        ReadReplicaDataSource dataSource = novoDataSource(guard);
+
+        // Act
+        guard.registrarEscrita();
+        Connection conexao = dataSource.getConnection();
+
+        // Assert
+        assertThat(conexao).isSameAs(conexaoPrimaria);
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve enviar apenas transações read-only para as réplicas pelo proxy lazy")
+    void shouldRouteOnlyReadOnlyTransactionsToReplicas() throws SQLException {
+        // Arrange
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        when(primaria.getConnection()).thenReturn(conexaoPrimaria);
+        when(conexaoPrimaria.getAutoCommit()).thenReturn(true);
+        when(conexaoReplica1.getAutoCommit()).thenReturn(true);
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaria);
+        proxy.setReadOnlyDataSource(novoDataSource(new ReadYourWritesGuard(0)));
+        proxy.afterPropertiesSet();
+
+        // Act
+        Connection escrita = proxy.getConnection();
+        escrita.createStatement();
+        Connection leitura = proxy.getConnection();
+        leitura.setReadOnly(true);
+        leitura.createStatement();
+
+        // Assert
+        verify(conexaoPrimaria).createStatement();
+        verify(conexaoReplica1).createStatement();
+    }
+
+    private ReadReplicaDataSource novoDataSource(ReadYourWritesGuard guard) {
+        return new ReadReplicaDataSource(primaria, List.of(
+                new ReadReplicaDataSource.Replica("r1", replica1),
+                new ReadReplicaDataSource.Replica("r2", replica2)), guard, meterRegistry);
+    }
+}
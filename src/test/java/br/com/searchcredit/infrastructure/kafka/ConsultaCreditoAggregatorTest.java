@@ -0,0 +1,149 @@
+package br.com.searchcredit.infrastructure.kafka;
+
+import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaCreditoAggregator - Testes Unitários")
+class ConsultaCreditoAggregatorTest {
+
+    @Mock
+    private ConsultaCreditoEventDispatcher dispatcher;
+
+    @Test
+    @DisplayName("Deve gerar um evento por chave com a quantidade de consultas da janela")
+    void shouldEmitOneEventPerKeyWithCount() throws InterruptedException {
+        // Arrange
+        ConsultaCreditoAggregator aggregator = new ConsultaCreditoAggregator(dispatcher, 10, 1000, new SimpleMeterRegistry());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    aggregator.record("numeroCredito", "CRED001");
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        aggregator.recordAll("numeroNfse", List.of("NFSE001", "NFSE002", "NFSE001"));
+
+        // Act
+        int eventos = aggregator.flush();
+
+        // Assert
+        assertThat(eventos).isEqualTo(3);
+        ArgumentCaptor<ConsultaCreditoEvent> captor = ArgumentCaptor.forClass(ConsultaCreditoEvent.class);
+        verify(dispatcher, times(3)).dispatch(captor.capture());
+        Map<String, Long> porValor = captor.getAllValues().stream()
+                .collect(Collectors.toMap(ConsultaCreditoEvent::getValorConsulta, ConsultaCreditoEvent::getQuantidade));
+        assertThat(porValor).containsEntry("CRED001", 8000L)
+                .containsEntry("NFSE001", 2L)
+                .containsEntry("NFSE002", 1L);
+        assertThat(captor.getAllValues()).allSatisfy(evento -> {
+            assertThat(evento.getInicioJanela()).isNotNull();
+            assertThat(evento.getDataHora()).isAfterOrEqualTo(evento.getInicioJanela());
+        });
+        assertThat(aggregator.distinctKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve iniciar nova janela vazia após o flush")
+    void shouldStartEmptyWindowAfterFlush() {
+        // Arrange
+        ConsultaCreditoAggregator aggregator = new ConsultaCreditoAggregator(dispatcher, 10, 1000, new SimpleMeterRegistry());
+        aggregator.record("numeroCredito", "CRED001");
+        aggregator.flush();
+
+        // Act
+        int eventos = aggregator.flush();
+
+        // Assert
+        assertThat(eventos).isZero();
+        verify(dispatcher, times(1)).dispatch(any());
+    }
+
+    @Test
+    @DisplayName("Deve antecipar o flush ao atingir o limite de chaves distintas")
+    void shouldFlushEarlyWhenMaxKeysReached() {
+        // Arrange
+        ConsultaCreditoAggregator aggregator = new ConsultaCreditoAggregator(dispatcher, 3600, 3, new SimpleMeterRegistry());
+        aggregator.start();
+        try {
+            // Act
+            aggregator.record("numeroCredito", "CRED001");
+            aggregator.record("numeroCredito", "CRED002");
+            verifyNoInteractions(dispatcher);
+            aggregator.record("numeroCredito", "CRED003");
+
+            // Assert
+            verify(dispatcher, timeout(2000).times(3)).dispatch(any());
+        } finally {
+            aggregator.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve perder consultas registradas durante flushes concorrentes")
+    void shouldNotLoseCountsDuringConcurrentFlushes() throws InterruptedException {
+        // Arrange
+        ConsultaCreditoAggregator aggregator = new ConsultaCreditoAggregator(dispatcher, 10, 1000, new SimpleMeterRegistry());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            pool.execute(() -> {
+                for (int j = 0; j < 20_000; j++) {
+                    aggregator.record("numeroCredito", "CRED001");
+                }
+            });
+        }
+        pool.shutdown();
+
+        // Act
+        while (!pool.isTerminated()) {
+            aggregator.flush();
+        }
+        aggregator.flush();
+
+        // Assert
+        ArgumentCaptor<ConsultaCreditoEvent> captor = ArgumentCaptor.forClass(ConsultaCreditoEvent.class);
+        verify(dispatcher, atLeastOnce()).dispatch(captor.capture());
+        assertThat(captor.getAllValues().stream().mapToLong(ConsultaCreditoEvent::getQuantidade).sum())
+                .isEqualTo(80_000L);
+        assertThat(aggregator.distinctKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve encerrar depois do servidor web e antes do dispatcher")
+    void shouldStopAfterWebServerAndBeforeDispatcher() {
+        // Arrange
+        ConsultaCreditoAggregator aggregator = new ConsultaCreditoAggregator(dispatcher, 10, 1000, new SimpleMeterRegistry());
+
+        // Act
+        int fase = aggregator.getPhase();
+
+        // Assert
+        assertThat(fase).isLessThan(WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024)
+                .isGreaterThan(ConsultaCreditoEventDispatcher.PHASE);
+    }
+}
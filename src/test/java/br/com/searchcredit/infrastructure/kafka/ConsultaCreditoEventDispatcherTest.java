@@ -0,0 +1,193 @@
+package br.com.searchcredit.infrastructure.kafka;
+
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoEventDispatcher.OverflowPolicy;
+import br.com.searchcredit.infrastructure.kafka.event.ConsultaCreditoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaCreditoEventDispatcher - Testes Unitários")
+class ConsultaCreditoEventDispatcherTest {
+
+    @Mock
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve apenas enfileirar o evento, sem chamar o Kafka na thread da requisição")
+    void shouldEnqueueWithoutCallingKafka() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(10, 5, OverflowPolicy.DROP_NEWEST);
+
+        // Act
+        boolean enfileirado = dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED001"));
+
+        // Assert
+        assertThat(enfileirado).isTrue();
+        assertThat(dispatcher.queueSize()).isEqualTo(1);
+        assertThat(meterRegistry.get("credito.consulta.events.queue.size").gauge().value()).isEqualTo(1.0);
+        verifyNoInteractions(kafkaEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve publicar a fila em lotes limitados ao tamanho configurado")
+    void shouldDrainQueueInBatches() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(100, 2, OverflowPolicy.DROP_NEWEST);
+        List<Integer> tamanhos = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<?> lote = invocation.getArgument(0);
+            tamanhos.add(lote.size());
+            return Collections.nCopies(lote.size(), CompletableFuture.completedFuture(null));
+        }).when(kafkaEventPublisher).publishConsultaCreditoBatch(anyList());
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED00" + i));
+        }
+
+        // Act
+        int publicados = dispatcher.drain();
+
+        // Assert
+        assertThat(publicados).isEqualTo(5);
+        assertThat(tamanhos).containsExactly(2, 2, 1);
+        assertThat(dispatcher.queueSize()).isZero();
+        assertThat(meterRegistry.get("credito.consulta.events.published").counter().count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento recebido quando a fila estiver cheia (DROP_NEWEST)")
+    void shouldDropNewestWhenQueueIsFull() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(2, 10, OverflowPolicy.DROP_NEWEST);
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED001"));
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED002"));
+
+        // Act
+        boolean enfileirado = dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED003"));
+        dispatcher.drain();
+
+        // Assert
+        assertThat(enfileirado).isFalse();
+        assertThat(meterRegistry.get("credito.consulta.events.dropped").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1.0);
+        assertThat(publishedValues()).containsExactly("CRED001", "CRED002");
+    }
+
+    @Test
+    @DisplayName("Deve descartar o evento mais antigo quando a fila estiver cheia (DROP_OLDEST)")
+    void shouldDropOldestWhenQueueIsFull() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(2, 10, OverflowPolicy.DROP_OLDEST);
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED001"));
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED002"));
+
+        // Act
+        boolean enfileirado = dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED003"));
+        dispatcher.drain();
+
+        // Assert
+        assertThat(enfileirado).isTrue();
+        assertThat(publishedValues()).containsExactly("CRED002", "CRED003");
+    }
+
+    @Test
+    @DisplayName("Deve contar falhas de publicação sem propagar exceção nem reter eventos")
+    void shouldCountFailuresWithoutThrowing() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(10, 10, OverflowPolicy.SPILL_TO_LOG);
+        doThrow(new RuntimeException("broker indisponível"))
+                .when(kafkaEventPublisher).publishConsultaCreditoBatch(anyList());
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroNfse", "NFSE001"));
+
+        // Act
+        int retirados = dispatcher.drain();
+
+        // Assert
+        assertThat(retirados).isEqualTo(1);
+        assertThat(dispatcher.queueSize()).isZero();
+        assertThat(meterRegistry.get("credito.consulta.events.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve contar como falha o envio rejeitado depois pelo broker")
+    void shouldCountAsynchronousSendFailures() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = dispatcher(10, 10, OverflowPolicy.DROP_NEWEST);
+        CompletableFuture<Object> confirmado = new CompletableFuture<>();
+        CompletableFuture<Object> rejeitado = new CompletableFuture<>();
+        doAnswer(invocation -> List.of(confirmado, rejeitado))
+                .when(kafkaEventPublisher).publishConsultaCreditoBatch(anyList());
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED001"));
+        dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED002"));
+
+        // Act
+        dispatcher.drain();
+        confirmado.complete(null);
+        rejeitado.completeExceptionally(new IllegalStateException("timeout do broker"));
+
+        // Assert
+        assertThat(meterRegistry.get("credito.consulta.events.published").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("credito.consulta.events.failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve descartar e contar o que restar na fila quando o prazo de encerramento acabar")
+    void shouldDropRemainingEventsWhenShutdownDeadlineExpires() {
+        // Arrange
+        ConsultaCreditoEventDispatcher dispatcher = new ConsultaCreditoEventDispatcher(
+                kafkaEventPublisher, 100, 1, 60_000, OverflowPolicy.DROP_NEWEST, 50, meterRegistry);
+        doAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of();
+        }).when(kafkaEventPublisher).publishConsultaCreditoBatch(anyList());
+        dispatcher.start();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(new ConsultaCreditoEvent("numeroCredito", "CRED00" + i));
+        }
+
+        // Act
+        dispatcher.stop();
+
+        // Assert
+        assertThat(dispatcher.queueSize()).isZero();
+        assertThat(meterRegistry.get("credito.consulta.events.dropped").tag("reason", "shutdown_timeout")
+                .counter().count()).isEqualTo(4.0);
+    }
+
+    private ConsultaCreditoEventDispatcher dispatcher(int capacity, int batchSize, OverflowPolicy policy) {
+        return new ConsultaCreditoEventDispatcher(kafkaEventPublisher, capacity, batchSize, 200, policy, 5000,
+                meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> publishedValues() {
+        ArgumentCaptor<List<ConsultaCreditoEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kafkaEventPublisher, times(1)).publishConsultaCreditoBatch(captor.capture());
+        return captor.getValue().stream().map(ConsultaCreditoEvent::getValorConsulta).toList();
+    }
+}
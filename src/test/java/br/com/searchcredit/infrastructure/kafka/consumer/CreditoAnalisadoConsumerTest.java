@@ -1,9 +1,13 @@
 package br.com.searchcredit.infrastructure.kafka.consumer;
 
+import br.com.searchcredit.application.service.CreditoEstatisticaService;
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.entity.CreditoAnaliseAutomatica;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.analytics.CreditoColumnarSnapshot;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
 import br.com.searchcredit.infrastructure.kafka.event.CreditoAnalisadoEvent;
 import br.com.searchcredit.infrastructure.repository.jpa.CreditoAnaliseAutomaticaJpaRepository;
 import org.junit.jupiter.api.Test;
@@ -28,6 +32,18 @@ class CreditoAnalisadoConsumerTest {
     @Mock
     private CreditoAnaliseAutomaticaJpaRepository creditoAnaliseAutomaticaJpaRepository;
 
+    @Mock
+    private CreditoQueryCache creditoQueryCache;
+
+    @Mock
+    private CreditoEstatisticaService estatisticaService;
+
+    @Mock
+    private CreditoColumnarSnapshot analyticsSnapshot;
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
     @InjectMocks
     private CreditoAnalisadoConsumer consumer;
 
@@ -97,6 +113,8 @@ class CreditoAnalisadoConsumerTest {
 
         verify(creditoRepository, times(1)).findByNumeroCredito("900001");
         verify(creditoRepository, never()).save(any());
+        verify(creditoQueryCache, never()).invalidate(any());
+        verify(estatisticaService, never()).registrarMudancaStatus(any(), any());
     }
 
     @Test
@@ -124,6 +142,10 @@ class CreditoAnalisadoConsumerTest {
         ArgumentCaptor<Credito> captor = ArgumentCaptor.forClass(Credito.class);
         verify(creditoRepository, times(1)).save(captor.capture());
         verify(creditoAnaliseAutomaticaJpaRepository, times(1)).save(any(CreditoAnaliseAutomatica.class));
+        verify(creditoQueryCache, times(1)).invalidate(credito);
+        verify(estatisticaService, times(1)).registrarMudancaStatus(credito, StatusCredito.EM_ANALISE);
+        verify(analyticsSnapshot, times(1)).registrar(credito);
+        verify(readYourWritesGuard, times(1)).registrarEscrita();
 
         Credito saved = captor.getValue();
         assertThat(saved.getStatus()).isEqualTo(StatusCredito.APROVADO);
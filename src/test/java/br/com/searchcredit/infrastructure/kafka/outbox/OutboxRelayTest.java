@@ -0,0 +1,166 @@
+package br.com.searchcredit.infrastructure.kafka.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay - Testes Unitários")
+class OutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SendResult<String, String> sendResult;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), outboxKafkaTemplate,
+                true, 3, 200, 1000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Não deve ler nem enviar o lote quando outra instância detém o lock do outbox")
+    void shouldSkipBatchWhenAnotherInstanceHoldsTheLock() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.LOCK_KEY)).thenReturn(false);
+
+        // Act
+        int enviados = relay.enviarLote();
+
+        // Assert
+        assertThat(enviados).isZero();
+        verify(jdbcTemplate, never()).query(eq(OutboxRelay.SELECT_LOTE_SQL), ArgumentMatchers.<RowMapper<Object>>any(), eq(3));
+        verify(outboxKafkaTemplate, never()).send(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve enviar o lote em ordem, com a chave, e apagar as linhas confirmadas")
+    void shouldSendBatchInOrderAndDeleteConfirmedRows() throws Exception {
+        // Arrange
+        simularOutbox(1L, 2L);
+        when(outboxKafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        // Act
+        int enviados = relay.enviarLote();
+
+        // Assert
+        assertThat(enviados).isEqualTo(2);
+        verify(outboxKafkaTemplate).send("solicitacao-creditos-topic", "CRED1", "{\"id\":1}");
+        verify(outboxKafkaTemplate).send("solicitacao-creditos-topic", "CRED2", "{\"id\":2}");
+        verify(outboxKafkaTemplate).flush();
+        assertThat(idsApagados()).containsExactly(1L, 2L);
+        assertThat(meterRegistry.counter("credito.outbox.published").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Deve apagar só os eventos anteriores à primeira falha, mantendo o restante para o próximo ciclo")
+    void shouldKeepEventsFromFirstFailureOnward() throws Exception {
+        // Arrange
+        simularOutbox(1L, 2L, 3L);
+        when(outboxKafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(sendResult))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker indisponível")))
+                .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        // Act
+        int enviados = relay.enviarLote();
+
+        // Assert
+        assertThat(enviados).isEqualTo(1);
+        assertThat(idsApagados()).containsExactly(1L);
+        assertThat(meterRegistry.counter("credito.outbox.failed").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Não deve enviar nem apagar nada com o outbox vazio")
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        // Arrange
+        obterLock();
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_LOTE_SQL), ArgumentMatchers.<RowMapper<Object>>any(), eq(3))).thenReturn(List.of());
+
+        // Act
+        int enviados = relay.enviarLote();
+
+        // Assert
+        assertThat(enviados).isZero();
+        verify(outboxKafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(jdbcTemplate, never()).update(any(PreparedStatementCreator.class));
+    }
+
+    private void obterLock() {
+        when(jdbcTemplate.queryForObject(OutboxRelay.LOCK_SQL, Boolean.class, OutboxRelay.LOCK_KEY)).thenReturn(true);
+    }
+
+    private void simularOutbox(Long... ids) throws Exception {
+        obterLock();
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_LOTE_SQL), ArgumentMatchers.<RowMapper<Object>>any(), eq(3))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> linhas = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(ids[i]);
+                when(rs.getString("topico")).thenReturn("solicitacao-creditos-topic");
+                when(rs.getString("chave")).thenReturn("CRED" + ids[i]);
+                when(rs.getString("payload")).thenReturn("{\"id\":" + ids[i] + "}");
+                linhas.add(mapper.mapRow(rs, i));
+            }
+            return linhas;
+        });
+    }
+
+    private List<Object> idsApagados() throws Exception {
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).update(creator.capture());
+
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(OutboxRelay.DELETE_SQL)).thenReturn(mock(PreparedStatement.class));
+        creator.getValue().createPreparedStatement(con);
+
+        ArgumentCaptor<Object[]> ids = ArgumentCaptor.forClass(Object[].class);
+        verify(con).createArrayOf(eq("bigint"), ids.capture());
+        return List.of(ids.getValue());
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.searchcredit.infrastructure.repository;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoSortField;
+import br.com.searchcredit.domain.projection.CreditoListView;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.repository.jpa.CreditoJpaRepository;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que a continuação do cursor é uma faixa no índice (campo, id), e não um
+ * percurso desde o início, e que créditos com a chave nula aparecem uma única vez,
+ * no fim (ASC) ou no início (DESC).
+ *
+ * O SQL gerado pelo Hibernate é capturado e explicado com {@code EXPLAIN (GENERIC_PLAN)}
+ * (PostgreSQL 16), sem depender dos valores dos parâmetros.
+ */
+@Testcontainers
+@SuppressWarnings("resource")
+@SpringBootTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=localhost:9092",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "br.com.searchcredit.infrastructure.repository.CreditoKeysetPaginationIT$SqlCapturado"
+})
+class CreditoKeysetPaginationIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    /**
+     * Guarda os comandos SQL preparados pelo Hibernate durante o teste.
+     */
+    public static class SqlCapturado implements StatementInspector {
+
+        static final List<String> COMANDOS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            COMANDOS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private CreditoJpaRepository creditoJpaRepository;
+
+    @MockBean
+    private MinioStorageService minioStorageService;
+
+    @MockBean
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        creditoJpaRepository.deleteAll();
+        String[] valores = {"10.00", null, "20.00", "20.00", null, "30.00", "5.00"};
+        for (int i = 0; i < valores.length; i++) {
+            creditoJpaRepository.save(Credito.builder()
+                    .numeroCredito("CRED-KS-" + i)
+                    .numeroNfse("NFSE-KS-" + i)
+                    .valorIssqn(valores[i] != null ? new BigDecimal(valores[i]) : null)
+                    .build());
+        }
+        SqlCapturado.COMANDOS.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sort.Direction.class)
+    void continuationShouldBeAnIndexRangeOnTheSortKey(Sort.Direction direction) {
+        // Act
+        creditoRepository.findSliceAfter(CreditoSortField.VALOR_ISSQN, direction, new BigDecimal("20.00"), 1L, 2);
+
+        // Assert
+        String sql = SqlCapturado.COMANDOS.stream()
+                .filter(comando -> comando.contains("valor_issqn") && comando.contains(" or "))
+                .findFirst()
+                .orElseThrow();
+        String plan = explainGeneric(sql);
+        assertThat(plan)
+                .contains("idx_credito_valor_issqn_id")
+                .containsPattern("Index Cond: \\(.*valor_issqn [<>]= ")
+                .doesNotContain("Sort Key");
+    }
+
+    @Test
+    void shouldWalkEveryCreditoOnceWithNullKeysAsASeparateSegment() {
+        assertThat(percorrer(Sort.Direction.ASC))
+                .extracting(CreditoListView::valorIssqn)
+                .containsExactly(new BigDecimal("5.00"), new BigDecimal("10.00"), new BigDecimal("20.00"),
+                        new BigDecimal("20.00"), new BigDecimal("30.00"), null, null);
+        assertThat(percorrer(Sort.Direction.DESC))
+                .extracting(CreditoListView::valorIssqn)
+                .containsExactly(null, null, new BigDecimal("30.00"), new BigDecimal("20.00"),
+                        new BigDecimal("20.00"), new BigDecimal("10.00"), new BigDecimal("5.00"));
+    }
+
+    private List<CreditoListView> percorrer(Sort.Direction direction) {
+        List<CreditoListView> todos = new ArrayList<>();
+        Slice<CreditoListView> fatia = creditoRepository.findSliceAfter(
+                CreditoSortField.VALOR_ISSQN, direction, null, null, 2);
+        todos.addAll(fatia.getContent());
+        while (fatia.hasNext()) {
+            CreditoListView ultimo = fatia.getContent().get(fatia.getNumberOfElements() - 1);
+            fatia = creditoRepository.findSliceAfter(
+                    CreditoSortField.VALOR_ISSQN, direction, ultimo.valorIssqn(), ultimo.id(), 2);
+            todos.addAll(fatia.getContent());
+        }
+        return todos;
+    }
+
+    private String explainGeneric(String sql) {
+        // Troca os parâmetros JDBC (?) pelos posicionais do PostgreSQL ($n)
+        StringBuilder posicional = new StringBuilder();
+        int parametro = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                posicional.append('$').append(++parametro);
+            } else {
+                posicional.append(c);
+            }
+        }
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + posicional)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("RESET enable_seqscan");
+                return plan.toString();
+            }
+        });
+    }
+}
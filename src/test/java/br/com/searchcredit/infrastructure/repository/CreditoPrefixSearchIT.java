@@ -0,0 +1,128 @@
+package br.com.searchcredit.infrastructure.repository;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.CreditoPrefixField;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.repository.jpa.CreditoJpaRepository;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que a busca por prefixo usa o índice (coluna COLLATE "C") tanto para o
+ * filtro quanto para a ordenação, e que caracteres curinga do LIKE são tratados
+ * como literais.
+ */
+@Testcontainers
+@SuppressWarnings("resource")
+@SpringBootTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=localhost:9092"
+})
+class CreditoPrefixSearchIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    @Autowired
+    private CreditoJpaRepository creditoJpaRepository;
+
+    @MockBean
+    private MinioStorageService minioStorageService;
+
+    @MockBean
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        creditoJpaRepository.deleteAll();
+        for (String numero : new String[]{"CRED-0012", "CRED-0010", "CRED-0011", "CRED_9", "OUTRO-1"}) {
+            creditoJpaRepository.save(Credito.builder()
+                    .numeroCredito(numero)
+                    .numeroNfse("NFSE-" + numero)
+                    .build());
+        }
+        creditoJpaRepository.save(Credito.builder().numeroCredito("CRED-0013").numeroNfse("NFSE-CRED-0010").build());
+    }
+
+    @Test
+    void shouldReturnDistinctSortedMatchesUpToLimit() {
+        assertThat(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_CREDITO, "CRED-001", 2, 1000))
+                .containsExactly("CRED-0010", "CRED-0011");
+        assertThat(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_NFSE, "NFSE-CRED-001", 10, 1000))
+                .containsExactly("NFSE-CRED-0010", "NFSE-CRED-0011", "NFSE-CRED-0012");
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsInPrefixAsLiterals() {
+        assertThat(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_CREDITO, "CRED_", 10, 1000))
+                .containsExactly("CRED_9");
+        assertThat(creditoRepository.findNumerosByPrefix(CreditoPrefixField.NUMERO_CREDITO, "%", 10, 1000))
+                .isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CreditoPrefixField.class)
+    void eachPrefixFieldShouldBeServedByItsCollateCIndex(CreditoPrefixField field) {
+        String coluna = field.getColumn() + " COLLATE \"C\"";
+        String plan = explain("SELECT DISTINCT " + coluna + " AS numero FROM credito WHERE " + coluna
+                + " LIKE 'CRED%' ORDER BY 1 LIMIT 10");
+
+        assertThat(plan)
+                .contains("idx_credito_" + field.getColumn() + "_prefix")
+                .doesNotContain("Sort Key");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("RESET enable_seqscan");
+                return plan.toString();
+            }
+        });
+    }
+}
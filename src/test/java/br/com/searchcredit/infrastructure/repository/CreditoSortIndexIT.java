@@ -0,0 +1,108 @@
+package br.com.searchcredit.infrastructure.repository;
+
+import br.com.searchcredit.domain.enums.CreditoSortField;
+import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.storage.MinioStorageService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que cada campo ordenável da listagem possui um índice (campo, id)
+ * utilizável pelo planner, nas duas direções.
+ */
+@Testcontainers
+@SuppressWarnings("resource")
+@SpringBootTest(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "spring.kafka.bootstrap-servers=localhost:9092"
+})
+class CreditoSortIndexIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private MinioStorageService minioStorageService;
+
+    @MockBean
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @ParameterizedTest
+    @EnumSource(CreditoSortField.class)
+    void eachSortFieldShouldBeServedByItsCompositeIndex(CreditoSortField sortField) {
+        String column = toColumn(sortField.getAttribute());
+        String indexName = "idx_credito_" + column + "_id";
+
+        assertThat(explain("SELECT * FROM credito ORDER BY " + column + " DESC, id DESC LIMIT 20"))
+                .contains(indexName)
+                .doesNotContain("Sort Key");
+        assertThat(explain("SELECT * FROM credito ORDER BY " + column + " ASC, id ASC LIMIT 20"))
+                .contains(indexName)
+                .doesNotContain("Sort Key");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"numero_credito", "numero_nfse"})
+    void versionCheckByNumeroShouldBeAnIndexOnlyScanOnTheSortIndex(String column) {
+        assertThat(explain("SELECT id, versao, status FROM credito WHERE " + column + " = 'X'"))
+                .contains("Index Only Scan using idx_credito_" + column + "_id");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = 'credito' AND indexname = ?",
+                Integer.class, "idx_credito_" + column + "_versao"))
+                .as("índice de versão incorporado ao (numero, id)")
+                .isZero();
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                // Com poucas linhas o planner prefere seq scan; desativar força a escolha pelo índice, se existir
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("RESET enable_seqscan");
+                return plan.toString();
+            }
+        });
+    }
+
+    private static String toColumn(String attribute) {
+        return attribute.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import br.com.searchcredit.infrastructure.storage.exception.StorageException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ComprovanteInputStream - Testes Unitários")
+class ComprovanteInputStreamTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10};
+
+    @Test
+    @DisplayName("Deve reconhecer PDF, PNG e JPEG pelos magic bytes e devolver o conteúdo desde o primeiro byte")
+    void shouldDetectTypesAndReplayHeader() throws Exception {
+        // Arrange
+        byte[] pdf = "%PDF-1.7 conteudo".getBytes();
+
+        // Act
+        ComprovanteInputStream pdfStream = ComprovanteInputStream.abrir(new ByteArrayInputStream(pdf), ".pdf", 1024);
+        ComprovanteInputStream pngStream = ComprovanteInputStream.abrir(new ByteArrayInputStream(PNG), ".PNG", 1024);
+        ComprovanteInputStream jpegStream = ComprovanteInputStream.abrir(new ByteArrayInputStream(JPEG), ".jpg", 1024);
+
+        // Assert
+        assertThat(pdfStream.getTipo()).isEqualTo(TipoComprovante.PDF);
+        assertThat(pdfStream.readAllBytes()).isEqualTo(pdf);
+        assertThat(pngStream.getTipo()).isEqualTo(TipoComprovante.PNG);
+        assertThat(pngStream.readAllBytes()).isEqualTo(PNG);
+        assertThat(jpegStream.getTipo()).isEqualTo(TipoComprovante.JPEG);
+    }
+
+    @Test
+    @DisplayName("Deve nomear o objeto pelo SHA-256 do conteúdo lido, com a extensão do tipo detectado")
+    void shouldNameObjectBySha256OfContent() throws Exception {
+        // Arrange
+        byte[] pdf = "%PDF-1.7 conteudo".getBytes();
+        String esperado = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(pdf)) + ".pdf";
+
+        // Act
+        ComprovanteInputStream primeiro = ComprovanteInputStream.abrir(new ByteArrayInputStream(pdf), ".PDF", 1024);
+        primeiro.transferTo(OutputStream.nullOutputStream());
+        ComprovanteInputStream segundo = ComprovanteInputStream.abrir(new ByteArrayInputStream(pdf), ".pdf", 1024);
+        segundo.skip(3);
+        segundo.transferTo(OutputStream.nullOutputStream());
+
+        // Assert
+        assertThat(primeiro.nomeObjeto()).isEqualTo(esperado);
+        assertThat(segundo.nomeObjeto()).isEqualTo(esperado);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar conteúdo que não corresponde à extensão, independente do Content-Type")
+    void shouldRejectContentNotMatchingExtension() {
+        // Act & Assert
+        assertThatThrownBy(() -> ComprovanteInputStream.abrir(new ByteArrayInputStream(PNG), ".pdf", 1024))
+                .isInstanceOf(StorageException.class)
+                .extracting(e -> ((StorageException) e).getHttpStatus())
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        assertThatThrownBy(() -> ComprovanteInputStream.abrir(
+                new ByteArrayInputStream("MZ executavel".getBytes()), ".pdf", 1024))
+                .isInstanceOf(StorageException.class);
+        assertThatThrownBy(() -> ComprovanteInputStream.abrir(new ByteArrayInputStream(new byte[0]), ".pdf", 1024))
+                .isInstanceOf(StorageException.class);
+    }
+
+    @Test
+    @DisplayName("Deve interromper a leitura logo após passar do limite, sem consumir o restante do arquivo")
+    void shouldAbortAsSoonAsLimitIsExceeded() throws Exception {
+        // Arrange
+        AtomicLong entregues = new AtomicLong();
+        InputStream infinito = new InputStream() {
+            @Override
+            public int read() {
+                long posicao = entregues.getAndIncrement();
+                return posicao < 5 ? "%PDF-".charAt((int) posicao) : 'x';
+            }
+        };
+        ComprovanteInputStream stream = ComprovanteInputStream.abrir(infinito, ".pdf", 4096);
+
+        // Act & Assert
+        assertThatThrownBy(() -> stream.transferTo(OutputStream.nullOutputStream()))
+                .isInstanceOf(StorageException.class)
+                .extracting(e -> ((StorageException) e).getHttpStatus())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(entregues.get()).isLessThan(4096 + 8192 + 1);
+    }
+}
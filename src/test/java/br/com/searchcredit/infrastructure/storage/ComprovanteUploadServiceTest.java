@@ -0,0 +1,290 @@
+package br.com.searchcredit.infrastructure.storage;
+
+import br.com.searchcredit.domain.entity.Credito;
+import br.com.searchcredit.domain.enums.StatusComprovante;
+import br.com.searchcredit.domain.repository.CreditoRepository;
+import br.com.searchcredit.infrastructure.cache.CreditoQueryCache;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService.ComprovantePreparado;
+import br.com.searchcredit.infrastructure.storage.exception.StorageException;
+import br.com.searchcredit.infrastructure.datasource.ReadYourWritesGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ComprovanteUploadService - Testes Unitários")
+class ComprovanteUploadServiceTest {
+
+    @Mock
+    private MinioStorageService minioStorageService;
+
+    @Mock
+    private CreditoRepository creditoRepository;
+
+    @Mock
+    private CreditoQueryCache creditoQueryCache;
+
+    @Mock
+    private ReadYourWritesGuard readYourWritesGuard;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path stagingDir;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ComprovanteUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ComprovanteUploadService(minioStorageService, creditoRepository, creditoQueryCache,
+                readYourWritesGuard, new TransactionTemplate(transactionManager), stagingDir.toString(), 1, 10, 2, 0, 30000,
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o comprovante em disco e, ao agendar, associá-lo ao id do crédito")
+    void shouldStageComprovanteAndRenameItWhenScheduled() throws Exception {
+        // Arrange
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "comprovante", "comprovante.pdf", "application/pdf", "%PDF-conteudo".getBytes());
+        when(minioStorageService.abrirComprovante(arquivo)).thenReturn(
+                ComprovanteInputStream.abrir(arquivo.getInputStream(), ".pdf", 1024));
+        when(minioStorageService.urlExistente(any())).thenReturn(Optional.empty());
+
+        // Act
+        ComprovantePreparado preparado = service.preparar(arquivo);
+        service.agendar(42L, preparado);
+
+        // Assert
+        assertThat(preparado.enviado()).isFalse();
+        assertThat(preparado.objectName()).matches("[0-9a-f]{64}\\.pdf");
+        assertThat(preparado.arquivo()).doesNotExist();
+        assertThat(stagingDir.resolve("42__" + preparado.objectName())).hasContent("%PDF-conteudo");
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o objeto existente quando o digest já está no índice, sem agendar envio")
+    void shouldReuseExistingObjectWhenDigestIsKnown() throws Exception {
+        // Arrange
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "comprovante", "comprovante.pdf", "application/pdf", "%PDF-conteudo".getBytes());
+        when(minioStorageService.abrirComprovante(arquivo)).thenReturn(
+                ComprovanteInputStream.abrir(arquivo.getInputStream(), ".pdf", 1024));
+        when(minioStorageService.urlExistente(any()))
+                .thenAnswer(invocation -> Optional.of("http://minio.local/comprovantes-renda/" + invocation.getArgument(0)));
+
+        // Act
+        ComprovantePreparado preparado = service.preparar(arquivo);
+        service.agendar(42L, preparado);
+
+        // Assert
+        assertThat(preparado.enviado()).isTrue();
+        assertThat(preparado.url()).endsWith(preparado.objectName());
+        try (Stream<Path> arquivos = Files.list(stagingDir)) {
+            assertThat(arquivos).isEmpty();
+        }
+        verify(minioStorageService, never()).uploadComprovante(any(Path.class), any());
+        assertThat(meterRegistry.counter("credito.comprovante.upload.deduplicated").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve apagar o arquivo parcial quando o comprovante passa do limite durante a cópia")
+    void shouldRemovePartialFileWhenComprovanteExceedsLimit() throws Exception {
+        // Arrange
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "comprovante", "comprovante.pdf", "application/pdf", ("%PDF-" + "x".repeat(100)).getBytes());
+        when(minioStorageService.abrirComprovante(arquivo)).thenReturn(
+                ComprovanteInputStream.abrir(arquivo.getInputStream(), ".pdf", 64));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.preparar(arquivo))
+                .isInstanceOf(StorageException.class)
+                .extracting(e -> ((StorageException) e).getHttpStatus())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        try (Stream<Path> arquivos = Files.list(stagingDir)) {
+            assertThat(arquivos).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve apagar o comprovante preparado quando a transação é desfeita")
+    void shouldDiscardStagedComprovanteOnRollback() throws Exception {
+        // Arrange
+        Path parcial = Files.writeString(stagingDir.resolve("abc.pdf" + ComprovanteUploadService.SUFIXO_PARCIAL), "x");
+        ComprovantePreparado preparado = new ComprovantePreparado(parcial, "abc.pdf", null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            service.agendar(42L, preparado);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertThat(parcial).doesNotExist();
+        assertThat(stagingDir.resolve("42__abc.pdf")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Deve enviar ao MinIO, preencher a URL, marcar ENVIADO e apagar o arquivo local")
+    void shouldUploadAndMarkCreditoAsEnviado() throws Exception {
+        // Arrange
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "conteudo");
+        Credito credito = Credito.builder().id(42L).comprovanteStatus(StatusComprovante.PENDENTE).build();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(minioStorageService.uploadComprovante(agendado, "abc.pdf"))
+                .thenReturn("http://minio.local/comprovantes-renda/abc.pdf");
+        when(creditoRepository.findById(42L)).thenReturn(Optional.of(credito));
+        when(creditoRepository.save(credito)).thenReturn(credito);
+
+        // Act
+        service.enviar(42L, agendado, "abc.pdf");
+
+        // Assert
+        assertThat(credito.getComprovanteUrl()).isEqualTo("http://minio.local/comprovantes-renda/abc.pdf");
+        assertThat(credito.getComprovanteStatus()).isEqualTo(StatusComprovante.ENVIADO);
+        assertThat(agendado).doesNotExist();
+        verify(creditoQueryCache).invalidate(credito);
+        assertThat(meterRegistry.counter("credito.comprovante.upload.completed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve marcar FALHOU e mover o arquivo para fora da varredura quando as tentativas se esgotam")
+    void shouldMarkCreditoAsFalhouAfterAllAttempts() throws Exception {
+        // Arrange
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "conteudo");
+        Credito credito = Credito.builder().id(42L).comprovanteStatus(StatusComprovante.PENDENTE).build();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(minioStorageService.uploadComprovante(eq(agendado), eq("abc.pdf")))
+                .thenThrow(new StorageException("MinIO indisponível", new RuntimeException()));
+        when(creditoRepository.findById(42L)).thenReturn(Optional.of(credito));
+        when(creditoRepository.save(credito)).thenReturn(credito);
+
+        // Act
+        service.enviar(42L, agendado, "abc.pdf");
+
+        // Assert
+        verify(minioStorageService, times(2)).uploadComprovante(agendado, "abc.pdf");
+        assertThat(credito.getComprovanteStatus()).isEqualTo(StatusComprovante.FALHOU);
+        assertThat(credito.getComprovanteUrl()).isNull();
+        assertThat(agendado).doesNotExist();
+        assertThat(stagingDir.resolve(ComprovanteUploadService.DIRETORIO_FALHOU).resolve("42__abc.pdf")).exists();
+        assertThat(meterRegistry.counter("credito.comprovante.upload.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve descartar o envio assíncrono quando o crédito já recebeu comprovante direto")
+    void shouldDiscardAsyncUploadWhenCreditoWasConcludedDirectly() throws Exception {
+        // Arrange
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "conteudo");
+        Credito credito = Credito.builder().id(42L)
+                .comprovanteStatus(StatusComprovante.ENVIADO)
+                .comprovanteUrl("http://minio.local/comprovantes-renda/diretos/42/novo.pdf")
+                .build();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(minioStorageService.uploadComprovante(agendado, "abc.pdf"))
+                .thenReturn("http://minio.local/comprovantes-renda/abc.pdf");
+        when(creditoRepository.findById(42L)).thenReturn(Optional.of(credito));
+
+        // Act
+        service.enviar(42L, agendado, "abc.pdf");
+
+        // Assert
+        assertThat(credito.getComprovanteUrl()).isEqualTo("http://minio.local/comprovantes-renda/diretos/42/novo.pdf");
+        verify(creditoRepository, never()).save(any());
+        assertThat(agendado).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Deve apagar o comprovante em disco do crédito, agendado ou em falhou, ao cancelar")
+    void shouldDeleteStagedAndFailedFilesOnCancel() throws Exception {
+        // Arrange
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "x");
+        Files.createDirectories(stagingDir.resolve(ComprovanteUploadService.DIRETORIO_FALHOU));
+        Path falhou = Files.writeString(
+                stagingDir.resolve(ComprovanteUploadService.DIRETORIO_FALHOU).resolve("42__def.pdf"), "x");
+        Path outro = Files.writeString(stagingDir.resolve("420__abc.pdf"), "x");
+
+        // Act
+        int apagados = service.cancelar(42L);
+
+        // Assert
+        assertThat(apagados).isEqualTo(2);
+        assertThat(agendado).doesNotExist();
+        assertThat(falhou).doesNotExist();
+        assertThat(outro).exists();
+    }
+
+    @Test
+    @DisplayName("Não deve regravar o crédito quando o comprovante já está no status informado")
+    void shouldNotSaveWhenStatusIsUnchanged() throws Exception {
+        // Arrange
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "conteudo");
+        Credito credito = Credito.builder().id(42L).comprovanteStatus(StatusComprovante.FALHOU).build();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(minioStorageService.uploadComprovante(eq(agendado), eq("abc.pdf")))
+                .thenThrow(new StorageException("MinIO indisponível", new RuntimeException()));
+        when(creditoRepository.findById(42L)).thenReturn(Optional.of(credito));
+
+        // Act
+        service.enviar(42L, agendado, "abc.pdf");
+
+        // Assert
+        verify(creditoRepository, never()).save(any());
+        verify(creditoQueryCache, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("Deve remover na varredura apenas os arquivos parciais antigos")
+    void shouldRemoveOnlyOldPartialFilesOnSweep() throws Exception {
+        // Arrange
+        Path antigo = Files.writeString(stagingDir.resolve("antigo.pdf" + ComprovanteUploadService.SUFIXO_PARCIAL), "x");
+        Files.setLastModifiedTime(antigo, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recente = Files.writeString(stagingDir.resolve("recente.pdf" + ComprovanteUploadService.SUFIXO_PARCIAL), "x");
+        Path agendado = Files.writeString(stagingDir.resolve("42__abc.pdf"), "x");
+
+        // Act
+        int submetidos = service.varrer();
+
+        // Assert
+        assertThat(submetidos).isZero();
+        assertThat(antigo).doesNotExist();
+        assertThat(recente).exists();
+        assertThat(agendado).exists();
+    }
+}
@@ -3,14 +3,17 @@ package br.com.searchcredit.interfaces.controller;
 import br.com.searchcredit.domain.entity.Credito;
 import br.com.searchcredit.domain.enums.StatusCredito;
 import br.com.searchcredit.infrastructure.repository.jpa.CreditoJpaRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -20,8 +23,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Testcontainers
@@ -119,4 +128,164 @@ class CreditoControllerIT {
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].numeroCredito").value("CRED-001"));
     }
+
+    @Test
+    void shouldWalkAllCreditosUsingCursorWithoutTotalCount() throws Exception {
+        String body = mockMvc.perform(get("/api/creditos/cursor")
+                        .param("size", "2")
+                        .param("sortBy", "dataConstituicao")
+                        .param("sortDir", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].numeroCredito").value("CRED-003"))
+                .andExpect(jsonPath("$.content[1].numeroCredito").value("CRED-002"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/creditos/cursor")
+                        .param("cursor", nextCursor)
+                        .param("size", "2")
+                        .param("sortBy", "dataConstituicao")
+                        .param("sortDir", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].numeroCredito").value("CRED-001"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldStreamFilteredExportAsNdjsonAndCsv() throws Exception {
+        MvcResult ndjson = mockMvc.perform(get("/api/creditos/export")
+                        .param("status", "APROVADO")
+                        .param("dataInicio", "2024-01-01")
+                        .param("dataFim", "2024-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjsonBody = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"creditos.ndjson\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(ndjsonBody.split("\n")).hasSize(1);
+        assertThat((String) JsonPath.read(ndjsonBody.trim(), "$.numeroCredito")).isEqualTo("CRED-002");
+
+        MvcResult csv = mockMvc.perform(get("/api/creditos/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csvBody = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] linhas = csvBody.split("\n");
+        assertThat(linhas).hasSize(4);
+        assertThat(linhas[1]).contains("CRED-001");
+        assertThat(linhas[3]).contains("CRED-003");
+    }
+
+    @Test
+    void shouldRejectExportWithInvalidDateRange() throws Exception {
+        mockMvc.perform(get("/api/creditos/export")
+                        .param("dataInicio", "2024-12-31")
+                        .param("dataFim", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchByCombinedFilters() throws Exception {
+        mockMvc.perform(get("/api/creditos/search")
+                        .param("simplesNacional", "true")
+                        .param("valorIssqnMin", "15.00")
+                        .param("dataSolicitacaoFim", "2024-03-11"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].numeroCredito").value("CRED-003"));
+
+        mockMvc.perform(get("/api/creditos/search")
+                        .param("status", "EM_ANALISE")
+                        .param("dataConstituicaoInicio", "2024-01-01")
+                        .param("dataConstituicaoFim", "2024-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].numeroCredito").value("CRED-001"));
+    }
+
+    @Test
+    void shouldRejectSearchWithUnknownStatus() throws Exception {
+        mockMvc.perform(get("/api/creditos/search").param("status", "PENDENTE"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldServeStatisticsFromRollupsAndApplyAnalysisDelta() throws Exception {
+        mockMvc.perform(post("/api/creditos/estatisticas/recalcular"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/creditos/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.quantidade").value(3))
+                .andExpect(jsonPath("$.total.somaValorIssqn").value(60.00))
+                .andExpect(jsonPath("$.porStatus.EM_ANALISE.quantidade").value(1))
+                .andExpect(jsonPath("$.porMes['2024-02'].somaValorFaturado").value(200.00))
+                .andExpect(jsonPath("$.porTipoCredito.NAO_INFORMADO.quantidade").value(3))
+                .andExpect(jsonPath("$.grupos", hasSize(3)));
+
+        Long id = creditoJpaRepository.findByNumeroCredito("CRED-001").orElseThrow().getId();
+        mockMvc.perform(put("/api/creditos/{id}/analise", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"APROVADO\",\"aprovadoPor\":\"auditor\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/creditos/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.quantidade").value(3))
+                .andExpect(jsonPath("$.porStatus.EM_ANALISE").doesNotExist())
+                .andExpect(jsonPath("$.porStatus.APROVADO.quantidade").value(2))
+                .andExpect(jsonPath("$.porStatus.APROVADO.somaValorIssqn").value(30.00));
+    }
+
+    @Test
+    void shouldAnswerConditionalLookupWithNotModifiedUntilCreditoChanges() throws Exception {
+        MvcResult primeira = mockMvc.perform(get("/api/creditos/credito/{numeroCredito}", "CRED-001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.versao").doesNotExist())
+                .andReturn();
+        String etag = primeira.getResponse().getHeader("ETag");
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/creditos/credito/{numeroCredito}", "CRED-001").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        Long id = creditoJpaRepository.findByNumeroCredito("CRED-001").orElseThrow().getId();
+        mockMvc.perform(put("/api/creditos/{id}/analise", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"REPROVADO\",\"aprovadoPor\":\"auditor\"}"))
+                .andExpect(status().is2xxSuccessful());
+
+        MvcResult atualizada = mockMvc.perform(get("/api/creditos/credito/{numeroCredito}", "CRED-001")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=86400"))
+                .andExpect(jsonPath("$.status").value("REPROVADO"))
+                .andReturn();
+        assertThat(atualizada.getResponse().getHeader("ETag")).isNotEqualTo(etag);
+
+        String etagNfse = mockMvc.perform(get("/api/creditos/{numeroNfse}", "NFSE-002"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/creditos/{numeroNfse}", "NFSE-002").header("If-None-Match", etagNfse))
+                .andExpect(status().isNotModified());
+    }
 }
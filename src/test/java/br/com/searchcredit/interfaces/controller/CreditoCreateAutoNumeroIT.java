@@ -1,6 +1,7 @@
 package br.com.searchcredit.interfaces.controller;
 
 import br.com.searchcredit.infrastructure.kafka.KafkaEventPublisher;
+import br.com.searchcredit.infrastructure.storage.ComprovanteUploadService;
 import br.com.searchcredit.infrastructure.storage.MinioStorageService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -17,6 +18,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.nio.file.Path;
+
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
@@ -54,12 +57,16 @@ class CreditoCreateAutoNumeroIT {
     @MockBean
     private MinioStorageService minioStorageService;
 
+    @MockBean
+    private ComprovanteUploadService comprovanteUploadService;
+
     @MockBean
     private KafkaEventPublisher kafkaEventPublisher;
 
     @Test
     void postCreditoWithoutNumerosShouldPersistAndReturnGeneratedNumeros() throws Exception {
-        when(minioStorageService.uploadComprovante(ArgumentMatchers.any())).thenReturn("http://minio.local/comprovantes-renda/x.pdf");
+        when(comprovanteUploadService.preparar(ArgumentMatchers.any()))
+                .thenReturn(new ComprovanteUploadService.ComprovantePreparado(Path.of("x.pdf.parcial"), "x.pdf", null));
 
         String creditoJson = "{" +
                 "\"numeroCredito\":null," +
@@ -95,6 +102,7 @@ class CreditoCreateAutoNumeroIT {
                         .contentType(MediaType.MULTIPART_FORM_DATA))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.numeroCredito", matchesPattern("^[0-9]+$")))
-                .andExpect(jsonPath("$.numeroNfse", matchesPattern("^[0-9]+$")));
+                .andExpect(jsonPath("$.numeroNfse", matchesPattern("^[0-9]+$")))
+                .andExpect(jsonPath("$.comprovanteStatus").value("PENDENTE"));
     }
 }
@@ -0,0 +1,73 @@
+package br.com.searchcredit.interfaces.controller.exception;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("GlobalExceptionHandler - Testes Unitários")
+class GlobalExceptionHandlerTest {
+
+    record Filtro(Integer limite) {
+    }
+
+    record Corpo(@NotBlank String aprovadoPor) {
+    }
+
+    @RestController
+    static class ControllerDeTeste {
+
+        @GetMapping("/teste/filtro")
+        Filtro filtro(Filtro filtro) {
+            return filtro;
+        }
+
+        @PostMapping("/teste/corpo")
+        Corpo corpo(@RequestBody @Valid Corpo corpo) {
+            return corpo;
+        }
+    }
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ControllerDeTeste())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 com os parâmetros de query inválidos")
+    void shouldReturn400ForQueryBindingErrors() throws Exception {
+        // Act / Assert
+        mockMvc.perform(get("/teste/filtro").param("limite", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Parâmetros inválidos: [limite]"));
+    }
+
+    @Test
+    @DisplayName("Deve tratar a validação do corpo no handler próprio, com a mensagem de cada campo")
+    void shouldHandleBodyValidationSeparately() throws Exception {
+        // Act / Assert
+        mockMvc.perform(post("/teste/corpo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Corpo da requisição inválido"))
+                .andExpect(jsonPath("$.campos.aprovadoPor").exists());
+    }
+}
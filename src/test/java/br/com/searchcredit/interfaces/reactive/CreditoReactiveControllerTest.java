@@ -0,0 +1,128 @@
+package br.com.searchcredit.interfaces.reactive;
+
+import br.com.searchcredit.application.dto.credito.CreditoQueryResponseDto;
+import br.com.searchcredit.application.service.CreditoReactiveQueryService;
+import br.com.searchcredit.domain.enums.StatusCredito;
+import br.com.searchcredit.domain.projection.CreditoQueryView;
+import br.com.searchcredit.infrastructure.kafka.ConsultaCreditoAggregator;
+import br.com.searchcredit.infrastructure.repository.r2dbc.CreditoReactiveQueryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditoReactiveController - Testes Unitários")
+class CreditoReactiveControllerTest {
+
+    @Mock
+    private CreditoReactiveQueryRepository repository;
+
+    @Mock
+    private ConsultaCreditoAggregator consultaAggregator;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        CreditoReactiveQueryService service = new CreditoReactiveQueryService(repository, consultaAggregator);
+        webTestClient = WebTestClient.bindToController(new CreditoReactiveController(service)).build();
+    }
+
+    @Test
+    @DisplayName("Deve retornar o crédito com o mesmo JSON da API servlet e registrar a consulta")
+    void shouldReturnCreditoByNumeroCredito() {
+        // Arrange
+        when(repository.findQueryViewByNumeroCredito("123456")).thenReturn(Mono.just(view("123456", "7891011")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/creditos/credito/123456")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.numeroCredito").isEqualTo("123456")
+                .jsonPath("$.simplesNacional").isEqualTo("Sim")
+                .jsonPath("$.situacao").isEqualTo("APROVADO");
+        verify(consultaAggregator).record("numeroCredito", "123456");
+    }
+
+    @Test
+    @DisplayName("Deve retornar 404 quando o número de crédito não existe")
+    void shouldReturnNotFoundForUnknownNumeroCredito() {
+        // Arrange
+        when(repository.findQueryViewByNumeroCredito("999")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/creditos/credito/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Deve retornar array JSON por NFS-e")
+    void shouldReturnJsonArrayByNumeroNfse() {
+        // Arrange
+        when(repository.findQueryViewsByNumeroNfse("7891011"))
+                .thenReturn(Flux.just(view("123456", "7891011"), view("789012", "7891011")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/creditos/7891011")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].numeroCredito").isEqualTo("789012");
+        verify(consultaAggregator).record("numeroNfse", "7891011");
+    }
+
+    @Test
+    @DisplayName("Deve transmitir NDJSON por NFS-e pedindo linhas conforme a demanda do cliente")
+    void shouldStreamNdjsonHonoringDemand() {
+        // Arrange
+        AtomicLong solicitadas = new AtomicLong();
+        Flux<CreditoQueryView> linhas = Flux.range(1, 100_000)
+                .map(i -> view(String.valueOf(i), "7891011"))
+                .doOnRequest(solicitadas::addAndGet);
+        when(repository.findQueryViewsByNumeroNfse("7891011")).thenReturn(linhas);
+
+        // Act
+        List<String> primeiras = webTestClient.get().uri("/api/creditos/7891011")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(String.class)
+                .getResponseBody()
+                .take(3)
+                .collectList()
+                .block();
+
+        // Assert
+        assertThat(primeiras).hasSize(3);
+        assertThat(primeiras.get(0)).contains("\"numeroCredito\":\"1\"");
+        assertThat(solicitadas.get()).isLessThan(100_000);
+    }
+
+    private static CreditoQueryView view(String numeroCredito, String numeroNfse) {
+        return new CreditoQueryView(numeroCredito, numeroNfse, LocalDate.of(2024, 2, 25),
+                new BigDecimal("1500.75"), "ISSQN", true, new BigDecimal("5.0"),
+                new BigDecimal("30000.00"), new BigDecimal("5000.00"), new BigDecimal("25000.00"),
+                StatusCredito.APROVADO, 1L, 0L);
+    }
+}